@@ -7,6 +7,9 @@ plugins {
 
     // Apply the Maven Publish plugin for publishing artifacts
     id("maven-publish")
+
+    // Apply the JMH plugin for the benchmarks in src/jmh/java
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -56,6 +59,15 @@ tasks.jacocoTestReport {
     }
 }
 
+// JMH configuration: run with ./gradlew jmh, optionally -PjmhIncludes=<regex> to select benchmarks.
+// Results are written as JSON so runs can be compared to spot regressions.
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+}
+
 // Maven Publish configuration
 publishing {
     publications {
@@ -0,0 +1,79 @@
+package benchmark;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import model.IRoom;
+import model.Room;
+import model.Room.RoomType;
+import service.ReservationService;
+
+/**
+ * BookingState gives every benchmark iteration its own block of empty rooms to book, so bookings never conflict
+ * and every iteration books the same nights whatever the iteration count.
+ * <p>
+ * Booking k of an iteration books two nights in room k modulo {@link #ROOMS}, one round after another. A batch of
+ * {@link #BATCH} bookings therefore spans {@code 2 * BATCH / ROOMS} days, which stays inside the availability
+ * horizon of about two years when it starts tomorrow. The services are static, so the rooms of earlier iterations
+ * stay registered; each benchmark runs in its own fork.
+ */
+@State(Scope.Benchmark)
+public class BookingState {
+
+    /**
+     * The number of bookings made per iteration.
+     */
+    static final int BATCH = 20_000;
+
+    /**
+     * The number of rooms added per iteration.
+     */
+    static final int ROOMS = 100;
+
+    /**
+     * The offset from today of a first night that lies beyond the availability horizon.
+     */
+    static final int BEYOND_HORIZON_DAYS = 1000;
+
+    IRoom[] rooms;
+
+    private int iteration;
+    private final AtomicInteger bookings = new AtomicInteger();
+
+    /**
+     * Registers a fresh block of rooms and restarts the booking sequence.
+     */
+    @Setup(Level.Iteration)
+    public void newRooms() {
+        rooms = new IRoom[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            rooms[i] = new Room("B" + iteration + "-" + i, 80.0, RoomType.values()[i % 2], true);
+            ReservationService.addRoom(rooms[i]);
+        }
+        iteration++;
+        bookings.set(0);
+    }
+
+    /**
+     * Returns the next booking sequence number.
+     *
+     * @return The sequence number, unique across threads within an iteration.
+     */
+    int nextBooking() {
+        return bookings.getAndIncrement();
+    }
+
+    /**
+     * Returns the offset from the first booked night of a booking's check-in day.
+     *
+     * @param booking The booking sequence number.
+     * @return The number of days after the first booked night.
+     */
+    int dayOffset(int booking) {
+        return 2 * (booking / ROOMS);
+    }
+}
@@ -0,0 +1,27 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cursor walks through the seeded rooms and customers so that each thread looks up a different entry every call.
+ */
+@State(Scope.Thread)
+public class Cursor {
+
+    private int next;
+
+    /**
+     * Returns the next index below a bound.
+     *
+     * @param bound The number of entries.
+     * @return An index from 0 to bound - 1.
+     */
+    int next(int bound) {
+        next += 7919;
+        if (next >= bound) {
+            next %= bound;
+        }
+        return next;
+    }
+}
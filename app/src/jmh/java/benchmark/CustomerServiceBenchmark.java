@@ -0,0 +1,52 @@
+package benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.Customer;
+import model.Reservation;
+import service.CustomerService;
+import service.ReservationService;
+
+/**
+ * Benchmarks for the customer lookup paths of {@link CustomerService} and {@link ReservationService}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CustomerServiceBenchmark {
+
+    /**
+     * Looks up a customer by email.
+     *
+     * @param state  The seeded services.
+     * @param cursor The customer cursor.
+     * @return The customer.
+     */
+    @Benchmark
+    public Customer getCustomer(HotelState state, Cursor cursor) {
+        return CustomerService.getCustomer(state.emails[cursor.next(state.customerCount)]);
+    }
+
+    /**
+     * Retrieves the reservations of a customer.
+     *
+     * @param state  The seeded services.
+     * @param cursor The customer cursor.
+     * @return The customer's reservations.
+     */
+    @Benchmark
+    public Collection<Reservation> getCustomerReservation(HotelState state, Cursor cursor) {
+        return ReservationService.getCustomerReservation(state.customers[cursor.next(state.customerCount)]);
+    }
+}
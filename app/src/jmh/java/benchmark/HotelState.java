@@ -0,0 +1,82 @@
+package benchmark;
+
+import java.util.Date;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import model.Customer;
+import model.IRoom;
+import model.Room;
+import model.Room.RoomType;
+import service.CustomerService;
+import service.ReservationService;
+import utils.EpochDays;
+
+/**
+ * HotelState fills the services with rooms, customers and reservations before a benchmark trial.
+ * The services are static, so every parameter combination must run in its own fork.
+ * <p>
+ * Reservation k books two nights in room k modulo the room count, starting three days apart per round, for the
+ * customer k modulo the customer count. With few rooms and many reservations the later rounds lie beyond the
+ * availability horizon. Benchmarks that book use {@link BookingState} rooms instead, so they never conflict.
+ */
+@State(Scope.Benchmark)
+public class HotelState {
+
+    @Param({"100", "5000"})
+    public int roomCount;
+
+    @Param({"1000", "50000"})
+    public int reservationCount;
+
+    @Param({"1000", "50000"})
+    public int customerCount;
+
+    IRoom[] rooms;
+    Customer[] customers;
+    String[] emails;
+    int today;
+    int searchInDay;
+    int searchOutDay;
+    Date searchInDate;
+    Date searchOutDate;
+
+    /**
+     * Registers the rooms, customers and reservations for this trial.
+     *
+     * @throws Exception If a seeded reservation is rejected.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        today = EpochDays.today();
+
+        rooms = new IRoom[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            rooms[i] = new Room("R" + i, 50.0 + i % 200, RoomType.values()[i % 2], true);
+            ReservationService.addRoom(rooms[i]);
+        }
+
+        customers = new Customer[customerCount];
+        emails = new String[customerCount];
+        for (int i = 0; i < customerCount; i++) {
+            emails[i] = "guest" + i + "@bench.com";
+            CustomerService.addCustomer(emails[i], "First" + i, "Last" + i);
+            customers[i] = CustomerService.getCustomer(emails[i]);
+        }
+
+        for (int k = 0; k < reservationCount; k++) {
+            int checkInDay = today + 1 + 3 * (k / roomCount);
+            ReservationService.reserveARoom(customers[k % customerCount], rooms[k % roomCount],
+                    EpochDays.toDate(checkInDay), EpochDays.toDate(checkInDay + 2));
+        }
+
+        searchInDay = today + 30;
+        searchOutDay = searchInDay + 3;
+        searchInDate = EpochDays.toDate(searchInDay);
+        searchOutDate = EpochDays.toDate(searchOutDay);
+    }
+}
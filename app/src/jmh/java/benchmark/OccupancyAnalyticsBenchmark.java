@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analytics.OccupancyAnalytics;
+import analytics.OccupancyReport;
+
+/**
+ * Benchmarks for the reports of {@link OccupancyAnalytics}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OccupancyAnalyticsBenchmark {
+
+    /**
+     * Reports the occupancy, ADR and RevPAR of every room type over the next year.
+     *
+     * @param state The seeded services.
+     * @return The report.
+     */
+    @Benchmark
+    public OccupancyReport reportYear(HotelState state) {
+        return OccupancyAnalytics.report(state.today, state.today + 365);
+    }
+
+    /**
+     * Computes the nightly occupancy of all rooms over the next year.
+     *
+     * @param state The seeded services.
+     * @return The occupancy of each night.
+     */
+    @Benchmark
+    public double[] nightlyOccupancyYear(HotelState state) {
+        return OccupancyAnalytics.nightlyOccupancy(state.today, state.today + 365, null);
+    }
+}
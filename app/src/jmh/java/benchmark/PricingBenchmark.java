@@ -0,0 +1,79 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.IRoom;
+import model.Room.RoomType;
+import pricing.PriceQuote;
+import pricing.PricingEngine;
+import pricing.PricingPolicy;
+import pricing.RateTable;
+
+/**
+ * Benchmarks for quoting rooms with {@link PricingEngine} under a policy with seasonal rates, occupancy multipliers
+ * and stay discounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PricingBenchmark {
+
+    private static final int STAY_NIGHTS = 14;
+
+    private List<IRoom> rooms;
+    private int checkInDay;
+
+    /**
+     * Sets the pricing policy.
+     *
+     * @param state The seeded services.
+     */
+    @Setup(Level.Trial)
+    public void setUp(HotelState state) {
+        checkInDay = state.searchInDay;
+        PricingEngine.setPolicy(PricingPolicy.DEFAULT
+                .withRateTable(RateTable.EMPTY
+                        .withRate(null, checkInDay, checkInDay + 90, 1.1)
+                        .withRate(RoomType.DOUBLE, checkInDay + 5, checkInDay + 9, 1.4))
+                .withOccupancyMultiplier(0.5, 1.1)
+                .withOccupancyMultiplier(0.8, 1.25)
+                .withStayDiscount(7, 0.1));
+        rooms = List.of(state.rooms);
+    }
+
+    /**
+     * Quotes every room for a two-week stay, the largest result a room search can return.
+     *
+     * @return The quotes.
+     */
+    @Benchmark
+    public List<PriceQuote> quoteAllRooms() {
+        return PricingEngine.quote(rooms, checkInDay, checkInDay + STAY_NIGHTS);
+    }
+
+    /**
+     * Quotes one room for a two-week stay.
+     *
+     * @return The quote.
+     */
+    @Benchmark
+    public PriceQuote quoteOneRoom() {
+        return PricingEngine.quote(rooms.get(0), checkInDay, checkInDay + STAY_NIGHTS);
+    }
+}
@@ -0,0 +1,135 @@
+package benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.IRoom;
+import model.Reservation;
+import model.Room.RoomType;
+import service.ReservationService;
+import service.RoomFilter;
+import service.StayOption;
+import utils.EpochDays;
+
+/**
+ * Benchmarks for the search and booking paths of {@link ReservationService}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReservationServiceBenchmark {
+
+    private static final RoomFilter CHEAP_DOUBLES = RoomFilter.any().roomType(RoomType.DOUBLE).priceBetween(0, 150);
+
+    /**
+     * Searches for rooms free for three nights inside the availability horizon.
+     *
+     * @param state The seeded services.
+     * @return The free rooms.
+     */
+    @Benchmark
+    public Collection<IRoom> findRooms(HotelState state) {
+        return ReservationService.findRooms(state.searchInDate, state.searchOutDate);
+    }
+
+    /**
+     * Searches for double rooms priced up to 150 that are free for three nights inside the availability horizon.
+     *
+     * @param state The seeded services.
+     * @return The free rooms, cheapest first.
+     */
+    @Benchmark
+    public List<IRoom> findRoomsFiltered(HotelState state) {
+        return ReservationService.findRooms(state.searchInDay, state.searchOutDay, CHEAP_DOUBLES);
+    }
+
+    /**
+     * Searches for rooms free for three nights beyond the availability horizon, which scans every room.
+     *
+     * @param state The seeded services.
+     * @return The free rooms.
+     */
+    @Benchmark
+    public Collection<IRoom> findRoomsBeyondHorizon(HotelState state) {
+        return ReservationService.findRooms(state.searchInDay + 1000, state.searchOutDay + 1000);
+    }
+
+    /**
+     * Finds every three-night stay within a week either side of the search dates, over all rooms.
+     *
+     * @param state The seeded services.
+     * @return The ranked stay options.
+     */
+    @Benchmark
+    public List<StayOption> findStaysAround(HotelState state) {
+        return ReservationService.findStaysAround(state.searchInDay, state.searchOutDay, 7, 15);
+    }
+
+    /**
+     * Checks one room for three nights inside the availability horizon.
+     *
+     * @param state  The seeded services.
+     * @param cursor The room cursor.
+     * @return True if the room is free.
+     */
+    @Benchmark
+    public boolean isRoomAvailable(HotelState state, Cursor cursor) {
+        IRoom room = state.rooms[cursor.next(state.roomCount)];
+        return ReservationService.isRoomAvailable(room, state.searchInDate, state.searchOutDate);
+    }
+
+    /**
+     * Books two nights that no other booking uses, inside the availability horizon. Each iteration is one batch of
+     * {@link BookingState#BATCH} bookings into fresh rooms, so the score is the time per batch.
+     *
+     * @param state    The seeded services.
+     * @param bookings The rooms to book.
+     * @return The new reservation.
+     * @throws Exception If the booking is rejected.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = BookingState.BATCH)
+    @Measurement(iterations = 5, batchSize = BookingState.BATCH)
+    public Reservation reserveARoom(HotelState state, BookingState bookings) throws Exception {
+        return book(state, bookings, state.today + 1);
+    }
+
+    /**
+     * Books two nights that no other booking uses, beyond the availability horizon, where only the per-room interval
+     * index records the stay. Batched like {@link #reserveARoom}.
+     *
+     * @param state    The seeded services.
+     * @param bookings The rooms to book.
+     * @return The new reservation.
+     * @throws Exception If the booking is rejected.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = BookingState.BATCH)
+    @Measurement(iterations = 5, batchSize = BookingState.BATCH)
+    public Reservation reserveARoomBeyondHorizon(HotelState state, BookingState bookings) throws Exception {
+        return book(state, bookings, state.today + BookingState.BEYOND_HORIZON_DAYS);
+    }
+
+    private static Reservation book(HotelState state, BookingState bookings, int firstDay) throws Exception {
+        int booking = bookings.nextBooking();
+        int checkInDay = firstDay + bookings.dayOffset(booking);
+        return ReservationService.reserveARoom(state.customers[booking % state.customerCount],
+                bookings.rooms[booking % BookingState.ROOMS], EpochDays.toDate(checkInDay),
+                EpochDays.toDate(checkInDay + 2));
+    }
+}
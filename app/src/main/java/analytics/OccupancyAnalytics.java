@@ -0,0 +1,159 @@
+package analytics;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+import model.Room.RoomType;
+import service.ReservationService;
+import utils.EpochDays;
+
+/**
+ * OccupancyAnalytics reports the occupancy rate, ADR and RevPAR of each room type over a range of nights, and the
+ * nightly occupancy behind them.
+ * <p>
+ * The reports read a columnar copy of the reservations that is kept up to date by a commit listener on
+ * {@link ReservationService}, so a year of bookings is summed from primitive arrays without touching the
+ * reservation objects, and a mutation rolled back by another listener never shows up. The copy is seeded from the service and the listener registered on first use, while no
+ * reservation is being stored. Rooms count as available for every night of a report if they are in the inventory
+ * now, and revenue uses the room price at the time each reservation was recorded.
+ */
+public class OccupancyAnalytics {
+
+    /**
+     * The longest range, in nights, that {@link #nightlyOccupancy(int, int, RoomType)} returns.
+     */
+    public static final int MAX_NIGHTLY_RANGE = 3660;
+
+    private OccupancyAnalytics() {
+    }
+
+    /**
+     * Holds the columns, so they are seeded on first use rather than when the class is loaded.
+     */
+    private static final class Columns {
+
+        static final ReservationColumns INSTANCE = attach();
+
+        private static ReservationColumns attach() {
+            ReservationColumns columns = new ReservationColumns();
+            ReservationService.runExclusively(() -> {
+                ReservationService.addCommitListener(columns);
+                columns.roomsAdded(new ArrayList<>(ReservationService.getAllRooms()));
+                columns.reservationsAdded(new ArrayList<>(ReservationService.getAllReservations()));
+            });
+            return columns;
+        }
+    }
+
+    /**
+     * Reports the occupancy and revenue of every room type over a range of nights.
+     *
+     * @param fromDate The first night of the range.
+     * @param toDate   The day after the last night of the range.
+     * @return The report.
+     * @throws IllegalArgumentException If the range is empty.
+     */
+    public static OccupancyReport report(Date fromDate, Date toDate) {
+        return report(EpochDays.of(fromDate), EpochDays.of(toDate));
+    }
+
+    /**
+     * Reports the occupancy and revenue of every room type over a range of nights.
+     *
+     * @param fromDay The first night of the range, as an epoch day.
+     * @param toDay   The day after the last night of the range, as an epoch day.
+     * @return The report.
+     * @throws IllegalArgumentException If the range is empty.
+     */
+    public static OccupancyReport report(int fromDay, int toDay) {
+        validateRange(fromDay, toDay);
+        ReservationColumns.View view = Columns.INSTANCE.view();
+        RoomType[] roomTypes = RoomType.values();
+        long[] nights = new long[roomTypes.length];
+        double[] revenue = new double[roomTypes.length];
+        view.accumulate(fromDay, toDay, nights, revenue);
+        int[] rooms = view.roomCounts();
+
+        Map<RoomType, OccupancyMetrics> byRoomType = new EnumMap<>(RoomType.class);
+        long totalAvailable = 0;
+        long totalSold = 0;
+        double totalRevenue = 0;
+        for (RoomType roomType : roomTypes) {
+            int type = roomType.ordinal();
+            long available = (long) rooms[type] * (toDay - fromDay);
+            byRoomType.put(roomType, new OccupancyMetrics(roomType, available, nights[type], revenue[type]));
+            totalAvailable += available;
+            totalSold += nights[type];
+            totalRevenue += revenue[type];
+        }
+        return new OccupancyReport(fromDay, toDay, byRoomType,
+                new OccupancyMetrics(null, totalAvailable, totalSold, totalRevenue));
+    }
+
+    /**
+     * Computes the occupancy rate of every night in a range.
+     *
+     * @param fromDate The first night of the range.
+     * @param toDate   The day after the last night of the range.
+     * @param roomType The room type, or null for all rooms.
+     * @return The occupancy rate of each night between 0 and 1, starting with the first night.
+     * @throws IllegalArgumentException If the range is empty or longer than {@link #MAX_NIGHTLY_RANGE} nights.
+     */
+    public static double[] nightlyOccupancy(Date fromDate, Date toDate, RoomType roomType) {
+        return nightlyOccupancy(EpochDays.of(fromDate), EpochDays.of(toDate), roomType);
+    }
+
+    /**
+     * Computes the occupancy rate of every night in a range.
+     *
+     * @param fromDay  The first night of the range, as an epoch day.
+     * @param toDay    The day after the last night of the range, as an epoch day.
+     * @param roomType The room type, or null for all rooms.
+     * @return The occupancy rate of each night between 0 and 1, starting with the first night.
+     * @throws IllegalArgumentException If the range is empty or longer than {@link #MAX_NIGHTLY_RANGE} nights.
+     */
+    public static double[] nightlyOccupancy(int fromDay, int toDay, RoomType roomType) {
+        validateRange(fromDay, toDay);
+        if ((long) toDay - fromDay > MAX_NIGHTLY_RANGE) {
+            throw new IllegalArgumentException("The range can be at most " + MAX_NIGHTLY_RANGE + " nights.");
+        }
+        ReservationColumns.View view = Columns.INSTANCE.view();
+        int[] rooms = view.roomCounts();
+        int available = 0;
+        for (RoomType type : RoomType.values()) {
+            if (roomType == null || roomType == type) {
+                available += rooms[type.ordinal()];
+            }
+        }
+
+        int[] sold = view.soldPerNight(fromDay, toDay, roomType);
+        double[] occupancy = new double[sold.length];
+        for (int night = 0; night < sold.length && available > 0; night++) {
+            occupancy[night] = (double) sold[night] / available;
+        }
+        return occupancy;
+    }
+
+    /**
+     * Gets the revision of the rooms and of the reservations of a range of nights. It grows whenever a room is added
+     * or a reservation overlapping the range is stored, so a result computed from the nightly occupancy of the range
+     * can be cached for as long as the revision stays the same.
+     *
+     * @param fromDay The first night of the range, as an epoch day.
+     * @param toDay   The day after the last night of the range, as an epoch day.
+     * @return The current revision of the range.
+     * @throws IllegalArgumentException If the range is empty.
+     */
+    public static long revision(int fromDay, int toDay) {
+        validateRange(fromDay, toDay);
+        return Columns.INSTANCE.view().revision(fromDay, toDay);
+    }
+
+    private static void validateRange(int fromDay, int toDay) {
+        if (toDay <= fromDay) {
+            throw new IllegalArgumentException("The end of the range must be after its start.");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package analytics;
+
+import model.Room.RoomType;
+
+/**
+ * OccupancyMetrics holds the room nights available and sold, and the room revenue, of one room type or of the
+ * whole hotel over a range of nights, and derives the usual hotel performance ratios from them:
+ * <ul>
+ *   <li>occupancy rate, the share of available room nights that were sold;</li>
+ *   <li>ADR, the average daily rate, the revenue per sold room night;</li>
+ *   <li>RevPAR, the revenue per available room night, which is occupancy rate times ADR.</li>
+ * </ul>
+ */
+public final class OccupancyMetrics {
+
+    private final RoomType roomType;
+    private final long availableNights;
+    private final long soldNights;
+    private final double revenue;
+
+    OccupancyMetrics(RoomType roomType, long availableNights, long soldNights, double revenue) {
+        this.roomType = roomType;
+        this.availableNights = availableNights;
+        this.soldNights = soldNights;
+        this.revenue = revenue;
+    }
+
+    /**
+     * Gets the room type the metrics cover.
+     *
+     * @return The room type, or null for the whole hotel.
+     */
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    /**
+     * Gets the number of room nights that could have been sold: the rooms in the inventory times the nights.
+     *
+     * @return The available room nights.
+     */
+    public long getAvailableNights() {
+        return availableNights;
+    }
+
+    /**
+     * Gets the number of room nights that were booked.
+     *
+     * @return The sold room nights.
+     */
+    public long getSoldNights() {
+        return soldNights;
+    }
+
+    /**
+     * Gets the room revenue of the sold nights, at the room prices in effect when they were booked.
+     *
+     * @return The revenue.
+     */
+    public double getRevenue() {
+        return revenue;
+    }
+
+    /**
+     * Gets the share of available room nights that were sold.
+     *
+     * @return The occupancy rate between 0 and 1, or 0 if no rooms were available.
+     */
+    public double getOccupancyRate() {
+        return availableNights == 0 ? 0 : (double) soldNights / availableNights;
+    }
+
+    /**
+     * Gets the average daily rate, the revenue per sold room night.
+     *
+     * @return The ADR, or 0 if no nights were sold.
+     */
+    public double getAverageDailyRate() {
+        return soldNights == 0 ? 0 : revenue / soldNights;
+    }
+
+    /**
+     * Gets the revenue per available room night.
+     *
+     * @return The RevPAR, or 0 if no rooms were available.
+     */
+    public double getRevPar() {
+        return availableNights == 0 ? 0 : revenue / availableNights;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-7s occupancy %5.1f%%  ADR $%8.2f  RevPAR $%8.2f  (%d of %d room nights, revenue $%.2f)",
+                roomType == null ? "All" : roomType, 100 * getOccupancyRate(), getAverageDailyRate(), getRevPar(),
+                soldNights, availableNights, revenue);
+    }
+}
@@ -0,0 +1,109 @@
+package analytics;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import model.Room.RoomType;
+import utils.EpochDays;
+
+/**
+ * OccupancyReport holds the occupancy and revenue metrics of every room type, and of the whole hotel, over a range
+ * of nights.
+ */
+public final class OccupancyReport {
+
+    private final int fromDay;
+    private final int toDay;
+    private final Map<RoomType, OccupancyMetrics> byRoomType;
+    private final OccupancyMetrics total;
+
+    OccupancyReport(int fromDay, int toDay, Map<RoomType, OccupancyMetrics> byRoomType, OccupancyMetrics total) {
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        this.byRoomType = Collections.unmodifiableMap(byRoomType);
+        this.total = total;
+    }
+
+    /**
+     * Gets the first night of the report as an epoch day.
+     *
+     * @return The first epoch day.
+     */
+    public int getFromDay() {
+        return fromDay;
+    }
+
+    /**
+     * Gets the day after the last night of the report as an epoch day.
+     *
+     * @return The end epoch day, exclusive.
+     */
+    public int getToDay() {
+        return toDay;
+    }
+
+    /**
+     * Gets the first night of the report.
+     *
+     * @return The first date.
+     */
+    public Date getFromDate() {
+        return EpochDays.toDate(fromDay);
+    }
+
+    /**
+     * Gets the day after the last night of the report.
+     *
+     * @return The end date, exclusive.
+     */
+    public Date getToDate() {
+        return EpochDays.toDate(toDay);
+    }
+
+    /**
+     * Gets the number of nights the report covers.
+     *
+     * @return The night count.
+     */
+    public int getNights() {
+        return toDay - fromDay;
+    }
+
+    /**
+     * Gets the metrics of one room type.
+     *
+     * @param roomType The room type.
+     * @return The metrics of the room type.
+     */
+    public OccupancyMetrics get(RoomType roomType) {
+        return byRoomType.get(roomType);
+    }
+
+    /**
+     * Gets the metrics of every room type, in the order the room types are declared.
+     *
+     * @return The metrics by room type.
+     */
+    public Map<RoomType, OccupancyMetrics> getByRoomType() {
+        return byRoomType;
+    }
+
+    /**
+     * Gets the metrics of the whole hotel.
+     *
+     * @return The total metrics.
+     */
+    public OccupancyMetrics getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (OccupancyMetrics metrics : byRoomType.values()) {
+            text.append(metrics).append(System.lineSeparator());
+        }
+        return text.append(total).toString();
+    }
+}
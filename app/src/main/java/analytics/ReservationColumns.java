@@ -0,0 +1,301 @@
+package analytics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.IRoom;
+import model.Reservation;
+import model.Room.RoomType;
+import service.MutationListener;
+
+/**
+ * ReservationColumns keeps a columnar copy of the reservations for reporting: check-in days, check-out days, room
+ * indexes and nightly prices in parallel primitive arrays, plus the room type of every room index. It is kept up to
+ * date as a {@link MutationListener} registered for commits, so a report scans a few arrays instead of walking
+ * {@link Reservation} objects, and rows are only appended for mutations the service has stored.
+ * <p>
+ * The rooms sold on each night are also counted per room type as reservations arrive, in blocks of
+ * {@link #BLOCK_NIGHTS} nights that remember the revision they last changed at, so the nightly occupancy of a range
+ * is read without scanning the rows, and a cache of it only goes stale when a reservation overlaps its nights.
+ * <p>
+ * Appends are serialized on this object and publish a new immutable {@link View}. Rows are only ever appended, so a
+ * view keeps sharing the arrays of later views until they grow, and readers never lock.
+ */
+final class ReservationColumns implements MutationListener {
+
+    /**
+     * The number of nights in a block of nightly counts. Blocks start on epoch days that are multiples of this.
+     */
+    static final int BLOCK_NIGHTS = 64;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<String, Integer> roomIndexes = new HashMap<>();
+    private volatile View view = new View(new int[INITIAL_CAPACITY], new int[INITIAL_CAPACITY],
+            new int[INITIAL_CAPACITY], new double[INITIAL_CAPACITY], 0, new byte[0], Collections.emptyMap(), 0, 0);
+
+    /**
+     * The rooms of each type sold on every night of a block, and the revision they last changed at. A block is
+     * copied before it changes, so a published block never does.
+     */
+    static final class NightBlock {
+
+        final int[][] sold;
+        final long revision;
+
+        NightBlock(int[][] sold, long revision) {
+            this.sold = sold;
+            this.revision = revision;
+        }
+    }
+
+    /**
+     * An immutable snapshot of the columns. Only the first {@code size} rows of the arrays belong to it, and every
+     * snapshot has a higher revision than the one it replaces.
+     */
+    static final class View {
+
+        final int[] checkInDays;
+        final int[] checkOutDays;
+        final int[] rooms;
+        final double[] nightlyPrices;
+        final int size;
+        final byte[] roomTypes;
+        final Map<Integer, NightBlock> nightBlocks;
+        final long roomRevision;
+        final long revision;
+
+        View(int[] checkInDays, int[] checkOutDays, int[] rooms, double[] nightlyPrices, int size, byte[] roomTypes,
+                Map<Integer, NightBlock> nightBlocks, long roomRevision, long revision) {
+            this.checkInDays = checkInDays;
+            this.checkOutDays = checkOutDays;
+            this.rooms = rooms;
+            this.nightlyPrices = nightlyPrices;
+            this.size = size;
+            this.roomTypes = roomTypes;
+            this.nightBlocks = nightBlocks;
+            this.roomRevision = roomRevision;
+            this.revision = revision;
+        }
+
+        /**
+         * Gets the revision at which the rooms, or the reservations of any night in a range, last changed.
+         *
+         * @param fromDay The first night of the range.
+         * @param toDay   The day after the last night of the range.
+         * @return The revision.
+         */
+        long revision(int fromDay, int toDay) {
+            long latest = roomRevision;
+            for (long blockStart = blockStart(fromDay); blockStart < toDay; blockStart += BLOCK_NIGHTS) {
+                NightBlock block = nightBlocks.get((int) blockStart);
+                if (block != null) {
+                    latest = Math.max(latest, block.revision);
+                }
+            }
+            return latest;
+        }
+
+        /**
+         * Counts the rooms of each type, indexed by {@link RoomType#ordinal()}.
+         *
+         * @return The room counts.
+         */
+        int[] roomCounts() {
+            int[] counts = new int[RoomType.values().length];
+            for (byte type : roomTypes) {
+                counts[type]++;
+            }
+            return counts;
+        }
+
+        /**
+         * Adds up the sold nights and the revenue of each room type inside a range of nights, indexed by
+         * {@link RoomType#ordinal()}. Stays are clipped to the range.
+         *
+         * @param fromDay The first night of the range.
+         * @param toDay   The day after the last night of the range.
+         * @param nights  The sold nights per room type to add to.
+         * @param revenue The revenue per room type to add to.
+         */
+        void accumulate(int fromDay, int toDay, long[] nights, double[] revenue) {
+            for (int i = 0; i < size; i++) {
+                int sold = Math.min(checkOutDays[i], toDay) - Math.max(checkInDays[i], fromDay);
+                if (sold > 0) {
+                    int type = roomTypes[rooms[i]];
+                    nights[type] += sold;
+                    revenue[type] += sold * nightlyPrices[i];
+                }
+            }
+        }
+
+        /**
+         * Counts the rooms sold on every night of a range.
+         *
+         * @param fromDay  The first night of the range.
+         * @param toDay    The day after the last night of the range.
+         * @param roomType The room type to count, or null for all rooms.
+         * @return The number of rooms sold per night, starting with {@code fromDay}.
+         */
+        int[] soldPerNight(int fromDay, int toDay, RoomType roomType) {
+            int[] sold = new int[toDay - fromDay];
+            for (int day = fromDay; day < toDay; ) {
+                int blockStart = blockStart(day);
+                int end = (int) Math.min((long) blockStart + BLOCK_NIGHTS, toDay);
+                NightBlock block = nightBlocks.get(blockStart);
+                if (block != null) {
+                    for (int type = 0; type < block.sold.length; type++) {
+                        if (roomType == null || roomType.ordinal() == type) {
+                            for (int night = day; night < end; night++) {
+                                sold[night - fromDay] += block.sold[type][night - blockStart];
+                            }
+                        }
+                    }
+                }
+                day = end;
+            }
+            return sold;
+        }
+    }
+
+    /**
+     * Gets the current snapshot of the columns.
+     *
+     * @return The snapshot.
+     */
+    View view() {
+        return view;
+    }
+
+    @Override
+    public synchronized void roomAdded(IRoom room) {
+        View current = view;
+        int index = roomIndex(room);
+        byte[] roomTypes = Arrays.copyOf(current.roomTypes, roomIndexes.size());
+        roomTypes[index] = (byte) room.getRoomType().ordinal();
+        publish(current, roomTypes);
+    }
+
+    @Override
+    public synchronized void roomsAdded(List<IRoom> rooms) {
+        View current = view;
+        byte[] roomTypes = Arrays.copyOf(current.roomTypes, roomIndexes.size() + rooms.size());
+        for (IRoom room : rooms) {
+            roomTypes[roomIndex(room)] = (byte) room.getRoomType().ordinal();
+        }
+        publish(current, Arrays.copyOf(roomTypes, roomIndexes.size()));
+    }
+
+    @Override
+    public void reservationAdded(Reservation reservation) {
+        reservationsAdded(List.of(reservation));
+    }
+
+    /**
+     * Appends reservations, registering their rooms first if the columns have not seen them yet.
+     *
+     * @param reservations the reservations being stored
+     */
+    @Override
+    public synchronized void reservationsAdded(List<Reservation> reservations) {
+        View current = view;
+        byte[] roomTypes = current.roomTypes;
+        for (Reservation reservation : reservations) {
+            if (!roomIndexes.containsKey(reservation.getRoom().getRoomNumber())) {
+                roomTypes = Arrays.copyOf(roomTypes, roomIndexes.size() + 1);
+                roomTypes[roomIndex(reservation.getRoom())] = (byte) reservation.getRoom().getRoomType().ordinal();
+            }
+        }
+
+        int size = current.size;
+        int[] checkInDays = current.checkInDays;
+        int[] checkOutDays = current.checkOutDays;
+        int[] rooms = current.rooms;
+        double[] nightlyPrices = current.nightlyPrices;
+        if (size + reservations.size() > checkInDays.length) {
+            int capacity = Math.max(2 * checkInDays.length, size + reservations.size());
+            checkInDays = Arrays.copyOf(checkInDays, capacity);
+            checkOutDays = Arrays.copyOf(checkOutDays, capacity);
+            rooms = Arrays.copyOf(rooms, capacity);
+            nightlyPrices = Arrays.copyOf(nightlyPrices, capacity);
+        }
+        for (Reservation reservation : reservations) {
+            checkInDays[size] = reservation.getCheckInDay();
+            checkOutDays[size] = reservation.getCheckOutDay();
+            rooms[size] = roomIndexes.get(reservation.getRoom().getRoomNumber());
+            Double price = reservation.getRoom().getRoomPrice();
+            nightlyPrices[size] = price == null ? 0 : price;
+            size++;
+        }
+        long revision = current.revision + 1;
+        Map<Integer, NightBlock> nightBlocks = countNights(current.nightBlocks, checkInDays, checkOutDays, rooms,
+                current.size, size, roomTypes, revision);
+        view = new View(checkInDays, checkOutDays, rooms, nightlyPrices, size, roomTypes, nightBlocks,
+                current.roomRevision, revision);
+    }
+
+    /**
+     * Finds the first night of the block that holds a night.
+     *
+     * @param day The night, as an epoch day.
+     * @return The first night of its block.
+     */
+    static int blockStart(int day) {
+        return Math.floorDiv(day, BLOCK_NIGHTS) * BLOCK_NIGHTS;
+    }
+
+    /**
+     * Adds the nights of a run of rows to copies of the blocks they overlap, stamping those blocks with a revision.
+     *
+     * @return The blocks, sharing the ones no row touched.
+     */
+    private static Map<Integer, NightBlock> countNights(Map<Integer, NightBlock> blocks, int[] checkInDays,
+            int[] checkOutDays, int[] rooms, int fromRow, int toRow, byte[] roomTypes, long revision) {
+        Map<Integer, NightBlock> counted = new HashMap<>(blocks);
+        for (int row = fromRow; row < toRow; row++) {
+            int type = roomTypes[rooms[row]];
+            for (int day = checkInDays[row]; day < checkOutDays[row]; ) {
+                int blockStart = blockStart(day);
+                int end = (int) Math.min((long) blockStart + BLOCK_NIGHTS, checkOutDays[row]);
+                NightBlock block = counted.get(blockStart);
+                if (block == null || block.revision != revision) {
+                    int[][] sold = new int[RoomType.values().length][];
+                    for (int i = 0; i < sold.length; i++) {
+                        sold[i] = block == null ? new int[BLOCK_NIGHTS] : block.sold[i].clone();
+                    }
+                    block = new NightBlock(sold, revision);
+                    counted.put(blockStart, block);
+                }
+                for (int night = day; night < end; night++) {
+                    block.sold[type][night - blockStart]++;
+                }
+                day = end;
+            }
+        }
+        return counted;
+    }
+
+    /**
+     * Returns the index of a room, assigning the next one if the room is new.
+     */
+    private int roomIndex(IRoom room) {
+        return roomIndexes.computeIfAbsent(room.getRoomNumber(), number -> roomIndexes.size());
+    }
+
+    /**
+     * Publishes new room types. If a room changed type, its sold nights move with it, so the nights are recounted.
+     */
+    private void publish(View current, byte[] roomTypes) {
+        long revision = current.revision + 1;
+        Map<Integer, NightBlock> nightBlocks = current.nightBlocks;
+        if (!Arrays.equals(current.roomTypes, 0, current.roomTypes.length, roomTypes, 0, current.roomTypes.length)) {
+            nightBlocks = countNights(Collections.emptyMap(), current.checkInDays, current.checkOutDays,
+                    current.rooms, 0, current.size, roomTypes, revision);
+        }
+        view = new View(current.checkInDays, current.checkOutDays, current.rooms, current.nightlyPrices, current.size,
+                roomTypes, nightBlocks, revision, revision);
+    }
+}
@@ -1,11 +1,28 @@
 package api;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import analytics.OccupancyAnalytics;
+import analytics.OccupancyReport;
+import export.ExportFormat;
+import export.ReservationExporter;
+import export.ReservationFilter;
+import ingest.BulkImporter;
+import ingest.ImportReport;
 import model.Customer;
 import model.IRoom;
+import model.Reservation;
+import model.Room.RoomType;
+import pricing.PricingEngine;
+import pricing.PricingPolicy;
 import service.CustomerService;
+import service.Page;
 import service.ReservationService;
 
 /**
@@ -25,14 +42,32 @@ public class AdminResource {
     }
 
     /**
-     * Adds a list of rooms to the hotel.
+     * Retrieves a room by its room number.
+     *
+     * @param roomNumber The room number.
+     * @return The room with the given room number, or null if no such room exists.
+     */
+    public static IRoom getRoom(String roomNumber) {
+        return ReservationService.getARoom(roomNumber);
+    }
+
+    /**
+     * Adds a list of rooms to the hotel. A room whose number already exists replaces the existing room.
      *
      * @param rooms The list of rooms to be added.
      */
     public static void addRoom(List<IRoom> rooms) {
-        for (IRoom room : rooms) {
-            ReservationService.addRoom(room);
-        }
+        ReservationService.addRooms(rooms);
+    }
+
+    /**
+     * Adds a new room unless a room with the same number already exists.
+     *
+     * @param room The room to be added.
+     * @return True if the room was added, false if its room number was taken.
+     */
+    public static boolean addNewRoom(IRoom room) {
+        return ReservationService.addRoomIfAbsent(room);
     }
 
     /**
@@ -53,10 +88,167 @@ public class AdminResource {
         return CustomerService.getAllCustomers();
     }
 
+    /**
+     * Retrieves all reservations in the hotel.
+     *
+     * @return A collection of all reservations.
+     */
+    public static Collection<Reservation> getAllReservations() {
+        return ReservationService.getAllReservations();
+    }
+
+    /**
+     * Retrieves one page of rooms, ordered by room number.
+     *
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of rooms in the page.
+     * @return The page of rooms.
+     */
+    public static Page<IRoom> getRooms(String cursor, int pageSize) {
+        return ReservationService.getRooms(cursor, pageSize);
+    }
+
+    /**
+     * Streams all rooms ordered by room number.
+     *
+     * @return A stream of rooms.
+     */
+    public static Stream<IRoom> streamRooms() {
+        return ReservationService.streamRooms();
+    }
+
+    /**
+     * Gets the number of rooms in the hotel.
+     *
+     * @return The room count.
+     */
+    public static int getRoomCount() {
+        return ReservationService.getRoomCount();
+    }
+
+    /**
+     * Retrieves one page of customers, ordered by email.
+     *
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of customers in the page.
+     * @return The page of customers.
+     */
+    public static Page<Customer> getCustomers(String cursor, int pageSize) {
+        return CustomerService.getCustomers(cursor, pageSize);
+    }
+
+    /**
+     * Streams all customers ordered by email.
+     *
+     * @return A stream of customers.
+     */
+    public static Stream<Customer> streamCustomers() {
+        return CustomerService.streamCustomers();
+    }
+
+    /**
+     * Gets the number of customers of the hotel.
+     *
+     * @return The customer count.
+     */
+    public static int getCustomerCount() {
+        return CustomerService.getCustomerCount();
+    }
+
+    /**
+     * Retrieves one page of reservations, ordered by room number and check-in date.
+     *
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of reservations in the page.
+     * @return The page of reservations.
+     */
+    public static Page<Reservation> getReservations(String cursor, int pageSize) {
+        return ReservationService.getReservations(cursor, pageSize);
+    }
+
+    /**
+     * Streams all reservations ordered by room number and check-in date.
+     *
+     * @return A stream of reservations.
+     */
+    public static Stream<Reservation> streamReservations() {
+        return ReservationService.streamReservations();
+    }
+
     /**
      * Displays all reservations in the hotel.
      */
     public static void displayAllReservations() {
         ReservationService.printAllReservation();
     }
+
+    /**
+     * Exports the reservations that pass a filter, ordered by room number and check-in date.
+     *
+     * @param format The export format.
+     * @param filter The reservations to include.
+     * @param out    The stream to write to; it is flushed but not closed.
+     * @return The number of reservations exported.
+     * @throws IOException If writing fails.
+     */
+    public static long exportReservations(ExportFormat format, ReservationFilter filter, OutputStream out) throws IOException {
+        return ReservationExporter.export(format, filter, out);
+    }
+
+    /**
+     * Imports rooms, customers and reservations in bulk, for example to migrate an existing property.
+     *
+     * @param format The input format.
+     * @param in     The input; it is read to the end but not closed.
+     * @return The report of what was imported and which records were rejected.
+     * @throws IOException              If reading fails.
+     * @throws IllegalArgumentException If a binary input has no valid header.
+     */
+    public static ImportReport importData(ExportFormat format, InputStream in) throws IOException {
+        return BulkImporter.importFrom(format, in);
+    }
+
+    /**
+     * Reports the occupancy rate, ADR and RevPAR of every room type over a range of nights.
+     *
+     * @param fromDate The first night of the range.
+     * @param toDate   The day after the last night of the range.
+     * @return The occupancy report.
+     * @throws IllegalArgumentException If the range is empty.
+     */
+    public static OccupancyReport getOccupancyReport(Date fromDate, Date toDate) {
+        return OccupancyAnalytics.report(fromDate, toDate);
+    }
+
+    /**
+     * Computes the occupancy rate of every night in a range.
+     *
+     * @param fromDate The first night of the range.
+     * @param toDate   The day after the last night of the range.
+     * @param roomType The room type, or null for all rooms.
+     * @return The occupancy rate of each night, starting with the first night.
+     * @throws IllegalArgumentException If the range is empty or too long.
+     */
+    public static double[] getNightlyOccupancy(Date fromDate, Date toDate, RoomType roomType) {
+        return OccupancyAnalytics.nightlyOccupancy(fromDate, toDate, roomType);
+    }
+
+    /**
+     * Gets the pricing policy used to quote rooms.
+     *
+     * @return The pricing policy.
+     */
+    public static PricingPolicy getPricingPolicy() {
+        return PricingEngine.getPolicy();
+    }
+
+    /**
+     * Replaces the pricing policy used to quote rooms.
+     *
+     * @param policy The pricing policy, for example
+     *               {@code PricingPolicy.DEFAULT.withOccupancyMultiplier(0.8, 1.2).withStayDiscount(7, 0.1)}.
+     */
+    public static void setPricingPolicy(PricingPolicy policy) {
+        PricingEngine.setPolicy(policy);
+    }
 }
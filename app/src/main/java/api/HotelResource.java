@@ -1,14 +1,20 @@
 package api;
 
-import java.text.ParseException;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 import model.Customer;
 import model.IRoom;
 import model.Reservation;
+import pricing.PriceQuote;
+import pricing.PricingEngine;
+import service.BookingResult;
 import service.CustomerService;
 import service.ReservationService;
+import service.RoomFilter;
+import service.StayOption;
+import utils.EpochDays;
 
 /**
  * The HotelResource class provides an API for accessing hotel-related services.
@@ -54,13 +60,34 @@ public class HotelResource {
      * @param room          The room to be booked.
      * @param checkInDate   The check-in date.
      * @param checkOutDate  The check-out date.
-     * @return The reservation details, or null if the room cannot be booked.
-     * @throws ParseException if there is an error parsing the date.
+     * @return The reservation details.
+     * @throws IllegalArgumentException If there is no customer with the email, the inputs are invalid or the room
+     *                                  is already reserved for the dates.
      */
-    public static Reservation bookARoom(String customerEmail, IRoom room, Date checkInDate, Date checkOutDate) throws ParseException {
+    public static Reservation bookARoom(String customerEmail, IRoom room, Date checkInDate, Date checkOutDate) {
+        BookingResult result = tryBookARoom(customerEmail, room, checkInDate, checkOutDate);
+        if (!result.isBooked()) {
+            throw new IllegalArgumentException(result.getMessage());
+        }
+        return result.getReservation();
+    }
+
+    /**
+     * Books a room for a customer in one atomic availability check and insert.
+     *
+     * @param customerEmail The email of the customer.
+     * @param room          The room to be booked.
+     * @param checkInDate   The check-in date.
+     * @param checkOutDate  The check-out date.
+     * @return The outcome of the booking: booked with the reservation, a conflict, or invalid input.
+     */
+    public static BookingResult tryBookARoom(String customerEmail, IRoom room, Date checkInDate, Date checkOutDate) {
         Customer customer = getCustomer(customerEmail);
+        if (customer == null) {
+            return BookingResult.invalid("There is no account with this email: " + customerEmail);
+        }
 
-        return ReservationService.reserveARoom(customer, room, checkInDate, checkOutDate);
+        return ReservationService.tryReserveARoom(customer, room, checkInDate, checkOutDate);
     }
 
     /**
@@ -83,4 +110,55 @@ public class HotelResource {
     public static Collection<IRoom> findARoom(Date checkIn, Date checkOut) {
         return ReservationService.findRooms(checkIn, checkOut);
     }
+
+    /**
+     * Finds available rooms for a given date range that match a room type, price range or kind of room.
+     *
+     * @param checkIn  The check-in date.
+     * @param checkOut The check-out date.
+     * @param filter   The rooms to consider, for example {@code RoomFilter.any().roomType(RoomType.DOUBLE).priceBetween(0, 150)}.
+     * @return The matching available rooms, cheapest first.
+     */
+    public static List<IRoom> findARoom(Date checkIn, Date checkOut, RoomFilter filter) {
+        return ReservationService.findRooms(checkIn, checkOut, filter);
+    }
+
+    /**
+     * Finds every way to stay a number of nights between two dates, with the rooms free for each option.
+     *
+     * @param from   The earliest check-in date.
+     * @param to     The latest check-out date.
+     * @param nights The number of nights.
+     * @param limit  The maximum number of options.
+     * @return The options, earliest first.
+     */
+    public static List<StayOption> findFlexibleStays(Date from, Date to, int nights, int limit) {
+        return ReservationService.findStays(EpochDays.of(from), EpochDays.of(to), nights, limit);
+    }
+
+    /**
+     * Finds stays of the requested length that start up to a number of days before or after the requested
+     * check-in date, closest first.
+     *
+     * @param checkIn  The requested check-in date.
+     * @param checkOut The requested check-out date.
+     * @param flexDays How many days the check-in may move either way.
+     * @param limit    The maximum number of options.
+     * @return The options, best first.
+     */
+    public static List<StayOption> findStaysAround(Date checkIn, Date checkOut, int flexDays, int limit) {
+        return ReservationService.findStaysAround(EpochDays.of(checkIn), EpochDays.of(checkOut), flexDays, limit);
+    }
+
+    /**
+     * Quotes the price of every room, such as the rooms found for a stay, under the current pricing policy.
+     *
+     * @param rooms    The rooms to quote.
+     * @param checkIn  The check-in date.
+     * @param checkOut The check-out date.
+     * @return The quotes, in the order of the rooms.
+     */
+    public static List<PriceQuote> quoteRooms(Collection<IRoom> rooms, Date checkIn, Date checkOut) {
+        return PricingEngine.quote(rooms, checkIn, checkOut);
+    }
 }
@@ -0,0 +1,105 @@
+package codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.Room.RoomType;
+
+/**
+ * RecordDecoder reads records written by a {@link RecordEncoder} and passes their fields to a {@link RecordHandler}.
+ * Dictionary strings are decoded once and reused for every later reference. Instances are not thread-safe.
+ */
+public final class RecordDecoder {
+
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final List<String> roomNumbers = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Decodes one record from the buffer's position and advances the position past it.
+     *
+     * @param record  the buffer holding the record
+     * @param handler receives the decoded fields
+     * @throws IllegalArgumentException if the record has an unsupported version, an unknown kind or an unknown
+     *                                  dictionary id
+     */
+    public void decode(ByteBuffer record, RecordHandler handler) {
+        int header = record.get() & 0xFF;
+        int version = header >>> 4;
+        if (version != RecordFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported record version " + version);
+        }
+
+        switch (header & 0x0F) {
+            case RecordFormat.ROOM:
+                String roomNumber = dictionaryEntry(record, roomNumbers);
+                long priceCents = getVarLong(record);
+                RoomType roomType = ROOM_TYPES[record.get()];
+                int flags = record.get();
+                handler.room(roomNumber, priceCents, roomType,
+                        (flags & RecordFormat.FLAG_FREE_ROOM) != 0, (flags & RecordFormat.FLAG_IS_FREE) != 0);
+                break;
+            case RecordFormat.CUSTOMER:
+                String email = dictionaryEntry(record, emails);
+                String firstName = getString(record);
+                String lastName = getString(record);
+                handler.customer(email, firstName, lastName);
+                break;
+            case RecordFormat.RESERVATION:
+                String reservedRoom = dictionaryEntry(record, roomNumbers);
+                String customerEmail = dictionaryEntry(record, emails);
+                int checkInDay = record.getInt();
+                int checkOutDay = checkInDay + (int) getVarLong(record);
+                handler.reservation(reservedRoom, customerEmail, checkInDay, checkOutDay);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown record kind " + (header & 0x0F));
+        }
+    }
+
+    /**
+     * Forgets every dictionary entry, so the decoder can read a new stream.
+     */
+    public void reset() {
+        roomNumbers.clear();
+        emails.clear();
+    }
+
+    private String dictionaryEntry(ByteBuffer record, List<String> dictionary) {
+        int id = (int) getVarLong(record);
+        if (id < dictionary.size()) {
+            return dictionary.get(id);
+        }
+        if (id != dictionary.size()) {
+            throw new IllegalArgumentException("Unknown dictionary id " + id);
+        }
+        String value = getString(record);
+        dictionary.add(value);
+        return value;
+    }
+
+    private String getString(ByteBuffer record) {
+        int length = (int) getVarLong(record);
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        record.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static long getVarLong(ByteBuffer record) {
+        long value = 0;
+        int shift = 0;
+        byte next;
+        do {
+            next = record.get();
+            value |= (long) (next & 0x7F) << shift;
+            shift += 7;
+        } while ((next & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,156 @@
+package codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+
+/**
+ * RecordEncoder writes rooms, customers and reservations in the compact binary record format described in
+ * {@link RecordFormat}. Each encode call reuses one growable buffer and returns it ready for reading, so the
+ * returned bytes are only valid until the next call. Instances are not thread-safe, and the records of one
+ * encoder must be decoded in order by one {@link RecordDecoder}.
+ */
+public final class RecordEncoder {
+
+    private final Map<String, Integer> roomIds = new HashMap<>();
+    private final Map<String, Integer> emailIds = new HashMap<>();
+    private ByteBuffer buffer;
+
+    /**
+     * Constructs an encoder with an empty dictionary.
+     */
+    public RecordEncoder() {
+        this.buffer = ByteBuffer.allocate(256);
+    }
+
+    /**
+     * Encodes a room.
+     *
+     * @param room the room to encode
+     * @return the encoded record, valid until the next encode call
+     */
+    public ByteBuffer encodeRoom(IRoom room) {
+        buffer.clear();
+        header(RecordFormat.ROOM);
+        putRoomNumber(room.getRoomNumber());
+        putVarLong(RecordFormat.toCents(room.getRoomPrice()));
+        ensure(2);
+        buffer.put((byte) room.getRoomType().ordinal());
+        buffer.put((byte) ((room instanceof FreeRoom ? RecordFormat.FLAG_FREE_ROOM : 0)
+                | (room.isFree() ? RecordFormat.FLAG_IS_FREE : 0)));
+        return buffer.flip();
+    }
+
+    /**
+     * Encodes a customer.
+     *
+     * @param customer the customer to encode
+     * @return the encoded record, valid until the next encode call
+     */
+    public ByteBuffer encodeCustomer(Customer customer) {
+        buffer.clear();
+        header(RecordFormat.CUSTOMER);
+        putEmail(customer.getEmail());
+        putString(customer.getFirstName());
+        putString(customer.getLastName());
+        return buffer.flip();
+    }
+
+    /**
+     * Encodes a reservation. The room and customer are referenced by room number and email.
+     *
+     * @param reservation the reservation to encode
+     * @return the encoded record, valid until the next encode call
+     */
+    public ByteBuffer encodeReservation(Reservation reservation) {
+        int checkInDay = reservation.getCheckInDay();
+        int checkOutDay = reservation.getCheckOutDay();
+
+        buffer.clear();
+        header(RecordFormat.RESERVATION);
+        putRoomNumber(reservation.getRoom().getRoomNumber());
+        putEmail(reservation.getCustomer().getEmail());
+        ensure(Integer.BYTES);
+        buffer.putInt(checkInDay);
+        putVarLong(checkOutDay - checkInDay);
+        return buffer.flip();
+    }
+
+    /**
+     * Forgets every dictionary entry, so the next records can start a new stream.
+     */
+    public void reset() {
+        roomIds.clear();
+        emailIds.clear();
+    }
+
+    private void header(int kind) {
+        ensure(1);
+        buffer.put((byte) ((RecordFormat.VERSION << 4) | kind));
+    }
+
+    private void putRoomNumber(String roomNumber) {
+        putDictionaryEntry(roomIds, roomNumber);
+    }
+
+    private void putEmail(String email) {
+        putDictionaryEntry(emailIds, email);
+    }
+
+    private void putDictionaryEntry(Map<String, Integer> dictionary, String value) {
+        Integer id = dictionary.get(value);
+        if (id != null) {
+            putVarLong(id);
+            return;
+        }
+        int newId = dictionary.size();
+        dictionary.put(value, newId);
+        putVarLong(newId);
+        putString(value);
+    }
+
+    private void putString(String value) {
+        int length = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+
+        if (ascii) {
+            putVarLong(length);
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarLong(bytes.length);
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private void putVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+}
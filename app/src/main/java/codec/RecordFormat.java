@@ -0,0 +1,29 @@
+package codec;
+
+/**
+ * RecordFormat holds the constants and price conversion shared by the encoder and decoder.
+ * <p>
+ * Every record starts with one header byte holding the format version in the high nibble and the record kind in
+ * the low nibble. Strings are UTF-8 with a varint length. Room numbers and customer emails referenced by a record
+ * are dictionary encoded: a varint id that, when it equals the next unused id, is followed by the string itself.
+ * Dictionaries are scoped to one stream of records, such as a log segment or a snapshot, and must be decoded in
+ * the order they were encoded.
+ */
+final class RecordFormat {
+
+    static final int VERSION = 1;
+
+    static final int ROOM = 1;
+    static final int CUSTOMER = 2;
+    static final int RESERVATION = 3;
+
+    static final int FLAG_FREE_ROOM = 1;
+    static final int FLAG_IS_FREE = 2;
+
+    private RecordFormat() {
+    }
+
+    static long toCents(Double price) {
+        return Math.round(price * 100);
+    }
+}
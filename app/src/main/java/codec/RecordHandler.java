@@ -0,0 +1,40 @@
+package codec;
+
+import model.Room.RoomType;
+
+/**
+ * RecordHandler receives the fields of decoded records as primitives and strings, so a decoder never has to
+ * build intermediate objects the caller does not need.
+ */
+public interface RecordHandler {
+
+    /**
+     * Receives a room record.
+     *
+     * @param roomNumber the room number
+     * @param priceCents the nightly price in cents
+     * @param roomType   the room type
+     * @param freeRoom   true if the room is a {@link model.FreeRoom}
+     * @param isFree     the room's free flag
+     */
+    void room(String roomNumber, long priceCents, RoomType roomType, boolean freeRoom, boolean isFree);
+
+    /**
+     * Receives a customer record.
+     *
+     * @param email     the email of the customer
+     * @param firstName the first name of the customer
+     * @param lastName  the last name of the customer
+     */
+    void customer(String email, String firstName, String lastName);
+
+    /**
+     * Receives a reservation record.
+     *
+     * @param roomNumber    the room number of the reserved room
+     * @param customerEmail the email of the customer
+     * @param checkInDay    the check-in date as an epoch day
+     * @param checkOutDay   the check-out date as an epoch day
+     */
+    void reservation(String roomNumber, String customerEmail, int checkInDay, int checkOutDay);
+}
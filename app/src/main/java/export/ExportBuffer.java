@@ -0,0 +1,226 @@
+package export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * ExportBuffer encodes text and numbers straight into one reusable byte buffer and drains it to a channel when
+ * it fills up, so exporting a reservation allocates no intermediate strings. Dates are formatted from epoch days
+ * arithmetically and prices from whole cents.
+ */
+final class ExportBuffer {
+
+    private static final int CAPACITY = 64 * 1024;
+
+    private final WritableByteChannel out;
+    private final ByteBuffer buffer = ByteBuffer.allocate(CAPACITY);
+    private final byte[] digits = new byte[20];
+
+    /**
+     * Constructs a buffer draining to a channel.
+     *
+     * @param out The channel to write to.
+     */
+    ExportBuffer(WritableByteChannel out) {
+        this.out = out;
+    }
+
+    void put(char ascii) throws IOException {
+        ensure(1);
+        buffer.put((byte) ascii);
+    }
+
+    /**
+     * Writes a string of ASCII characters, such as a field name.
+     */
+    void ascii(String value) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            put(value.charAt(i));
+        }
+    }
+
+    /**
+     * Writes a string as UTF-8.
+     */
+    void utf8(String value) throws IOException {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            i += utf8(value, i);
+        }
+    }
+
+    /**
+     * Writes a CSV field, quoting it if it contains a separator, quote or line break.
+     */
+    void csv(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            utf8(value);
+            return;
+        }
+        put('"');
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            if (value.charAt(i) == '"') {
+                put('"');
+            }
+            i += utf8(value, i);
+        }
+        put('"');
+    }
+
+    /**
+     * Writes a quoted JSON string.
+     */
+    void json(String value) throws IOException {
+        put('"');
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                put('\\');
+                put(c);
+                i++;
+            } else if (c < 0x20) {
+                ascii(c == '\n' ? "\\n" : c == '\r' ? "\\r" : c == '\t' ? "\\t" : String.format("\\u%04x", (int) c));
+                i++;
+            } else {
+                i += utf8(value, i);
+            }
+        }
+        put('"');
+    }
+
+    /**
+     * Writes a decimal integer.
+     */
+    void number(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            ascii(Long.toString(value));
+            return;
+        }
+        ensure(digits.length);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (count > 0) {
+            buffer.put(digits[--count]);
+        }
+    }
+
+    /**
+     * Writes a price rounded to cents with two decimals.
+     */
+    void price(double price) throws IOException {
+        long cents = Math.round(price * 100);
+        if (cents < 0) {
+            put('-');
+            cents = -cents;
+        }
+        number(cents / 100);
+        put('.');
+        put((char) ('0' + cents % 100 / 10));
+        put((char) ('0' + cents % 10));
+    }
+
+    /**
+     * Writes an epoch day as an ISO date, yyyy-MM-dd, for years 0 to 9999.
+     */
+    void date(int epochDay) throws IOException {
+        // Converts days to a civil date using 400-year eras that start on March 1.
+        long z = epochDay + 719468L;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        ensure(10);
+        buffer.put((byte) ('0' + year / 1000 % 10)).put((byte) ('0' + year / 100 % 10))
+              .put((byte) ('0' + year / 10 % 10)).put((byte) ('0' + year % 10)).put((byte) '-')
+              .put((byte) ('0' + month / 10)).put((byte) ('0' + month % 10)).put((byte) '-')
+              .put((byte) ('0' + day / 10)).put((byte) ('0' + day % 10));
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer.
+     */
+    void bytes(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int count = Math.min(bytes.remaining(), buffer.remaining());
+            buffer.put(bytes.slice(bytes.position(), count));
+            bytes.position(bytes.position() + count);
+        }
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putShort(short value) throws IOException {
+        ensure(Short.BYTES);
+        buffer.putShort(value);
+    }
+
+    /**
+     * Writes everything buffered so far to the channel.
+     */
+    void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Encodes the code point at an index as UTF-8; unpaired surrogates become '?'.
+     *
+     * @return The number of chars consumed, 2 for a surrogate pair and otherwise 1.
+     */
+    private int utf8(String value, int index) throws IOException {
+        char c = value.charAt(index);
+        ensure(4);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                  .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            return 2;
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+        return 1;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+}
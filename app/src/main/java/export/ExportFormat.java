@@ -0,0 +1,21 @@
+package export;
+
+/**
+ * The formats a reservation export can be written in.
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values with a header row, quoted as described in RFC 4180.
+     */
+    CSV,
+    /**
+     * One JSON object per line.
+     */
+    NDJSON,
+    /**
+     * The compact {@link codec} record format: a magic number and version, then length-prefixed room, customer
+     * and reservation records sharing one dictionary. Each room and customer is written once, just before the
+     * first reservation that refers to it.
+     */
+    BINARY
+}
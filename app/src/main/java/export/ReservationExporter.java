@@ -0,0 +1,188 @@
+package export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import codec.RecordEncoder;
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+import service.ReservationService;
+
+/**
+ * ReservationExporter streams reservations to a channel or output stream as CSV, NDJSON or binary records.
+ * Reservations are read from the live ordered index, by room number and then check-in date, and encoded into one
+ * reusable buffer, so memory use stays flat however many reservations are exported. A room filter reads only the
+ * selected rooms' reservations.
+ */
+public final class ReservationExporter {
+
+    /**
+     * The magic number at the start of a binary export.
+     */
+    public static final int BINARY_MAGIC = 0x48524558;
+
+    /**
+     * The version of the binary export layout.
+     */
+    public static final short BINARY_VERSION = 1;
+
+    static final String CSV_HEADER = "room_number,room_type,price,email,first_name,last_name,check_in,check_out,nights";
+
+    private ReservationExporter() {
+    }
+
+    /**
+     * Exports the reservations that pass a filter to an output stream. The stream is flushed but not closed.
+     *
+     * @param format The export format.
+     * @param filter The reservations to include.
+     * @param out    The stream to write to.
+     * @return The number of reservations exported.
+     * @throws IOException If writing fails.
+     */
+    public static long export(ExportFormat format, ReservationFilter filter, OutputStream out) throws IOException {
+        long count = export(format, filter, Channels.newChannel(out));
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Exports the reservations that pass a filter to a channel. The channel is not closed.
+     *
+     * @param format The export format.
+     * @param filter The reservations to include.
+     * @param out    The channel to write to.
+     * @return The number of reservations exported.
+     * @throws IOException If writing fails.
+     */
+    public static long export(ExportFormat format, ReservationFilter filter, WritableByteChannel out) throws IOException {
+        Stream<Reservation> source = filter.getRoomNumbers().isEmpty()
+                ? ReservationService.streamReservations()
+                : filter.getRoomNumbers().stream().flatMap(ReservationService::streamReservations);
+        try (Stream<Reservation> reservations = source.filter(filter::matches)) {
+            return export(reservations.iterator(), format, out);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Exports reservations in the order given.
+     *
+     * @param reservations The reservations to export.
+     * @param format       The export format.
+     * @param out          The channel to write to; it is not closed.
+     * @return The number of reservations exported.
+     * @throws IOException If writing fails.
+     */
+    public static long export(Iterator<Reservation> reservations, ExportFormat format, WritableByteChannel out) throws IOException {
+        ExportBuffer buffer = new ExportBuffer(out);
+        long count = 0;
+        switch (format) {
+            case CSV:
+                buffer.ascii(CSV_HEADER);
+                buffer.put('\n');
+                while (reservations.hasNext()) {
+                    writeCsv(buffer, reservations.next());
+                    count++;
+                }
+                break;
+            case NDJSON:
+                while (reservations.hasNext()) {
+                    writeJson(buffer, reservations.next());
+                    count++;
+                }
+                break;
+            case BINARY:
+                count = writeBinary(buffer, reservations);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported export format " + format + ".");
+        }
+        buffer.drain();
+        return count;
+    }
+
+    private static void writeCsv(ExportBuffer buffer, Reservation reservation) throws IOException {
+        IRoom room = reservation.getRoom();
+        Customer customer = reservation.getCustomer();
+        buffer.csv(room.getRoomNumber());
+        buffer.put(',');
+        buffer.ascii(room.getRoomType().name());
+        buffer.put(',');
+        buffer.price(room.getRoomPrice());
+        buffer.put(',');
+        buffer.csv(customer.getEmail());
+        buffer.put(',');
+        buffer.csv(customer.getFirstName());
+        buffer.put(',');
+        buffer.csv(customer.getLastName());
+        buffer.put(',');
+        buffer.date(reservation.getCheckInDay());
+        buffer.put(',');
+        buffer.date(reservation.getCheckOutDay());
+        buffer.put(',');
+        buffer.number(reservation.getNights());
+        buffer.put('\n');
+    }
+
+    private static void writeJson(ExportBuffer buffer, Reservation reservation) throws IOException {
+        IRoom room = reservation.getRoom();
+        Customer customer = reservation.getCustomer();
+        buffer.ascii("{\"roomNumber\":");
+        buffer.json(room.getRoomNumber());
+        buffer.ascii(",\"roomType\":\"");
+        buffer.ascii(room.getRoomType().name());
+        buffer.ascii("\",\"price\":");
+        buffer.price(room.getRoomPrice());
+        buffer.ascii(",\"email\":");
+        buffer.json(customer.getEmail());
+        buffer.ascii(",\"firstName\":");
+        buffer.json(customer.getFirstName());
+        buffer.ascii(",\"lastName\":");
+        buffer.json(customer.getLastName());
+        buffer.ascii(",\"checkIn\":\"");
+        buffer.date(reservation.getCheckInDay());
+        buffer.ascii("\",\"checkOut\":\"");
+        buffer.date(reservation.getCheckOutDay());
+        buffer.ascii("\",\"nights\":");
+        buffer.number(reservation.getNights());
+        buffer.ascii("}\n");
+    }
+
+    private static long writeBinary(ExportBuffer buffer, Iterator<Reservation> reservations) throws IOException {
+        RecordEncoder encoder = new RecordEncoder();
+        Set<String> writtenRooms = new HashSet<>();
+        Set<String> writtenEmails = new HashSet<>();
+        buffer.putInt(BINARY_MAGIC);
+        buffer.putShort(BINARY_VERSION);
+
+        long count = 0;
+        while (reservations.hasNext()) {
+            Reservation reservation = reservations.next();
+            if (writtenRooms.add(reservation.getRoom().getRoomNumber())) {
+                writeRecord(buffer, encoder.encodeRoom(reservation.getRoom()));
+            }
+            if (writtenEmails.add(reservation.getCustomer().getEmail())) {
+                writeRecord(buffer, encoder.encodeCustomer(reservation.getCustomer()));
+            }
+            writeRecord(buffer, encoder.encodeReservation(reservation));
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeRecord(ExportBuffer buffer, ByteBuffer record) throws IOException {
+        buffer.putInt(record.remaining());
+        buffer.bytes(record);
+    }
+}
@@ -0,0 +1,98 @@
+package export;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Set;
+import java.util.TreeSet;
+
+import model.Reservation;
+import utils.EpochDays;
+
+/**
+ * ReservationFilter selects the reservations to export by stay dates and room numbers. Filters are immutable;
+ * the {@code between} and {@code rooms} methods return a narrowed copy.
+ */
+public final class ReservationFilter {
+
+    private static final ReservationFilter ALL = new ReservationFilter(Integer.MIN_VALUE, Integer.MAX_VALUE, Collections.emptySet());
+
+    private final int fromDay;
+    private final int toDay;
+    private final Set<String> roomNumbers;
+
+    private ReservationFilter(int fromDay, int toDay, Set<String> roomNumbers) {
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        this.roomNumbers = roomNumbers;
+    }
+
+    /**
+     * Returns a filter that matches every reservation.
+     *
+     * @return The filter.
+     */
+    public static ReservationFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Returns a copy of this filter that only matches stays with at least one night between two dates.
+     *
+     * @param from The first date (inclusive).
+     * @param to   The last date (exclusive).
+     * @return The narrowed filter.
+     * @throws IllegalArgumentException If a date is null or the range is empty.
+     */
+    public ReservationFilter between(Date from, Date to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dates must not be null.");
+        }
+        return between(EpochDays.of(from), EpochDays.of(to));
+    }
+
+    /**
+     * Returns a copy of this filter that only matches stays with at least one night between two epoch days.
+     *
+     * @param fromDay The first epoch day (inclusive).
+     * @param toDay   The last epoch day (exclusive).
+     * @return The narrowed filter.
+     * @throws IllegalArgumentException If the range is empty.
+     */
+    public ReservationFilter between(int fromDay, int toDay) {
+        if (fromDay >= toDay) {
+            throw new IllegalArgumentException("The start of the date range must be before its end.");
+        }
+        return new ReservationFilter(fromDay, toDay, roomNumbers);
+    }
+
+    /**
+     * Returns a copy of this filter that only matches reservations of the given rooms.
+     *
+     * @param roomNumbers The room numbers; an empty collection matches every room.
+     * @return The narrowed filter.
+     */
+    public ReservationFilter rooms(Collection<String> roomNumbers) {
+        return new ReservationFilter(fromDay, toDay, Collections.unmodifiableSet(new TreeSet<>(roomNumbers)));
+    }
+
+    /**
+     * Checks whether a reservation passes this filter.
+     *
+     * @param reservation The reservation.
+     * @return True if the reservation should be exported.
+     */
+    public boolean matches(Reservation reservation) {
+        return reservation.getCheckInDay() < toDay && reservation.getCheckOutDay() > fromDay
+               && (roomNumbers.isEmpty() || roomNumbers.contains(reservation.getRoom().getRoomNumber()));
+    }
+
+    /**
+     * Gets the room numbers this filter is limited to.
+     *
+     * @return The sorted room numbers, or an empty set if every room matches.
+     */
+    public Set<String> getRoomNumbers() {
+        return roomNumbers;
+    }
+}
@@ -0,0 +1,187 @@
+package ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import export.ExportFormat;
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+import service.BookingResult;
+import service.CustomerService;
+import service.ReservationService;
+import utils.BatchValidation;
+import utils.BatchValidator;
+
+/**
+ * BulkImporter loads rooms, customers and reservations from a file in one of the {@link ExportFormat}s, for
+ * example to migrate an existing property. The import runs in stages:
+ * <ol>
+ *   <li>The input is read sequentially into records.</li>
+ *   <li>The records are checked in parallel by {@link BatchValidator} against the model's own validation
+ *       rules, and every problem of a record is reported, not only the first.</li>
+ *   <li>Rooms and customers are resolved against each other and the live services in input order.</li>
+ *   <li>Rooms and customers are added in sorted batches, then all reservations are stored in one batch sorted
+ *       by room and check-in date, which builds each room's interval index and the availability index once.</li>
+ * </ol>
+ * A record that fails any stage is reported with its record number and does not stop the import. Stays in the
+ * past are accepted, since an existing property brings its history.
+ */
+public final class BulkImporter {
+
+    private BulkImporter() {
+    }
+
+    /**
+     * Imports every valid record of an input.
+     *
+     * @param format The input format.
+     * @param in     The input; it is read to the end but not closed.
+     * @return The report of what was imported and what was rejected.
+     * @throws IOException              If reading fails.
+     * @throws IllegalArgumentException If a binary input has no valid header.
+     */
+    public static ImportReport importFrom(ExportFormat format, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        List<ImportRecord> records;
+        switch (format) {
+            case CSV:
+                records = ImportReader.readCsv(in);
+                break;
+            case NDJSON:
+                records = ImportReader.readNdjson(in);
+                break;
+            case BINARY:
+                records = ImportReader.readBinary(in);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported import format " + format + ".");
+        }
+        return importRecords(records, start);
+    }
+
+    /**
+     * Validates, resolves and stores records that have been read.
+     *
+     * @param records The records in input order.
+     * @param start   The {@link System#nanoTime()} the import started at.
+     * @return The import report.
+     */
+    static ImportReport importRecords(List<ImportRecord> records, long start) {
+        BatchValidation validation = BatchValidator.validate(records, ImportRecord::check);
+        for (int i = 0; i < records.size(); i++) {
+            records.get(i).finish(validation.getErrors(i));
+        }
+
+        List<ImportError> errors = new ArrayList<>();
+        Map<String, IRoom> rooms = new HashMap<>();
+        Map<String, Customer> customers = new HashMap<>();
+        List<IRoom> newRooms = new ArrayList<>();
+        List<Customer> newCustomers = new ArrayList<>();
+        List<ImportRecord> stays = new ArrayList<>();
+        for (ImportRecord record : records) {
+            if (record.error == null) {
+                resolve(record, rooms, customers, newRooms, newCustomers);
+            }
+            if (record.error != null) {
+                errors.add(new ImportError(record.number, record.error));
+            } else if (record.hasStay) {
+                stays.add(record);
+            }
+        }
+
+        newRooms.sort(Comparator.comparing(IRoom::getRoomNumber));
+        ReservationService.addRooms(newRooms);
+        newCustomers.sort(Comparator.comparing(customer -> Customer.normalizeEmail(customer.getEmail())));
+        int customerCount = newCustomers.size();
+        for (Customer skipped : CustomerService.addCustomers(newCustomers)) {
+            customers.put(Customer.normalizeEmail(skipped.getEmail()), CustomerService.getCustomer(skipped.getEmail()));
+            customerCount--;
+        }
+
+        List<ImportRecord> booked = new ArrayList<>(stays.size());
+        List<Reservation> reservations = new ArrayList<>(stays.size());
+        for (ImportRecord stay : stays) {
+            IRoom room = rooms.get(stay.roomNumber);
+            if (room == null) {
+                room = ReservationService.getARoom(stay.roomNumber);
+            }
+            Customer customer = customers.get(Customer.normalizeEmail(stay.email));
+            if (customer == null) {
+                customer = CustomerService.getCustomer(stay.email);
+            }
+            if (room == null) {
+                errors.add(new ImportError(stay.number, "There is no room " + stay.roomNumber + "."));
+            } else if (customer == null) {
+                errors.add(new ImportError(stay.number, "There is no account with this email: " + stay.email));
+            } else {
+                booked.add(stay);
+                reservations.add(Reservation.restore(room, customer, stay.checkInDay, stay.checkOutDay));
+            }
+        }
+        List<BookingResult> results = ReservationService.restoreReservations(reservations);
+        int reservationCount = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isBooked()) {
+                reservationCount++;
+            } else {
+                errors.add(new ImportError(booked.get(i).number, results.get(i).getMessage()));
+            }
+        }
+
+        return new ImportReport(records.size(), newRooms.size(), customerCount, reservationCount, errors,
+                                System.nanoTime() - start);
+    }
+
+    /**
+     * Matches a record's room and customer with those defined by earlier records and the live services.
+     * A definition that repeats a known one is reused; a different definition of a known customer, or of a room
+     * defined earlier in the input, rejects the whole record. A room that differs from the live room replaces it.
+     */
+    private static void resolve(ImportRecord record, Map<String, IRoom> rooms, Map<String, Customer> customers,
+                                List<IRoom> newRooms, List<Customer> newCustomers) {
+        IRoom room = null;
+        if (record.room != null) {
+            room = rooms.get(record.room.getRoomNumber());
+            if (room == null) {
+                IRoom existing = ReservationService.getARoom(record.room.getRoomNumber());
+                room = existing != null && sameRoom(existing, record.room) ? existing : record.room;
+            } else if (!sameRoom(room, record.room)) {
+                record.error = "Room " + record.room.getRoomNumber() + " is defined differently by an earlier record.";
+                return;
+            }
+        }
+        Customer customer = null;
+        if (record.customer != null) {
+            String email = Customer.normalizeEmail(record.customer.getEmail());
+            customer = customers.get(email);
+            if (customer == null) {
+                Customer existing = CustomerService.getCustomer(email);
+                customer = existing != null ? existing : record.customer;
+            }
+            if (!customer.getFirstName().equals(record.customer.getFirstName())
+                || !customer.getLastName().equals(record.customer.getLastName())) {
+                record.error = "An account with the email " + record.customer.getEmail() + " already exists with a different name.";
+                return;
+            }
+        }
+
+        if (room != null && rooms.put(room.getRoomNumber(), room) == null && room == record.room) {
+            newRooms.add(room);
+        }
+        if (customer != null && customers.put(Customer.normalizeEmail(customer.getEmail()), customer) == null && customer == record.customer) {
+            newCustomers.add(customer);
+        }
+    }
+
+    private static boolean sameRoom(IRoom a, IRoom b) {
+        return a.getClass() == b.getClass() && a.getRoomType() == b.getRoomType()
+               && Objects.equals(a.getRoomPrice(), b.getRoomPrice());
+    }
+}
@@ -0,0 +1,44 @@
+package ingest;
+
+/**
+ * ImportError describes why one input record was not imported.
+ */
+public final class ImportError {
+
+    private final long record;
+    private final String message;
+
+    /**
+     * Constructs an error for a record.
+     *
+     * @param record  The record number: the line a text record starts on, or the position of a binary record.
+     * @param message The reason the record was rejected.
+     */
+    ImportError(long record, String message) {
+        this.record = record;
+        this.message = message;
+    }
+
+    /**
+     * Gets the number of the rejected record.
+     *
+     * @return The line a text record starts on, or the position of a binary record, counting from 1.
+     */
+    public long getRecord() {
+        return record;
+    }
+
+    /**
+     * Gets the reason the record was rejected.
+     *
+     * @return The message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "record " + record + ": " + message;
+    }
+}
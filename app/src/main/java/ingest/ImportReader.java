@@ -0,0 +1,238 @@
+package ingest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import codec.RecordDecoder;
+import codec.RecordHandler;
+import export.ReservationExporter;
+import model.Room.RoomType;
+import utils.JsonParser;
+
+/**
+ * ImportReader reads the CSV, NDJSON and binary formats written by {@link ReservationExporter} into import
+ * records. Reading is sequential and does no validation beyond splitting fields, so a malformed record only
+ * rejects that record.
+ */
+final class ImportReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ImportReader() {
+    }
+
+    /**
+     * Reads CSV records. The first line names the columns, in any order; each later line is one record, except
+     * that a quoted field may span lines.
+     *
+     * @param in The input.
+     * @return The records, numbered by the line they start on.
+     * @throws IOException If reading fails.
+     */
+    static List<ImportRecord> readCsv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        List<ImportRecord> records = new ArrayList<>();
+        long[] line = {0};
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return records;
+        }
+        line[0]++;
+        List<String> header = splitCsv(headerLine, reader, line);
+
+        String text;
+        while ((text = reader.readLine()) != null) {
+            long number = ++line[0];
+            if (text.isEmpty()) {
+                continue;
+            }
+            List<String> fields;
+            try {
+                fields = splitCsv(text, reader, line);
+            } catch (IllegalArgumentException ex) {
+                records.add(ImportRecord.unreadable(number, ex.getMessage()));
+                continue;
+            }
+            if (fields.size() != header.size()) {
+                records.add(ImportRecord.unreadable(number, "Expected " + header.size() + " fields but found " + fields.size() + "."));
+                continue;
+            }
+            ImportRecord record = new ImportRecord(number);
+            for (int i = 0; i < fields.size(); i++) {
+                record.set(header.get(i), fields.get(i));
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Reads NDJSON records, one flat JSON object per line. Blank lines are skipped.
+     *
+     * @param in The input.
+     * @return The records, numbered by line.
+     * @throws IOException If reading fails.
+     */
+    static List<ImportRecord> readNdjson(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        List<ImportRecord> records = new ArrayList<>();
+        long number = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            number++;
+            if (text.isBlank()) {
+                continue;
+            }
+            Map<String, String> members;
+            try {
+                members = JsonParser.parseObject(text);
+            } catch (IllegalArgumentException ex) {
+                records.add(ImportRecord.unreadable(number, ex.getMessage()));
+                continue;
+            }
+            ImportRecord record = new ImportRecord(number);
+            members.forEach(record::set);
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Reads a binary export: a header followed by length-prefixed room, customer and reservation records.
+     *
+     * @param in The input.
+     * @return The records, numbered by position.
+     * @throws IOException              If reading fails.
+     * @throws IllegalArgumentException If the input does not start with a binary export header.
+     */
+    static List<ImportRecord> readBinary(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        try {
+            if (data.readInt() != ReservationExporter.BINARY_MAGIC || data.readShort() != ReservationExporter.BINARY_VERSION) {
+                throw new IllegalArgumentException("The input is not a binary reservation export.");
+            }
+        } catch (EOFException ex) {
+            throw new IllegalArgumentException("The input is not a binary reservation export.", ex);
+        }
+
+        List<ImportRecord> records = new ArrayList<>();
+        RecordDecoder decoder = new RecordDecoder();
+        long number = 0;
+        while (true) {
+            int length;
+            try {
+                length = data.readInt();
+            } catch (EOFException ex) {
+                return records;
+            }
+            number++;
+            if (length < 0) {
+                records.add(ImportRecord.unreadable(number, "The record has a negative length."));
+                return records;
+            }
+            byte[] bytes = data.readNBytes(length);
+            if (bytes.length < length) {
+                records.add(ImportRecord.unreadable(number, "The record is truncated."));
+                return records;
+            }
+            ImportRecord record = new ImportRecord(number);
+            try {
+                decoder.decode(ByteBuffer.wrap(bytes), new BinaryFields(record));
+            } catch (RuntimeException ex) {
+                record = ImportRecord.unreadable(number, "The record cannot be decoded: " + ex.getMessage());
+            }
+            records.add(record);
+        }
+    }
+
+    /**
+     * Splits one CSV record, reading further lines while a quoted field is open.
+     */
+    private static List<String> splitCsv(String text, BufferedReader reader, long[] line) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                text = reader.readLine();
+                if (text == null) {
+                    throw new IllegalArgumentException("A quoted field is not closed.");
+                }
+                line[0]++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    /**
+     * Copies the fields of one decoded binary record into an import record.
+     */
+    private static final class BinaryFields implements RecordHandler {
+
+        private final ImportRecord record;
+
+        BinaryFields(ImportRecord record) {
+            this.record = record;
+        }
+
+        @Override
+        public void room(String roomNumber, long priceCents, RoomType roomType, boolean freeRoom, boolean isFree) {
+            record.roomNumber = roomNumber;
+            record.price = BigDecimal.valueOf(priceCents, 2).toPlainString();
+            record.roomType = roomType.name();
+            record.freeRoom = Boolean.toString(freeRoom);
+        }
+
+        @Override
+        public void customer(String email, String firstName, String lastName) {
+            record.email = email;
+            record.firstName = firstName;
+            record.lastName = lastName;
+        }
+
+        @Override
+        public void reservation(String roomNumber, String customerEmail, int checkInDay, int checkOutDay) {
+            record.roomNumber = roomNumber;
+            record.email = customerEmail;
+            record.checkIn = LocalDate.ofEpochDay(checkInDay).toString();
+            record.checkOut = LocalDate.ofEpochDay(checkOutDay).toString();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Room;
+import model.Room.RoomType;
+import utils.ValidationResult;
+import utils.ValidationUtils;
+
+/**
+ * ImportRecord is one input record on its way through an import. It starts out with the raw text fields as
+ * read; {@link #check(List)} and {@link #finish(List)} turn them into a room, a customer and a stay, or record
+ * every reason why they cannot. Checking only touches the record itself, so records can be checked in parallel.
+ * <p>
+ * A record may describe a room (room number, type and price), a customer (email and names), a stay (room number,
+ * email and dates), or any combination, so the rows of a reservation export can be imported directly.
+ */
+final class ImportRecord {
+
+    final long number;
+    String roomNumber;
+    String roomType;
+    String price;
+    String freeRoom;
+    String email;
+    String firstName;
+    String lastName;
+    String checkIn;
+    String checkOut;
+
+    IRoom room;
+    Customer customer;
+    boolean hasStay;
+    int checkInDay;
+    int checkOutDay;
+    String error;
+    private List<String> problems;
+
+    /**
+     * Constructs an empty record.
+     *
+     * @param number The line the record starts on, or the position of a binary record.
+     */
+    ImportRecord(long number) {
+        this.number = number;
+    }
+
+    /**
+     * Constructs a record that could not be read.
+     *
+     * @param number The line the record starts on, or the position of a binary record.
+     * @param error  Why the record could not be read.
+     * @return The rejected record.
+     */
+    static ImportRecord unreadable(long number, String error) {
+        ImportRecord record = new ImportRecord(number);
+        record.error = error;
+        return record;
+    }
+
+    /**
+     * Sets a field by its CSV column or JSON member name. Unknown names are ignored; blank values count as absent.
+     *
+     * @param name  The field name, in snake or camel case.
+     * @param value The field value.
+     */
+    void set(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        switch (name) {
+            case "room_number":
+            case "roomNumber":
+                roomNumber = value;
+                break;
+            case "room_type":
+            case "roomType":
+                roomType = value;
+                break;
+            case "price":
+                price = value;
+                break;
+            case "free_room":
+            case "freeRoom":
+                freeRoom = value;
+                break;
+            case "email":
+                email = value;
+                break;
+            case "first_name":
+            case "firstName":
+                firstName = value;
+                break;
+            case "last_name":
+            case "lastName":
+                lastName = value;
+                break;
+            case "check_in":
+            case "checkIn":
+                checkIn = value;
+                break;
+            case "check_out":
+            case "checkOut":
+                checkOut = value;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Checks every field of the record without stopping at the first problem, and builds the room, customer and
+     * stay if nothing is wrong. Broken {@link ValidationUtils} rules are added to the errors; problems specific to
+     * the input, such as a date that cannot be read, are kept on the record until {@link #finish(List)}. Expected
+     * bad input is reported this way rather than through exceptions, since a large import may reject many records.
+     *
+     * @param errors The list to add the broken rules to.
+     */
+    void check(List<ValidationResult> errors) {
+        if (error != null) {
+            return;
+        }
+        int rulesBroken = errors.size();
+        problems = new ArrayList<>();
+
+        RoomType type = null;
+        double roomPrice = 0;
+        boolean free = false;
+        boolean describesRoom = roomType != null || price != null;
+        if (describesRoom) {
+            type = parseRoomType();
+            roomPrice = parsePrice();
+            free = freeRoom != null ? Boolean.parseBoolean(freeRoom) : price != null && roomPrice == 0;
+            if (free && roomPrice != 0) {
+                problems.add("A free room cannot have price " + price + ".");
+            }
+            // A type or price that is given but unreadable was reported above, so it only counts as missing here
+            // when it is absent.
+            ValidationUtils.checkRoom(roomNumber, price == null ? null : roomPrice,
+                    roomType == null ? null : RoomType.SINGLE, true, errors);
+        }
+        boolean describesCustomer = firstName != null || lastName != null;
+        if (describesCustomer) {
+            ValidationUtils.checkCustomer(firstName, lastName, email, errors);
+        }
+        boolean describesStay = checkIn != null || checkOut != null;
+        if (describesStay) {
+            if (roomNumber == null || email == null) {
+                problems.add("A stay needs a room number and an email.");
+            }
+            checkInDay = day(checkIn);
+            if (checkInDay == ValidationUtils.INVALID_DAY) {
+                problems.add(invalidDate("check-in", checkIn));
+            }
+            checkOutDay = day(checkOut);
+            if (checkOutDay == ValidationUtils.INVALID_DAY) {
+                problems.add(invalidDate("check-out", checkOut));
+            }
+            if (checkInDay != ValidationUtils.INVALID_DAY && checkOutDay != ValidationUtils.INVALID_DAY) {
+                ValidationUtils.checkStayDates(checkInDay, checkOutDay, Integer.MIN_VALUE, errors);
+            }
+        }
+        if (!describesRoom && !describesCustomer && !describesStay) {
+            problems.add("The record describes no room, customer or stay.");
+        }
+
+        if (problems.isEmpty() && errors.size() == rulesBroken) {
+            if (describesRoom) {
+                room = free ? new FreeRoom(roomNumber, roomPrice, type, true) : new Room(roomNumber, roomPrice, type, true);
+            }
+            if (describesCustomer) {
+                customer = new Customer(firstName, lastName, email);
+            }
+            hasStay = describesStay;
+        }
+    }
+
+    /**
+     * Completes the check of the record with the rules it broke. A record with any problem or broken rule keeps
+     * all of them, in the order they were found, in {@link #error}, and describes nothing.
+     *
+     * @param errors The rules the record broke, as reported by {@link #check(List)}.
+     */
+    void finish(List<ValidationResult> errors) {
+        if (error != null || (problems.isEmpty() && errors.isEmpty())) {
+            problems = null;
+            return;
+        }
+        StringJoiner message = new StringJoiner(" ");
+        problems.forEach(message::add);
+        errors.forEach(rule -> message.add(rule.getMessage()));
+        error = message.toString();
+        problems = null;
+        room = null;
+        customer = null;
+        hasStay = false;
+    }
+
+    /**
+     * Reads the room type, ignoring case.
+     *
+     * @return The room type, or null if it is missing or unreadable; an unreadable type is added to the problems.
+     */
+    private RoomType parseRoomType() {
+        if (roomType == null) {
+            return null;
+        }
+        String typeName = roomType.trim();
+        for (RoomType candidate : RoomType.values()) {
+            if (candidate.name().equalsIgnoreCase(typeName)) {
+                return candidate;
+            }
+        }
+        problems.add("Invalid room type " + roomType + ", expected SINGLE or DOUBLE.");
+        return null;
+    }
+
+    /**
+     * Reads the price.
+     *
+     * @return The price, or 0 if it is missing or unreadable; an unreadable price is added to the problems.
+     */
+    private double parsePrice() {
+        if (price == null) {
+            return 0;
+        }
+        double roomPrice;
+        try {
+            roomPrice = Double.parseDouble(price);
+        } catch (NumberFormatException ex) {
+            roomPrice = Double.NaN;
+        }
+        if (roomPrice < 0 || Double.isNaN(roomPrice) || Double.isInfinite(roomPrice)) {
+            problems.add("Invalid price " + price + ".");
+            return 0;
+        }
+        return roomPrice;
+    }
+
+    private static int day(String date) {
+        return date == null ? ValidationUtils.INVALID_DAY : ValidationUtils.parseIsoDay(date.trim());
+    }
+
+    private static String invalidDate(String name, String date) {
+        if (date == null) {
+            return "Missing " + name + " date.";
+        }
+        return "Invalid " + name + " date " + date + ", expected yyyy-MM-dd.";
+    }
+}
@@ -0,0 +1,94 @@
+package ingest;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ImportReport summarizes a bulk import: how many records were read, how many rooms, customers and reservations
+ * were added, and why each rejected record was rejected.
+ */
+public final class ImportReport {
+
+    private final long records;
+    private final int rooms;
+    private final int customers;
+    private final int reservations;
+    private final List<ImportError> errors;
+    private final long elapsedNanos;
+
+    ImportReport(long records, int rooms, int customers, int reservations, List<ImportError> errors, long elapsedNanos) {
+        this.records = records;
+        this.rooms = rooms;
+        this.customers = customers;
+        this.reservations = reservations;
+        errors.sort(Comparator.comparingLong(ImportError::getRecord));
+        this.errors = Collections.unmodifiableList(errors);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of records read.
+     *
+     * @return The record count.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Gets the number of rooms added or replaced.
+     *
+     * @return The room count.
+     */
+    public int getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Gets the number of customers added.
+     *
+     * @return The customer count.
+     */
+    public int getCustomers() {
+        return customers;
+    }
+
+    /**
+     * Gets the number of reservations added.
+     *
+     * @return The reservation count.
+     */
+    public int getReservations() {
+        return reservations;
+    }
+
+    /**
+     * Gets the rejected records, ordered by record number.
+     *
+     * @return The errors.
+     */
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the wall-clock time of the import.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d records in %.1f s: %d rooms, %d customers, %d reservations imported, %d rejected%n",
+                records, elapsedNanos / 1e9, rooms, customers, reservations, errors.size()));
+        for (ImportError error : errors) {
+            text.append("  ").append(error).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Locale;
+
 import utils.ValidationUtils;
 
 /**
@@ -22,8 +24,7 @@ public class Customer {
     public Customer(String firstName, String lastName, String email) {
         super();
         
-        ValidationUtils.customerValidationInputs(firstName, lastName, email); // validates non-null inputs
-        ValidationUtils.emailValidation(email); // validates email format
+        ValidationUtils.checkCustomer(firstName, lastName, email).orThrow(); // validates non-empty inputs and email format
         
         this.firstName = firstName;
         this.lastName = lastName;
@@ -77,6 +78,7 @@ public class Customer {
 
     /**
      * Sets the email of the customer.
+     * Customers are identified by email, so a customer must not change email while it is held in a hash-based collection.
      *
      * @param email the email to set
      */
@@ -93,4 +95,33 @@ public class Customer {
     public String toString() {
         return "Customer {firstName=" + firstName + ", lastName=" + lastName + ", email=" + email + "}";
     }
+
+    /**
+     * Normalizes an email into the key customers are identified by.
+     *
+     * @param email the email to normalize
+     * @return the lower-case email
+     */
+    public static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Two customers are equal when their emails match, ignoring case.
+     *
+     * @param o the object to compare with
+     * @return true if the object is a customer with the same normalized email, false otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Customer customer = (Customer) o;
+        return normalizeEmail(email).equals(normalizeEmail(customer.email));
+    }
+
+    @Override
+    public int hashCode() {
+        return normalizeEmail(email).hashCode();
+    }
 }
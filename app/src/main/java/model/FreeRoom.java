@@ -12,12 +12,22 @@ public class FreeRoom extends Room {
      * @param roomNumber the room number
      * @param roomPrice  the price of the room (ignored, always set to 0.0 for free rooms)
      * @param roomType   the type of the room (SINGLE or DOUBLE)
-     * @param isFree     indicates if the room is free (true)
+     * @param isFree     the availability flag of earlier versions; it must not be null but is otherwise ignored
      */
     public FreeRoom(String roomNumber, Double roomPrice, RoomType roomType, Boolean isFree) {
         super(roomNumber, 0.0, roomType, isFree);
     }
 
+    /**
+     * Checks if the room is free of charge, which a free room always is.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isFree() {
+        return true;
+    }
+
     /**
      * Returns a string representation of the FreeRoom object.
      *
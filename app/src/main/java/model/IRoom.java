@@ -3,7 +3,7 @@ package model;
 import model.Room.RoomType;
 
 /**
- * The IRoom interface represents a room in a hotel. It defines methods to get the room's number, price, type, and its free status.
+ * The IRoom interface represents a room in a hotel. It defines methods to get the room's number, price, type, and whether it is free of charge.
  */
 public interface IRoom {
 
@@ -29,9 +29,11 @@ public interface IRoom {
     public RoomType getRoomType();
 
     /**
-     * Checks if the room is free.
+     * Checks if the room is free of charge, as a {@link FreeRoom} is. This is a pricing property that never
+     * changes with bookings; whether a room can be booked depends on the dates and is answered by
+     * {@link service.ReservationService#isRoomAvailable(IRoom, java.util.Date, java.util.Date)}.
      * 
-     * @return true if the room is free, false otherwise
+     * @return true if the room is free of charge, false otherwise
      */
     public boolean isFree();
 }
@@ -3,16 +3,21 @@ package model;
 import java.text.ParseException;
 import java.util.Date;
 
+import utils.EpochDays;
 import utils.ValidationUtils;
 
 /**
  * The Reservation class represents a hotel reservation, including the room, customer, and the check-in and check-out dates.
+ * <p>
+ * The dates are stored as epoch days, the number of days since 1970-01-01, so comparing and indexing reservations
+ * does not allocate or consult the time zone. {@link Date} values are only converted at the API edge, and the date
+ * getters return a new object on every call so callers cannot change a stored reservation through them.
  */
 public class Reservation {
     private Customer customer;
     private IRoom room;
-    private Date checkInDate;
-    private Date checkOutDate;
+    private int checkInDay;
+    private int checkOutDay;
 
     /**
      * Constructs a new Reservation with the specified room, customer, check-in date, and check-out date.
@@ -28,12 +33,59 @@ public class Reservation {
         super();
 
         ValidationUtils.reservationValidateInputs(room, customer, checkInDate, checkOutDate); // validates non-null inputs
-        ValidationUtils.checkInAndCheckOutDateValidation(checkInDate, checkOutDate); // validates check-in date is not after check-out date
+        int checkInDay = EpochDays.of(checkInDate);
+        int checkOutDay = EpochDays.of(checkOutDate);
+        ValidationUtils.checkInAndCheckOutDateValidation(checkInDay, checkOutDay); // validates check-in date is not after check-out date
 
         this.room = room;
         this.customer = customer;
-        this.checkInDate = checkInDate;
-        this.checkOutDate = checkOutDate;
+        this.checkInDay = checkInDay;
+        this.checkOutDay = checkOutDay;
+    }
+
+    private Reservation(IRoom room, Customer customer, int checkInDay, int checkOutDay) {
+        this.room = room;
+        this.customer = customer;
+        this.checkInDay = checkInDay;
+        this.checkOutDay = checkOutDay;
+    }
+
+    /**
+     * Recreates a reservation that was accepted earlier, for example when replaying a persisted log.
+     * Unlike the constructor, this does not reject check-in dates that are now in the past.
+     *
+     * @param room the room for the reservation
+     * @param customer the customer who made the reservation
+     * @param checkInDate the check-in date for the reservation
+     * @param checkOutDate the check-out date for the reservation
+     * @return the restored reservation
+     * @throws IllegalArgumentException if any argument is null or if the check-in date is not before the check-out date
+     */
+    public static Reservation restore(IRoom room, Customer customer, Date checkInDate, Date checkOutDate) {
+        ValidationUtils.reservationValidateInputs(room, customer, checkInDate, checkOutDate);
+        return restore(room, customer, EpochDays.of(checkInDate), EpochDays.of(checkOutDate));
+    }
+
+    /**
+     * Recreates a reservation that was accepted earlier from its check-in and check-out epoch days.
+     * Unlike the constructor, this does not reject check-in days that are now in the past.
+     *
+     * @param room the room for the reservation
+     * @param customer the customer who made the reservation
+     * @param checkInDay the check-in epoch day
+     * @param checkOutDay the check-out epoch day
+     * @return the restored reservation
+     * @throws IllegalArgumentException if the room or customer is null or if the check-in day is not before the check-out day
+     */
+    public static Reservation restore(IRoom room, Customer customer, int checkInDay, int checkOutDay) {
+        if (room == null) {
+            throw new IllegalArgumentException("\u001B[31m" + "Room must not be null." + "\u001B[0m");
+        } else if (customer == null) {
+            throw new IllegalArgumentException("\u001B[31m" + "Customer must not be null." + "\u001B[0m");
+        } else if (checkInDay >= checkOutDay) {
+            throw new IllegalArgumentException("\u001B[31m" + "Check-in date must be before check-out date." + "\u001B[0m");
+        }
+        return new Reservation(room, customer, checkInDay, checkOutDay);
     }
 
     /**
@@ -57,19 +109,46 @@ public class Reservation {
     /**
      * Gets the check-in date for this reservation.
      * 
-     * @return the check-in date
+     * @return a new Date for the start of the check-in day
      */
     public Date getCheckInDate() {
-        return checkInDate;
+        return EpochDays.toDate(checkInDay);
     }
 
     /**
      * Gets the check-out date for this reservation.
      * 
-     * @return the check-out date
+     * @return a new Date for the start of the check-out day
      */
     public Date getCheckOutDate() {
-        return checkOutDate;
+        return EpochDays.toDate(checkOutDay);
+    }
+
+    /**
+     * Gets the check-in day for this reservation.
+     *
+     * @return the check-in epoch day
+     */
+    public int getCheckInDay() {
+        return checkInDay;
+    }
+
+    /**
+     * Gets the check-out day for this reservation.
+     *
+     * @return the check-out epoch day
+     */
+    public int getCheckOutDay() {
+        return checkOutDay;
+    }
+
+    /**
+     * Gets the number of nights in this reservation.
+     *
+     * @return the number of nights
+     */
+    public int getNights() {
+        return checkOutDay - checkInDay;
     }
 
     /**
@@ -91,21 +170,23 @@ public class Reservation {
     }
 
     /**
-     * Sets the check-in date for this reservation.
+     * Sets the check-in date for this reservation. A reservation that is already stored in ReservationService
+     * must not be changed, since its room stays indexed under the old dates.
      * 
      * @param checkInDate the new check-in date
      */
     public void setCheckInDate(Date checkInDate) {
-        this.checkInDate = checkInDate;
+        this.checkInDay = EpochDays.of(checkInDate);
     }
 
     /**
-     * Sets the check-out date for this reservation.
+     * Sets the check-out date for this reservation. A reservation that is already stored in ReservationService
+     * must not be changed, since its room stays indexed under the old dates.
      * 
      * @param checkOutDate the new check-out date
      */
     public void setCheckOutDate(Date checkOutDate) {
-        this.checkOutDate = checkOutDate;
+        this.checkOutDay = EpochDays.of(checkOutDate);
     }
 
     
@@ -115,8 +196,8 @@ public class Reservation {
         int result = 1;
         result = prime * result + ((customer == null) ? 0 : customer.hashCode());
         result = prime * result + ((room == null) ? 0 : room.hashCode());
-        result = prime * result + ((checkInDate == null) ? 0 : checkInDate.hashCode());
-        result = prime * result + ((checkOutDate == null) ? 0 : checkOutDate.hashCode());
+        result = prime * result + checkInDay;
+        result = prime * result + checkOutDay;
         return result;
     }
 
@@ -139,17 +220,7 @@ public class Reservation {
                 return false;
         } else if (!room.equals(other.room))
             return false;
-        if (checkInDate == null) {
-            if (other.checkInDate != null)
-                return false;
-        } else if (!checkInDate.equals(other.checkInDate))
-            return false;
-        if (checkOutDate == null) {
-            if (other.checkOutDate != null)
-                return false;
-        } else if (!checkOutDate.equals(other.checkOutDate))
-            return false;
-        return true;
+        return checkInDay == other.checkInDay && checkOutDay == other.checkOutDay;
     }
 
     /**
@@ -159,6 +230,6 @@ public class Reservation {
      */
     @Override
     public String toString() {
-        return "Reservation {room=" + room + ", \ncustomer=" + customer + ", \ncheckInDate=" + checkInDate + ", \ncheckOutDate=" + checkOutDate + "}\n";
+        return "Reservation {room=" + room + ", \ncustomer=" + customer + ", \ncheckInDate=" + getCheckInDate() + ", \ncheckOutDate=" + getCheckOutDate() + "}\n";
     }
 }
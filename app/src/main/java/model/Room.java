@@ -18,7 +18,6 @@ public class Room implements IRoom {
     private String roomNumber;
     private Double roomPrice;
     private RoomType roomType;
-    private Boolean isFree;
 
     /**
      * Constructs a new Room with the specified room number, price, type, and availability.
@@ -26,7 +25,8 @@ public class Room implements IRoom {
      * @param roomNumber the room number
      * @param roomPrice the room price
      * @param roomType the room type
-     * @param isFree the availability of the room
+     * @param isFree the availability flag of earlier versions; it must not be null but is otherwise ignored,
+     *               since availability depends on the dates of a stay
      * @throws IllegalArgumentException if any argument is empty or null
      */
     public Room(String roomNumber, Double roomPrice, RoomType roomType, Boolean isFree) {
@@ -37,7 +37,6 @@ public class Room implements IRoom {
         this.roomNumber = roomNumber;
         this.roomPrice = roomPrice;
         this.roomType = roomType;
-        this.isFree = isFree;
     }
     
     /**
@@ -71,20 +70,22 @@ public class Room implements IRoom {
     }
 
     /**
-     * Checks if the room is free.
+     * Checks if the room is free of charge. A paid room never is; see {@link FreeRoom}.
      * 
-     * @return true if the room is free, false otherwise
+     * @return false
      */
     @Override
     public boolean isFree() {
-        return isFree;
+        return false;
     }
     
     /**
      * Sets the room number.
      * 
      * @param roomNumber the new room number
+     * @deprecated The room catalog indexes rooms by number, so a stored room must keep its number; add a new room instead.
      */
+    @Deprecated
     public void setRoomNumber(String roomNumber) {
         this.roomNumber = roomNumber;
     }
@@ -93,7 +94,9 @@ public class Room implements IRoom {
      * Sets the room price.
      * 
      * @param roomPrice the new room price
+     * @deprecated Stored rooms are shared through an immutable catalog; add a replacement room with the new price.
      */
+    @Deprecated
     public void setRoomPrice(Double roomPrice) {
         this.roomPrice = roomPrice;
     }
@@ -102,18 +105,23 @@ public class Room implements IRoom {
      * Sets the room type.
      * 
      * @param roomType the new room type
+     * @deprecated Stored rooms are shared through an immutable catalog; add a replacement room with the new type.
      */
+    @Deprecated
     public void setRoomType(RoomType roomType) {
         this.roomType = roomType;
     }
 
     /**
-     * Sets the availability of the room.
+     * Sets the availability of the room. This has no effect: availability depends on the dates of a stay and is
+     * derived from the reservations.
      * 
      * @param isFree the new availability
+     * @deprecated Use {@link service.ReservationService#isRoomAvailable(IRoom, java.util.Date, java.util.Date)}
+     *             to check whether a room can be booked for given dates.
      */
+    @Deprecated
     public void setIsFree(Boolean isFree) {
-        this.isFree = isFree;
     }
 
     /**
@@ -0,0 +1,21 @@
+package persistence;
+
+/**
+ * The FsyncPolicy enumeration controls when the write-ahead log forces its writes to the storage device.
+ */
+public enum FsyncPolicy {
+    /**
+     * Force every group commit to disk before acknowledging the writes in it.
+     */
+    ALWAYS,
+
+    /**
+     * Acknowledge writes once they reach the operating system and force the log at most once per sync interval.
+     */
+    PERIODIC,
+
+    /**
+     * Never force the log; leave flushing to the operating system.
+     */
+    NEVER;
+}
@@ -0,0 +1,351 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import codec.RecordDecoder;
+import codec.RecordEncoder;
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+import service.CustomerService;
+import service.MutationListener;
+import service.ReservationService;
+
+/**
+ * Persistence makes the in-memory services durable. Opening it loads the latest snapshot in a data directory,
+ * replays the write-ahead log segments written after it, and then records every new room, customer and
+ * reservation in the log before the service call returns.
+ * <p>
+ * Records are written in the {@link codec} format. Each log segment is one dictionary-encoded stream, so records
+ * are encoded and queued for the log in a single critical section to keep the file order equal to the encoding
+ * order; waiting for the commit happens outside of it. If a record cannot be encoded or logged, the dictionary may
+ * hold entries that never reached the segment, so logging continues in a new segment with a fresh dictionary.
+ * <p>
+ * A checkpoint starts a new log segment, writes a snapshot of the services and deletes the older snapshot and
+ * segments, so startup only has to replay the mutations made since the last checkpoint. Replaying a record that
+ * is already in the snapshot has no effect, which lets the snapshot be taken while the services keep running.
+ */
+public final class Persistence implements MutationListener, Closeable {
+
+    /**
+     * The longest time between forces of the log for {@link FsyncPolicy#PERIODIC}.
+     */
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 50;
+
+    /**
+     * The default time between automatic checkpoints.
+     */
+    public static final long DEFAULT_CHECKPOINT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("hotel-(\\d+)\\.wal");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private final Path directory;
+    private final FsyncPolicy policy;
+    private final Object appendLock = new Object();
+    private final RecordEncoder encoder = new RecordEncoder();
+    private final ScheduledExecutorService checkpointer;
+    private WriteAheadLog log;
+    private long generation;  // guarded by appendLock
+
+    private Persistence(Path directory, FsyncPolicy policy, long generation, long checkpointIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.policy = policy;
+        this.generation = generation;
+        this.log = new WriteAheadLog(segment(generation), policy, DEFAULT_SYNC_INTERVAL_MILLIS);
+        try {
+            forceDirectory(directory);
+        } catch (IOException ex) {
+            log.close();
+            throw ex;
+        }
+
+        if (checkpointIntervalMillis > 0) {
+            this.checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "persistence-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.checkpointer.scheduleWithFixedDelay(this::checkpointQuietly, checkpointIntervalMillis,
+                    checkpointIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.checkpointer = null;
+        }
+    }
+
+    /**
+     * Restores the services from a data directory and starts logging new mutations, with automatic checkpoints
+     * every {@link #DEFAULT_CHECKPOINT_INTERVAL_MILLIS}.
+     *
+     * @param directory The data directory; it is created if it does not exist.
+     * @param policy    When to force log writes to disk.
+     * @return The open persistence, which must be closed on shutdown.
+     * @throws IOException If the directory cannot be read or the log cannot be opened.
+     */
+    public static Persistence open(Path directory, FsyncPolicy policy) throws IOException {
+        return open(directory, policy, DEFAULT_CHECKPOINT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Restores the services from a data directory and starts logging new mutations.
+     * This should be called once at startup, before the services are used.
+     *
+     * @param directory                The data directory; it is created if it does not exist.
+     * @param policy                   When to force log writes to disk.
+     * @param checkpointIntervalMillis The time between automatic checkpoints, or 0 to only checkpoint on request.
+     * @return The open persistence, which must be closed on shutdown.
+     * @throws IOException If the directory cannot be read or the log cannot be opened.
+     */
+    public static Persistence open(Path directory, FsyncPolicy policy, long checkpointIntervalMillis) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> snapshots = generations(directory, SNAPSHOT_NAME);
+        long generation = 0;
+        if (!snapshots.isEmpty()) {
+            generation = snapshots.get(snapshots.size() - 1);
+            ServiceRecordApplier applier = new ServiceRecordApplier();
+            Snapshot.load(directory.resolve(snapshotName(generation)), applier);
+            applier.flush();
+        }
+        for (long segment : generations(directory, SEGMENT_NAME)) {
+            if (segment >= generation) {
+                RecordDecoder decoder = new RecordDecoder();
+                ServiceRecordApplier applier = new ServiceRecordApplier();
+                WriteAheadLog.replay(directory.resolve(segmentName(segment)), record -> decoder.decode(record, applier));
+                applier.flush();
+                generation = segment;
+            }
+        }
+
+        Persistence persistence = new Persistence(directory, policy, generation, checkpointIntervalMillis);
+        ReservationService.addMutationListener(persistence);
+        CustomerService.addMutationListener(persistence);
+        return persistence;
+    }
+
+    /**
+     * Starts a new log segment, writes a snapshot of the services and deletes the older snapshot and segments.
+     *
+     * @throws IOException If the new segment or the snapshot cannot be written; the old files are then kept.
+     */
+    public synchronized void checkpoint() throws IOException {
+        WriteAheadLog[] previousLog = new WriteAheadLog[1];
+        long[] nextGeneration = new long[1];
+        try {
+            ReservationService.runExclusively(() -> {
+                synchronized (appendLock) {
+                    try {
+                        previousLog[0] = startSegment();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    nextGeneration[0] = generation;
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        previousLog[0].close();
+        long next = nextGeneration[0];
+
+        Collection<IRoom> rooms = ReservationService.getAllRooms();
+        Collection<Customer> customers = CustomerService.getAllCustomers();
+        Collection<Reservation> reservations = ReservationService.getAllReservations();
+        Snapshot.write(directory.resolve(snapshotName(next)), rooms, customers, reservations);
+        // The rename must be durable before the files it replaces are deleted.
+        forceDirectory(directory);
+
+        for (long old : generations(directory, SNAPSHOT_NAME)) {
+            if (old < next) {
+                Files.deleteIfExists(directory.resolve(snapshotName(old)));
+            }
+        }
+        for (long old : generations(directory, SEGMENT_NAME)) {
+            if (old < next) {
+                Files.deleteIfExists(directory.resolve(segmentName(old)));
+            }
+        }
+    }
+
+    @Override
+    public void roomAdded(IRoom room) {
+        append(room, encoder::encodeRoom);
+    }
+
+    @Override
+    public void customerAdded(Customer customer) {
+        append(customer, encoder::encodeCustomer);
+    }
+
+    @Override
+    public void reservationAdded(Reservation reservation) {
+        append(reservation, encoder::encodeReservation);
+    }
+
+    @Override
+    public void roomsAdded(List<IRoom> rooms) {
+        appendAll(rooms, encoder::encodeRoom);
+    }
+
+    @Override
+    public void customersAdded(List<Customer> customers) {
+        appendAll(customers, encoder::encodeCustomer);
+    }
+
+    @Override
+    public void reservationsAdded(List<Reservation> reservations) {
+        appendAll(reservations, encoder::encodeReservation);
+    }
+
+    /**
+     * Stops logging mutations and automatic checkpoints, and closes the log.
+     *
+     * @throws IOException If the log cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (checkpointer != null) {
+            checkpointer.shutdownNow();
+        }
+        ReservationService.removeMutationListener(this);
+        CustomerService.removeMutationListener(this);
+        synchronized (appendLock) {
+            log.close();
+        }
+    }
+
+    private <T> void append(T value, Function<T, ByteBuffer> encode) {
+        appendAll(List.of(value), encode);
+    }
+
+    /**
+     * Queues a batch of records together, so they share group commits, and waits for all of them.
+     */
+    private <T> void appendAll(List<T> values, Function<T, ByteBuffer> encode) {
+        CompletableFuture<?>[] committed = new CompletableFuture<?>[values.size()];
+        WriteAheadLog target;
+        synchronized (appendLock) {
+            target = log;
+            try {
+                for (int i = 0; i < committed.length; i++) {
+                    committed[i] = target.submit(encode.apply(values.get(i)));
+                }
+            } catch (RuntimeException ex) {
+                replaceSegment(target, ex);
+                throw ex;
+            }
+        }
+        try {
+            WriteAheadLog.await(CompletableFuture.allOf(committed));
+        } catch (UncheckedIOException ex) {
+            if (target.isFailed()) {
+                synchronized (appendLock) {
+                    replaceSegment(target, ex);
+                }
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Moves logging to a new segment after an append to the current one failed, unless another append already
+     * did. The records queued before the failure are still committed to the old segment, or rejected with it if
+     * it has failed. The caller must hold the append lock.
+     */
+    private void replaceSegment(WriteAheadLog failed, RuntimeException cause) {
+        if (log != failed) {
+            return;
+        }
+        try {
+            startSegment().close();
+        } catch (IOException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Opens the next log segment with a fresh dictionary and makes it the current one. The caller must hold the
+     * append lock.
+     *
+     * @return The previous segment, which the caller must close.
+     * @throws IOException If the new segment cannot be opened; the current one is then kept.
+     */
+    private WriteAheadLog startSegment() throws IOException {
+        WriteAheadLog next = new WriteAheadLog(segment(generation + 1), policy, DEFAULT_SYNC_INTERVAL_MILLIS);
+        try {
+            forceDirectory(directory);
+        } catch (IOException ex) {
+            next.close();
+            throw ex;
+        }
+        WriteAheadLog previous = log;
+        log = next;
+        generation++;
+        encoder.reset();
+        return previous;
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException ex) {
+            System.out.println("\u001B[31m" + "Checkpoint failed: " + ex.getMessage() + "\u001B[0m");
+        }
+    }
+
+    private Path segment(long generation) {
+        return directory.resolve(segmentName(generation));
+    }
+
+    private static String segmentName(long generation) {
+        return "hotel-" + generation + ".wal";
+    }
+
+    private static String snapshotName(long generation) {
+        return "snapshot-" + generation + ".bin";
+    }
+
+    /**
+     * Forces the directory entries of a directory to disk, so files created, renamed or deleted in it survive a
+     * crash. Windows cannot open directories and persists their entries with the files, so nothing is done there.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        if (System.getProperty("os.name").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static List<Long> generations(Path directory, Pattern name) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = name.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+}
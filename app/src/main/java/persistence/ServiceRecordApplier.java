@@ -0,0 +1,64 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import codec.RecordHandler;
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import service.CustomerService;
+import service.ReservationService;
+
+/**
+ * ServiceRecordApplier applies decoded log and snapshot records to the services. Records that are already
+ * reflected in the services, such as a customer that exists or a reservation whose dates are taken, are skipped,
+ * so applying a record twice is harmless.
+ * <p>
+ * Adding a room publishes a new room catalog, so consecutive room records are buffered and added with one
+ * {@link ReservationService#addRooms(java.util.Collection)} call, before the next record of another kind or when
+ * {@link #flush()} is called at the end of a file.
+ */
+final class ServiceRecordApplier implements RecordHandler {
+
+    private final List<IRoom> rooms = new ArrayList<>();
+
+    @Override
+    public void room(String roomNumber, long priceCents, RoomType roomType, boolean freeRoom, boolean isFree) {
+        double price = priceCents / 100.0;
+        rooms.add(freeRoom
+                ? new FreeRoom(roomNumber, price, roomType, isFree)
+                : new Room(roomNumber, price, roomType, isFree));
+    }
+
+    @Override
+    public void customer(String email, String firstName, String lastName) {
+        flush();
+        if (CustomerService.getCustomer(email) == null) {
+            CustomerService.addCustomer(email, firstName, lastName);
+        }
+    }
+
+    @Override
+    public void reservation(String roomNumber, String customerEmail, int checkInDay, int checkOutDay) {
+        flush();
+        IRoom room = ReservationService.getARoom(roomNumber);
+        Customer customer = CustomerService.getCustomer(customerEmail);
+        if (room != null && customer != null) {
+            ReservationService.restoreReservation(Reservation.restore(room, customer, checkInDay, checkOutDay));
+        }
+    }
+
+    /**
+     * Adds the buffered rooms to the service.
+     */
+    void flush() {
+        if (!rooms.isEmpty()) {
+            ReservationService.addRooms(rooms);
+            rooms.clear();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.zip.CRC32C;
+import codec.RecordDecoder;
+import codec.RecordEncoder;
+import codec.RecordHandler;
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+
+/**
+ * Snapshot writes and loads a compact binary image of every room, customer and reservation.
+ * The file starts with a magic number, a format version and the record count, followed by length-prefixed
+ * records in the {@link codec} format sharing one dictionary: rooms first, then customers, then reservations.
+ * The file ends with a CRC32C of everything before it, so a torn or damaged snapshot is rejected before any of it
+ * is applied.
+ */
+final class Snapshot {
+
+    private static final int MAGIC = 0x48534E50;
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+
+    private Snapshot() {
+    }
+
+    /**
+     * Writes a snapshot to a temporary file, forces it and atomically moves it into place.
+     *
+     * @param path         The snapshot file.
+     * @param rooms        The rooms to write.
+     * @param customers    The customers to write.
+     * @param reservations The reservations to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    static void write(Path path, Collection<IRoom> rooms, Collection<Customer> customers,
+                      Collection<Reservation> reservations) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordEncoder encoder = new RecordEncoder();
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            buffer.putInt(MAGIC).putShort(VERSION).putInt(rooms.size() + customers.size() + reservations.size());
+            for (IRoom room : rooms) {
+                buffer = put(out, crc, buffer, encoder.encodeRoom(room));
+            }
+            for (Customer customer : customers) {
+                buffer = put(out, crc, buffer, encoder.encodeCustomer(customer));
+            }
+            for (Reservation reservation : reservations) {
+                buffer = put(out, crc, buffer, encoder.encodeReservation(reservation));
+            }
+            flush(out, crc, buffer);
+            buffer.putInt((int) crc.getValue());
+            flush(out, null, buffer);
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-maps a snapshot and decodes each record into a handler.
+     *
+     * @param path    The snapshot file.
+     * @param handler Receives each decoded record.
+     * @return The number of records read.
+     * @throws IOException If the file cannot be read, is not a snapshot or fails its checksum.
+     */
+    static long load(Path path, RecordHandler handler) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            if (mapped.remaining() < HEADER_BYTES + CHECKSUM_BYTES || mapped.getInt() != MAGIC) {
+                throw new IOException(path + " is not a snapshot.");
+            }
+            short version = mapped.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + path);
+            }
+            int end = mapped.limit() - CHECKSUM_BYTES;
+            CRC32C crc = new CRC32C();
+            crc.update(mapped.slice(0, end));
+            if ((int) crc.getValue() != mapped.getInt(end)) {
+                throw new IOException(path + " is corrupt.");
+            }
+
+            RecordDecoder decoder = new RecordDecoder();
+            int records = mapped.getInt();
+            for (int i = 0; i < records; i++) {
+                int length = mapped.getInt();
+                ByteBuffer record = mapped.slice(mapped.position(), length);
+                mapped.position(mapped.position() + length);
+                decoder.decode(record, handler);
+            }
+            return records;
+        }
+    }
+
+    private static ByteBuffer put(FileChannel out, CRC32C crc, ByteBuffer buffer, ByteBuffer record)
+            throws IOException {
+        int needed = Integer.BYTES + record.remaining();
+        if (buffer.remaining() < needed) {
+            flush(out, crc, buffer);
+            if (buffer.capacity() < needed) {
+                buffer = ByteBuffer.allocate(needed);
+            }
+        }
+        buffer.putInt(record.remaining()).put(record);
+        return buffer;
+    }
+
+    /**
+     * Writes the buffered bytes, adding them to the checksum unless it is null, and clears the buffer.
+     */
+    private static void flush(FileChannel out, CRC32C crc, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,357 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * WriteAheadLog is an append-only log of length-prefixed, checksummed records on a {@link FileChannel}.
+ * <p>
+ * Appending threads hand their record to a single writer thread and wait for it to be committed. The writer drains
+ * every record that queued up while the previous commit was in progress and writes them with one gathering write
+ * followed by at most one fsync, so concurrent writers share the cost of forcing the log to disk.
+ * <p>
+ * A failed write or force is fatal. The failed batch and every record after it are rejected, and the file is cut
+ * back to the end of the last good batch where possible, so a torn frame never hides acknowledged records from
+ * replay and a rolled-back record does not come back. The owner must open a new log to keep appending.
+ */
+public final class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_BATCH = 1024;
+
+    private final FileChannel channel;
+    private final FsyncPolicy policy;
+    private final long syncIntervalNanos;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private long committedSize;
+    private long lastSyncNanos = System.nanoTime();
+    private boolean dirty;
+
+    /**
+     * Opens a log for appending, creating the file if it does not exist.
+     *
+     * @param path               The log file.
+     * @param policy             When to force writes to disk.
+     * @param syncIntervalMillis The longest time between forces for {@link FsyncPolicy#PERIODIC}.
+     * @throws IOException If the file cannot be opened.
+     */
+    public WriteAheadLog(Path path, FsyncPolicy policy, long syncIntervalMillis) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                path.getFileName().toString(), policy, syncIntervalMillis);
+    }
+
+    /**
+     * Appends to an open channel positioned at its end.
+     *
+     * @param channel            The channel to write to; the log closes it.
+     * @param name               The name of the log, for the writer thread.
+     * @param policy             When to force writes to disk.
+     * @param syncIntervalMillis The longest time between forces for {@link FsyncPolicy#PERIODIC}.
+     * @throws IOException If the size of the channel cannot be read.
+     */
+    WriteAheadLog(FileChannel channel, String name, FsyncPolicy policy, long syncIntervalMillis) throws IOException {
+        this.channel = channel;
+        this.committedSize = channel.size();
+        this.policy = policy;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.writer = new Thread(this::writeLoop, "wal-writer-" + name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Appends a record and waits until it is committed according to the fsync policy.
+     *
+     * @param payload The record bytes, from position to limit.
+     * @throws UncheckedIOException If the log is closed or the write fails.
+     */
+    public void append(ByteBuffer payload) {
+        await(submit(payload));
+    }
+
+    /**
+     * Queues a record for the next group commit without waiting for it. Records are written in the order they
+     * are submitted. The payload is copied, so the caller may reuse its buffer as soon as this method returns.
+     *
+     * @param payload The record bytes, from position to limit.
+     * @return A future completed when the record is committed according to the fsync policy.
+     * @throws UncheckedIOException If the log is closed or has failed.
+     */
+    public CompletableFuture<Void> submit(ByteBuffer payload) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payload.remaining());
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        frame.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload).flip();
+
+        PendingWrite write = new PendingWrite(frame);
+        synchronized (queue) {
+            if (closed) {
+                throw new UncheckedIOException(new IOException("Write-ahead log is closed."));
+            }
+            if (failure != null) {
+                throw new UncheckedIOException(new IOException("Write-ahead log has failed.", failure));
+            }
+            queue.add(write);
+        }
+        return write.done;
+    }
+
+    /**
+     * Waits for a record returned by {@link #submit(ByteBuffer)} to be committed.
+     *
+     * @param committed The future returned by submit.
+     * @throws UncheckedIOException If the write failed or the wait was interrupted.
+     */
+    public static void await(CompletableFuture<Void> committed) {
+        try {
+            committed.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the log."));
+        } catch (ExecutionException ex) {
+            throw new UncheckedIOException(new IOException("Write-ahead log append failed.", ex.getCause()));
+        }
+    }
+
+    /**
+     * Checks whether a write or force has failed, after which the log rejects every record.
+     *
+     * @return True if the log has failed, otherwise false.
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Stops accepting records, commits the records already queued, forces the log and closes the file.
+     * A failed log is closed without forcing it.
+     *
+     * @throws IOException If the final force or close fails.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(PendingWrite.CLOSE);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (failure == null) {
+                channel.force(false);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads every complete record of a log in order. A torn or corrupt record at the tail, left by a crash during
+     * a write, ends the replay and is cut off so that new records are appended after the last good one.
+     *
+     * @param path     The log file; a missing file is treated as empty.
+     * @param consumer Receives each record payload.
+     * @return The number of records read.
+     * @throws IOException If the file cannot be read.
+     */
+    public static long replay(Path path, Consumer<ByteBuffer> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            CRC32C crc = new CRC32C();
+            long position = 0;
+            long records = 0;
+            long size = in.size();
+
+            while (position + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(in, header, position);
+                header.flip();
+                int length = header.getInt();
+                int checksum = header.getInt();
+                if (length < 0 || position + HEADER_BYTES + length > size) {
+                    break;
+                }
+
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(in, payload, position + HEADER_BYTES);
+                payload.flip();
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                consumer.accept(payload);
+                position += HEADER_BYTES + length;
+                records++;
+            }
+
+            if (position < size) {
+                in.truncate(position);
+            }
+            return records;
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of log.");
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                PendingWrite first = policy == FsyncPolicy.PERIODIC
+                        ? queue.poll(syncIntervalNanos, TimeUnit.NANOSECONDS)
+                        : queue.take();
+                if (first == null) {
+                    forceIdle();
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                continue;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            int closeIndex = batch.indexOf(PendingWrite.CLOSE);
+            if (closeIndex >= 0) {
+                batch.remove(closeIndex);
+                queue.drainTo(batch);
+                batch.remove(PendingWrite.CLOSE);
+                running = false;
+            }
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (failure != null) {
+            reject(batch, failure);
+            return;
+        }
+        ByteBuffer[] frames = new ByteBuffer[batch.size()];
+        long remaining = 0;
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = batch.get(i).frame;
+            remaining += frames[i].remaining();
+        }
+
+        try {
+            long written = 0;
+            while (written < remaining) {
+                written += channel.write(frames);
+            }
+            dirty = true;
+            if (policy == FsyncPolicy.ALWAYS) {
+                channel.force(false);
+                dirty = false;
+            } else if (policy == FsyncPolicy.PERIODIC) {
+                forceIfDirty();
+            }
+            committedSize += written;
+        } catch (IOException ex) {
+            fail(ex);
+            reject(batch, ex);
+            return;
+        }
+        for (PendingWrite write : batch) {
+            write.done.complete(null);
+        }
+    }
+
+    /**
+     * Marks the log failed and cuts off whatever the failed batch left after the last good one. If the cut fails
+     * too, replay still stops at the torn frame, and no later record can be lost behind it because none is written.
+     */
+    private void fail(IOException ex) {
+        failure = ex;
+        try {
+            channel.truncate(committedSize);
+        } catch (IOException truncateFailure) {
+            ex.addSuppressed(truncateFailure);
+        }
+    }
+
+    private static void reject(List<PendingWrite> batch, IOException ex) {
+        for (PendingWrite write : batch) {
+            write.done.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Forces records that were acknowledged before the last sync interval ended. They cannot be taken back, so a
+     * failure only stops the log from accepting more.
+     */
+    private void forceIdle() {
+        if (failure == null) {
+            try {
+                forceIfDirty();
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+    }
+
+    private void forceIfDirty() throws IOException {
+        long now = System.nanoTime();
+        if (!dirty || now - lastSyncNanos < syncIntervalNanos) {
+            return;
+        }
+        channel.force(false);
+        dirty = false;
+        lastSyncNanos = now;
+    }
+
+    /**
+     * A framed record waiting for the writer thread, and the future its appender waits on.
+     */
+    private static final class PendingWrite {
+        static final PendingWrite CLOSE = new PendingWrite(null);
+
+        final ByteBuffer frame;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingWrite(ByteBuffer frame) {
+            this.frame = frame;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package pricing;
+
+import analytics.OccupancyAnalytics;
+import model.Room.RoomType;
+
+/**
+ * NightlyRates is a precomputed block of {@link #BLOCK_NIGHTS} consecutive nights: for each room type, the prefix
+ * sums of the rate factor times the occupancy multiplier of every night. The factor of any run of nights inside the
+ * block is then one subtraction.
+ * <p>
+ * A block remembers the policy and the occupancy revision it was computed from, so the cache can tell when it is
+ * out of date. Blocks are immutable once built.
+ */
+final class NightlyRates {
+
+    /**
+     * The number of nights in a block. Blocks start on epoch days that are multiples of this.
+     */
+    static final int BLOCK_NIGHTS = 64;
+
+    private final int firstDay;
+    private final PricingPolicy policy;
+    private final long revision;
+    private final double[][] prefixSums;
+
+    private NightlyRates(int firstDay, PricingPolicy policy, long revision, double[][] prefixSums) {
+        this.firstDay = firstDay;
+        this.policy = policy;
+        this.revision = revision;
+        this.prefixSums = prefixSums;
+    }
+
+    /**
+     * Computes the block of nights that starts on a day.
+     *
+     * @param firstDay The first night of the block, a multiple of {@link #BLOCK_NIGHTS}.
+     * @param policy   The pricing policy.
+     * @param revision The occupancy revision the multipliers are read at, or -1 if the policy has none.
+     * @return The block.
+     */
+    static NightlyRates compute(int firstDay, PricingPolicy policy, long revision) {
+        RoomType[] roomTypes = RoomType.values();
+        double[][] prefixSums = new double[roomTypes.length][BLOCK_NIGHTS + 1];
+        double[] rates = new double[BLOCK_NIGHTS];
+        for (RoomType roomType : roomTypes) {
+            policy.getRateTable().fill(roomType.ordinal(), firstDay, rates);
+            if (policy.hasOccupancyMultipliers()) {
+                double[] occupancy = OccupancyAnalytics.nightlyOccupancy(firstDay, firstDay + BLOCK_NIGHTS, roomType);
+                for (int night = 0; night < BLOCK_NIGHTS; night++) {
+                    rates[night] *= policy.getOccupancyMultiplier(occupancy[night]);
+                }
+            }
+            double[] sums = prefixSums[roomType.ordinal()];
+            for (int night = 0; night < BLOCK_NIGHTS; night++) {
+                sums[night + 1] = sums[night] + rates[night];
+            }
+        }
+        return new NightlyRates(firstDay, policy, revision, prefixSums);
+    }
+
+    /**
+     * Finds the first night of the block that holds a night.
+     *
+     * @param day The night, as an epoch day.
+     * @return The first night of its block.
+     */
+    static int blockStart(int day) {
+        return Math.floorDiv(day, BLOCK_NIGHTS) * BLOCK_NIGHTS;
+    }
+
+    /**
+     * Checks whether the block was computed from a policy and occupancy revision.
+     *
+     * @param policy   The current policy.
+     * @param revision The current occupancy revision, or -1 if the policy has no occupancy multipliers.
+     * @return True if the block is up to date, otherwise false.
+     */
+    boolean isCurrent(PricingPolicy policy, long revision) {
+        return this.policy == policy && this.revision == revision;
+    }
+
+    /**
+     * Adds up the rate factors of a run of nights inside the block.
+     *
+     * @param roomType The ordinal of the room type.
+     * @param fromDay  The first night.
+     * @param toDay    The day after the last night, at most the end of the block.
+     * @return The sum of the factors.
+     */
+    double sum(int roomType, int fromDay, int toDay) {
+        double[] sums = prefixSums[roomType];
+        return sums[toDay - firstDay] - sums[fromDay - firstDay];
+    }
+}
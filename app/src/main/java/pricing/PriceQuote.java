@@ -0,0 +1,108 @@
+package pricing;
+
+import model.IRoom;
+
+/**
+ * PriceQuote is the price of one room for a stay: the sum of its nightly rates, the length-of-stay discount and the
+ * total to pay. Amounts are rounded to cents.
+ */
+public final class PriceQuote {
+
+    private final IRoom room;
+    private final int checkInDay;
+    private final int checkOutDay;
+    private final double subtotal;
+    private final double discount;
+    private final double total;
+
+    PriceQuote(IRoom room, int checkInDay, int checkOutDay, double subtotal, double discount) {
+        this.room = room;
+        this.checkInDay = checkInDay;
+        this.checkOutDay = checkOutDay;
+        this.subtotal = cents(subtotal);
+        this.discount = discount;
+        this.total = cents(subtotal * (1 - discount));
+    }
+
+    /**
+     * Gets the quoted room.
+     *
+     * @return The room.
+     */
+    public IRoom getRoom() {
+        return room;
+    }
+
+    /**
+     * Gets the check-in day.
+     *
+     * @return The check-in epoch day.
+     */
+    public int getCheckInDay() {
+        return checkInDay;
+    }
+
+    /**
+     * Gets the check-out day.
+     *
+     * @return The check-out epoch day.
+     */
+    public int getCheckOutDay() {
+        return checkOutDay;
+    }
+
+    /**
+     * Gets the number of nights.
+     *
+     * @return The nights of the stay.
+     */
+    public int getNights() {
+        return checkOutDay - checkInDay;
+    }
+
+    /**
+     * Gets the sum of the nightly rates before the length-of-stay discount.
+     *
+     * @return The subtotal.
+     */
+    public double getSubtotal() {
+        return subtotal;
+    }
+
+    /**
+     * Gets the length-of-stay discount.
+     *
+     * @return The share of the subtotal taken off.
+     */
+    public double getDiscount() {
+        return discount;
+    }
+
+    /**
+     * Gets the price to pay for the stay.
+     *
+     * @return The total.
+     */
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the price to pay per night.
+     *
+     * @return The total divided by the number of nights.
+     */
+    public double getAverageNightlyRate() {
+        return total / getNights();
+    }
+
+    private static double cents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PriceQuote {roomNumber=%s, nights=%d, subtotal=$%.2f, discount=%.0f%%, total=$%.2f}",
+                room.getRoomNumber(), getNights(), subtotal, discount * 100, total);
+    }
+}
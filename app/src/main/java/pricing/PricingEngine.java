@@ -0,0 +1,172 @@
+package pricing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import analytics.OccupancyAnalytics;
+import model.IRoom;
+import model.Room.RoomType;
+import utils.EpochDays;
+import utils.ValidationResult;
+import utils.ValidationUtils;
+
+/**
+ * PricingEngine quotes the price of rooms for a stay under the current {@link PricingPolicy}. A night costs the room
+ * price times the seasonal rate of its room type and the occupancy multiplier of that type on the night, and the
+ * sum over the stay is reduced by the length-of-stay discount. Rooms that are free of charge are quoted at 0.
+ * <p>
+ * The nightly factors are precomputed in blocks of {@link NightlyRates#BLOCK_NIGHTS} nights with prefix sums per
+ * room type and cached, so quoting a stay reads a handful of array elements per room type, and quoting every room
+ * of a search result costs one multiplication per room. A block is recomputed when the policy changes or, if the
+ * policy has occupancy multipliers, when {@link OccupancyAnalytics#revision(int, int)} shows a new room or a new
+ * reservation on one of its nights, so a booking only invalidates the blocks its stay overlaps.
+ */
+public class PricingEngine {
+
+    /**
+     * The number of blocks the cache holds before it is cleared.
+     */
+    static final int MAX_CACHED_BLOCKS = 512;
+
+    private static volatile PricingPolicy policy = PricingPolicy.DEFAULT;
+    private static final Map<Integer, NightlyRates> cache = new ConcurrentHashMap<>();
+
+    private PricingEngine() {
+    }
+
+    /**
+     * Gets the pricing policy in use.
+     *
+     * @return The policy.
+     */
+    public static PricingPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Replaces the pricing policy. Quotes made after this returns use the new policy.
+     *
+     * @param newPolicy The policy.
+     * @throws IllegalArgumentException If the policy is null.
+     */
+    public static void setPolicy(PricingPolicy newPolicy) {
+        if (newPolicy == null) {
+            throw new IllegalArgumentException("The pricing policy must not be null.");
+        }
+        policy = newPolicy;
+        cache.clear();
+    }
+
+    /**
+     * Quotes the price of a room for a stay.
+     *
+     * @param room         The room.
+     * @param checkInDate  The check-in date.
+     * @param checkOutDate The check-out date.
+     * @return The quote.
+     * @throws IllegalArgumentException If the room is null or the check-in date is not before the check-out date.
+     */
+    public static PriceQuote quote(IRoom room, Date checkInDate, Date checkOutDate) {
+        return quote(room, EpochDays.of(checkInDate), EpochDays.of(checkOutDate));
+    }
+
+    /**
+     * Quotes the price of a room for a stay.
+     *
+     * @param room        The room.
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @return The quote.
+     * @throws IllegalArgumentException If the room is null or the check-in day is not before the check-out day.
+     */
+    public static PriceQuote quote(IRoom room, int checkInDay, int checkOutDay) {
+        return quote(Collections.singletonList(room), checkInDay, checkOutDay).get(0);
+    }
+
+    /**
+     * Quotes the price of every room, such as the result of a search, for the same stay.
+     *
+     * @param rooms        The rooms.
+     * @param checkInDate  The check-in date.
+     * @param checkOutDate The check-out date.
+     * @return The quotes, in the order of the rooms.
+     * @throws IllegalArgumentException If a room is null or the check-in date is not before the check-out date.
+     */
+    public static List<PriceQuote> quote(Collection<? extends IRoom> rooms, Date checkInDate, Date checkOutDate) {
+        return quote(rooms, EpochDays.of(checkInDate), EpochDays.of(checkOutDate));
+    }
+
+    /**
+     * Quotes the price of every room, such as the result of a search, for the same stay.
+     *
+     * @param rooms       The rooms.
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @return The quotes, in the order of the rooms.
+     * @throws IllegalArgumentException If a room is null or the check-in day is not before the check-out day.
+     */
+    public static List<PriceQuote> quote(Collection<? extends IRoom> rooms, int checkInDay, int checkOutDay) {
+        ValidationResult dates = ValidationUtils.checkStayDates(checkInDay, checkOutDay);
+        if (!dates.isValid()) {
+            throw new IllegalArgumentException(dates.getMessage());
+        }
+        PricingPolicy current = policy;
+        double[] factors = stayFactors(current, checkInDay, checkOutDay);
+        double discount = current.getStayDiscount(checkOutDay - checkInDay);
+
+        List<PriceQuote> quotes = new ArrayList<>(rooms.size());
+        for (IRoom room : rooms) {
+            if (room == null) {
+                throw new IllegalArgumentException("The room must not be null.");
+            }
+            double price = room.isFree() || room.getRoomPrice() == null ? 0.0 : room.getRoomPrice();
+            double subtotal = price * factors[room.getRoomType().ordinal()];
+            quotes.add(new PriceQuote(room, checkInDay, checkOutDay, subtotal, discount));
+        }
+        return quotes;
+    }
+
+    /**
+     * Adds up the nightly factors of each room type over a stay, block by block.
+     *
+     * @return The sum of the factors per room type, indexed by {@link RoomType#ordinal()}.
+     */
+    private static double[] stayFactors(PricingPolicy current, int checkInDay, int checkOutDay) {
+        double[] factors = new double[RoomType.values().length];
+        for (int day = checkInDay; day < checkOutDay; ) {
+            int blockStart = NightlyRates.blockStart(day);
+            int end = (int) Math.min((long) blockStart + NightlyRates.BLOCK_NIGHTS, checkOutDay);
+            long revision = current.hasOccupancyMultipliers()
+                    ? OccupancyAnalytics.revision(blockStart, blockStart + NightlyRates.BLOCK_NIGHTS) : -1;
+            NightlyRates block = block(blockStart, current, revision);
+            for (int type = 0; type < factors.length; type++) {
+                factors[type] += block.sum(type, day, end);
+            }
+            day = end;
+        }
+        return factors;
+    }
+
+    /**
+     * Gets a block from the cache, computing it if it is missing or out of date. The revision is read before the
+     * block is computed, so a block never claims a revision older than the occupancy it was computed from.
+     */
+    private static NightlyRates block(int blockStart, PricingPolicy current, long revision) {
+        NightlyRates block = cache.get(blockStart);
+        if (block == null || !block.isCurrent(current, revision)) {
+            block = NightlyRates.compute(blockStart, current, revision);
+            if (cache.size() >= MAX_CACHED_BLOCKS) {
+                cache.clear();
+            }
+            if (current == policy) {
+                cache.put(blockStart, block);
+            }
+        }
+        return block;
+    }
+}
@@ -0,0 +1,165 @@
+package pricing;
+
+import java.util.Arrays;
+
+/**
+ * PricingPolicy combines the three parts of a price: the seasonal {@link RateTable}, multipliers that raise the rate
+ * of a room type on nights when that type is busy, and discounts for long stays.
+ * <p>
+ * An occupancy multiplier applies from its occupancy upward until the next one, and a stay discount from its
+ * number of nights upward until the next one. Policies are immutable; the {@code with} methods return a new one.
+ */
+public final class PricingPolicy {
+
+    /**
+     * The policy that charges every night at the room price, without multipliers or discounts.
+     */
+    public static final PricingPolicy DEFAULT = new PricingPolicy(RateTable.EMPTY, new double[0], new double[0],
+            new int[0], new double[0]);
+
+    private final RateTable rateTable;
+    private final double[] occupancies;
+    private final double[] multipliers;
+    private final int[] stayNights;
+    private final double[] discounts;
+
+    private PricingPolicy(RateTable rateTable, double[] occupancies, double[] multipliers, int[] stayNights,
+            double[] discounts) {
+        this.rateTable = rateTable;
+        this.occupancies = occupancies;
+        this.multipliers = multipliers;
+        this.stayNights = stayNights;
+        this.discounts = discounts;
+    }
+
+    /**
+     * Builds the policy that results from replacing the seasonal rates.
+     *
+     * @param rateTable The rate table.
+     * @return The new policy; this one is unchanged.
+     * @throws IllegalArgumentException If the rate table is null.
+     */
+    public PricingPolicy withRateTable(RateTable rateTable) {
+        if (rateTable == null) {
+            throw new IllegalArgumentException("The rate table must not be null.");
+        }
+        return new PricingPolicy(rateTable, occupancies, multipliers, stayNights, discounts);
+    }
+
+    /**
+     * Builds the policy that results from multiplying the rate of a room type on nights when at least a share of
+     * its rooms is booked. A multiplier for the same occupancy is replaced.
+     *
+     * @param minOccupancy The occupancy from which the multiplier applies, between 0 and 1.
+     * @param multiplier   The multiplier of the nightly rate.
+     * @return The new policy; this one is unchanged.
+     * @throws IllegalArgumentException If the occupancy is not between 0 and 1 or the multiplier is not a positive
+     *                                  number.
+     */
+    public PricingPolicy withOccupancyMultiplier(double minOccupancy, double multiplier) {
+        if (!(minOccupancy >= 0 && minOccupancy <= 1)) {
+            throw new IllegalArgumentException("The occupancy must be between 0 and 1.");
+        }
+        if (!(multiplier > 0) || Double.isInfinite(multiplier)) {
+            throw new IllegalArgumentException("The occupancy multiplier must be a positive number.");
+        }
+        int index = Arrays.binarySearch(occupancies, minOccupancy);
+        double[] newOccupancies = occupancies;
+        double[] newMultipliers = multipliers.clone();
+        if (index < 0) {
+            index = -index - 1;
+            newOccupancies = insert(occupancies, index, minOccupancy);
+            newMultipliers = insert(multipliers, index, multiplier);
+        }
+        newMultipliers[index] = multiplier;
+        return new PricingPolicy(rateTable, newOccupancies, newMultipliers, stayNights, discounts);
+    }
+
+    /**
+     * Builds the policy that results from discounting stays of at least a number of nights. A discount for the same
+     * number of nights is replaced.
+     *
+     * @param minNights The number of nights from which the discount applies.
+     * @param discount  The share of the price taken off, at least 0 and below 1.
+     * @return The new policy; this one is unchanged.
+     * @throws IllegalArgumentException If the number of nights is not positive or the discount is not at least 0 and
+     *                                  below 1.
+     */
+    public PricingPolicy withStayDiscount(int minNights, double discount) {
+        if (minNights < 1) {
+            throw new IllegalArgumentException("The number of nights must be positive.");
+        }
+        if (!(discount >= 0 && discount < 1)) {
+            throw new IllegalArgumentException("The discount must be at least 0 and below 1.");
+        }
+        int index = Arrays.binarySearch(stayNights, minNights);
+        int[] newStayNights = stayNights;
+        double[] newDiscounts = discounts.clone();
+        if (index < 0) {
+            index = -index - 1;
+            newStayNights = new int[stayNights.length + 1];
+            System.arraycopy(stayNights, 0, newStayNights, 0, index);
+            System.arraycopy(stayNights, index, newStayNights, index + 1, stayNights.length - index);
+            newStayNights[index] = minNights;
+            newDiscounts = insert(discounts, index, discount);
+        }
+        newDiscounts[index] = discount;
+        return new PricingPolicy(rateTable, occupancies, multipliers, newStayNights, newDiscounts);
+    }
+
+    /**
+     * Gets the seasonal rates.
+     *
+     * @return The rate table.
+     */
+    public RateTable getRateTable() {
+        return rateTable;
+    }
+
+    /**
+     * Gets the multiplier of the nightly rate on a night with an occupancy.
+     *
+     * @param occupancy The share of the rooms of a type that are booked.
+     * @return The multiplier, or 1 if no multiplier applies.
+     */
+    public double getOccupancyMultiplier(double occupancy) {
+        int index = Arrays.binarySearch(occupancies, occupancy);
+        index = index >= 0 ? index : -index - 2;
+        return index >= 0 ? multipliers[index] : 1.0;
+    }
+
+    /**
+     * Gets the discount of a stay.
+     *
+     * @param nights The number of nights.
+     * @return The share of the price taken off, or 0 if no discount applies.
+     */
+    public double getStayDiscount(int nights) {
+        int index = Arrays.binarySearch(stayNights, nights);
+        index = index >= 0 ? index : -index - 2;
+        return index >= 0 ? discounts[index] : 0.0;
+    }
+
+    /**
+     * Checks whether prices depend on how busy the hotel is.
+     *
+     * @return True if the policy has occupancy multipliers, otherwise false.
+     */
+    public boolean hasOccupancyMultipliers() {
+        return occupancies.length > 0;
+    }
+
+    private static double[] insert(double[] values, int index, double value) {
+        double[] inserted = new double[values.length + 1];
+        System.arraycopy(values, 0, inserted, 0, index);
+        System.arraycopy(values, index, inserted, index + 1, values.length - index);
+        inserted[index] = value;
+        return inserted;
+    }
+
+    @Override
+    public String toString() {
+        return "PricingPolicy {rates=" + rateTable.size() + ", occupancyMultipliers=" + occupancies.length
+                + ", stayDiscounts=" + stayNights.length + "}";
+    }
+}
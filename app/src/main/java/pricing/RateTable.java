@@ -0,0 +1,131 @@
+package pricing;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import model.Room.RoomType;
+import utils.EpochDays;
+
+/**
+ * RateTable holds the seasonal rates of each room type as factors of a room's own price: a factor of 1.25 on a
+ * night charges a quarter more than the room price. Nights without a rate are charged at the room price.
+ * <p>
+ * Rates are kept in the order they were set, and a later rate wins where ranges overlap, so a table can be built
+ * from a base season followed by holidays. Tables are immutable; {@link #withRate(RoomType, int, int, double)}
+ * returns a new one.
+ */
+public final class RateTable {
+
+    /**
+     * A table without rates, which charges every night at the room price.
+     */
+    public static final RateTable EMPTY = new RateTable(new int[0], new int[0], new byte[0], new double[0]);
+
+    private static final byte ALL_ROOM_TYPES = -1;
+
+    private final int[] fromDays;
+    private final int[] toDays;
+    private final byte[] roomTypes;
+    private final double[] factors;
+
+    private RateTable(int[] fromDays, int[] toDays, byte[] roomTypes, double[] factors) {
+        this.fromDays = fromDays;
+        this.toDays = toDays;
+        this.roomTypes = roomTypes;
+        this.factors = factors;
+    }
+
+    /**
+     * Builds the table that results from setting a rate over a range of nights.
+     *
+     * @param roomType The room type, or null for all rooms.
+     * @param fromDate The first night of the range.
+     * @param toDate   The day after the last night of the range.
+     * @param factor   The factor of the room price to charge.
+     * @return The new table; this one is unchanged.
+     * @throws IllegalArgumentException If the range is empty or the factor is not a positive number.
+     */
+    public RateTable withRate(RoomType roomType, Date fromDate, Date toDate, double factor) {
+        return withRate(roomType, EpochDays.of(fromDate), EpochDays.of(toDate), factor);
+    }
+
+    /**
+     * Builds the table that results from setting a rate over a range of nights.
+     *
+     * @param roomType The room type, or null for all rooms.
+     * @param fromDay  The first night of the range, as an epoch day.
+     * @param toDay    The day after the last night of the range, as an epoch day.
+     * @param factor   The factor of the room price to charge.
+     * @return The new table; this one is unchanged.
+     * @throws IllegalArgumentException If the range is empty or the factor is not a positive number.
+     */
+    public RateTable withRate(RoomType roomType, int fromDay, int toDay, double factor) {
+        if (toDay <= fromDay) {
+            throw new IllegalArgumentException("The end of the range must be after its start.");
+        }
+        if (!(factor > 0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("The rate factor must be a positive number.");
+        }
+        int size = factors.length;
+        RateTable table = new RateTable(Arrays.copyOf(fromDays, size + 1), Arrays.copyOf(toDays, size + 1),
+                Arrays.copyOf(roomTypes, size + 1), Arrays.copyOf(factors, size + 1));
+        table.fromDays[size] = fromDay;
+        table.toDays[size] = toDay;
+        table.roomTypes[size] = roomType == null ? ALL_ROOM_TYPES : (byte) roomType.ordinal();
+        table.factors[size] = factor;
+        return table;
+    }
+
+    /**
+     * Gets the rate of a room type on one night.
+     *
+     * @param roomType The room type.
+     * @param day      The night, as an epoch day.
+     * @return The factor of the room price charged that night.
+     */
+    public double getFactor(RoomType roomType, int day) {
+        for (int i = factors.length - 1; i >= 0; i--) {
+            if (appliesTo(i, roomType.ordinal()) && fromDays[i] <= day && day < toDays[i]) {
+                return factors[i];
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * Gets the number of rates set.
+     *
+     * @return The rate count.
+     */
+    public int size() {
+        return factors.length;
+    }
+
+    /**
+     * Writes the rate of a room type on consecutive nights into an array, applying the rates in order.
+     *
+     * @param roomType The ordinal of the room type.
+     * @param fromDay  The night of the first element.
+     * @param rates    The array to fill, one element per night.
+     */
+    void fill(int roomType, int fromDay, double[] rates) {
+        Arrays.fill(rates, 1.0);
+        long toDay = (long) fromDay + rates.length;
+        for (int i = 0; i < factors.length; i++) {
+            if (appliesTo(i, roomType) && fromDays[i] < toDay && toDays[i] > fromDay) {
+                int start = Math.max(fromDays[i], fromDay) - fromDay;
+                int end = (int) (Math.min(toDays[i], toDay) - fromDay);
+                Arrays.fill(rates, start, end, factors[i]);
+            }
+        }
+    }
+
+    private boolean appliesTo(int rate, int roomType) {
+        return roomTypes[rate] == ALL_ROOM_TYPES || roomTypes[rate] == roomType;
+    }
+
+    @Override
+    public String toString() {
+        return "RateTable {rates=" + factors.length + "}";
+    }
+}
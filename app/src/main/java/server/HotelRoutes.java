@@ -0,0 +1,603 @@
+package server;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import analytics.OccupancyMetrics;
+import analytics.OccupancyReport;
+import api.AdminResource;
+import export.ExportFormat;
+import export.ReservationFilter;
+import ingest.ImportError;
+import ingest.ImportReport;
+import api.HotelResource;
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import pricing.PriceQuote;
+import service.BookingResult;
+import service.Page;
+import service.RoomFilter;
+import utils.EpochDays;
+import utils.JsonParser;
+import utils.ValidationResult;
+import utils.ValidationUtils;
+
+/**
+ * HotelRoutes maps the HTTP endpoints onto {@link HotelResource} and {@link AdminResource}.
+ * <ul>
+ *   <li>{@code GET /rooms} lists all rooms, or the free ones with {@code ?checkIn=yyyy-MM-dd&checkOut=yyyy-MM-dd},
+ *       optionally narrowed by {@code roomType}, {@code minPrice}, {@code maxPrice} and {@code freeRoom}, each
+ *       with a {@code quote} of the stay under the current pricing policy;
+ *       {@code POST /rooms} adds a room; {@code GET /rooms/{roomNumber}} returns one room.</li>
+ *   <li>{@code GET /customers} lists all customers; {@code POST /customers} creates an account;
+ *       {@code GET /customers/{email}} returns one customer and {@code GET /customers/{email}/reservations}
+ *       their reservations.</li>
+ *   <li>{@code GET /reservations} lists all reservations; {@code POST /reservations} books a room;
+ *       {@code GET /reservations/export?format=csv|ndjson|binary} exports them, optionally only those overlapping
+ *       {@code from} and {@code to} dates and only for the comma-separated {@code room} numbers.</li>
+ *   <li>{@code POST /import?format=csv|ndjson|binary} bulk imports a request body in an export format and
+ *       returns the import report; bodies over the configured limit are rejected with status 413.</li>
+ *   <li>{@code GET /analytics/occupancy?from=yyyy-MM-dd&to=yyyy-MM-dd} reports the occupancy rate, ADR and RevPAR
+ *       of each room type over the nights from {@code from} up to {@code to};
+ *       {@code GET /analytics/occupancy/nightly} returns the occupancy rate of each night, optionally of one
+ *       {@code roomType}.</li>
+ * </ul>
+ * The room, customer and reservation listings are streamed in a stable order, or paged with
+ * {@code ?limit=n&cursor=c}.
+ * Request bodies are flat JSON objects. Responses are JSON streamed with chunked encoding; errors are returned
+ * as {@code {"error": message}} with a 4xx or 5xx status. Unexpected failures are logged with their cause.
+ */
+final class HotelRoutes {
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final System.Logger LOG = System.getLogger(HotelRoutes.class.getName());
+
+    private HotelRoutes() {
+    }
+
+    /**
+     * A request handler that may abort with an {@link HttpError}.
+     */
+    @FunctionalInterface
+    private interface Route {
+        void handle(HttpExchange exchange, List<String> path) throws IOException;
+    }
+
+    /**
+     * A response body written to a JSON writer.
+     */
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    static HttpHandler rooms() {
+        return handler(HotelRoutes::rooms);
+    }
+
+    static HttpHandler customers() {
+        return handler(HotelRoutes::customers);
+    }
+
+    static HttpHandler reservations() {
+        return handler(HotelRoutes::reservations);
+    }
+
+    static HttpHandler imports(long maxBodyBytes) {
+        return handler((exchange, path) -> imports(exchange, path, maxBodyBytes));
+    }
+
+    static HttpHandler analytics() {
+        return handler(HotelRoutes::analytics);
+    }
+
+    private static void rooms(HttpExchange exchange, List<String> path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.size() == 1 && method.equals("GET")) {
+            Map<String, String> query = query(exchange);
+            if (query.containsKey("checkIn") || query.containsKey("checkOut")) {
+                Date checkIn = date(query, "checkIn");
+                Date checkOut = date(query, "checkOut");
+                List<IRoom> rooms = HotelResource.findARoom(checkIn, checkOut, roomFilter(query));
+                List<PriceQuote> quotes = HotelResource.quoteRooms(rooms, checkIn, checkOut);
+                respond(exchange, 200, json -> array(json, quotes, HotelRoutes::quotedRoom));
+            } else {
+                listing(exchange, query, AdminResource::streamRooms, AdminResource::getRooms, HotelRoutes::room);
+            }
+        } else if (path.size() == 1 && method.equals("POST")) {
+            Map<String, String> body = body(exchange);
+            String roomNumber = required(body, "roomNumber");
+            RoomType roomType = roomType(required(body, "roomType"));
+            boolean freeRoom = Boolean.parseBoolean(body.get("freeRoom"));
+            Double price = freeRoom ? Double.valueOf(0.0) : number(body, "price");
+            IRoom room = freeRoom ? new FreeRoom(roomNumber, price, roomType, true) : new Room(roomNumber, price, roomType, true);
+            if (!AdminResource.addNewRoom(room)) {
+                throw new HttpError(409, "Room " + roomNumber + " already exists.");
+            }
+            respond(exchange, 201, json -> room(json, room));
+        } else if (path.size() == 2 && method.equals("GET")) {
+            IRoom room = AdminResource.getRoom(path.get(1));
+            if (room == null) {
+                throw new HttpError(404, "There is no room " + path.get(1) + ".");
+            }
+            respond(exchange, 200, json -> room(json, room));
+        } else {
+            throw notFound(exchange);
+        }
+    }
+
+    private static void customers(HttpExchange exchange, List<String> path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.size() == 1 && method.equals("GET")) {
+            listing(exchange, query(exchange), AdminResource::streamCustomers, AdminResource::getCustomers, HotelRoutes::customer);
+        } else if (path.size() == 1 && method.equals("POST")) {
+            Map<String, String> body = body(exchange);
+            String email = required(body, "email");
+            ValidationResult result = ValidationUtils.checkCustomer(body.get("firstName"), body.get("lastName"), email);
+            if (!result.isValid()) {
+                throw new HttpError(400, result.getMessage());
+            }
+            try {
+                HotelResource.createACustomer(email, body.get("firstName"), body.get("lastName"));
+            } catch (IllegalArgumentException ex) {
+                throw new HttpError(HotelResource.getCustomer(email) != null ? 409 : 400, ex.getMessage());
+            }
+            Customer customer = HotelResource.getCustomer(email);
+            respond(exchange, 201, json -> customer(json, customer));
+        } else if (path.size() == 2 && method.equals("GET")) {
+            Customer customer = existingCustomer(path.get(1));
+            respond(exchange, 200, json -> customer(json, customer));
+        } else if (path.size() == 3 && path.get(2).equals("reservations") && method.equals("GET")) {
+            existingCustomer(path.get(1));
+            Collection<Reservation> reservations = HotelResource.getCustomerReservations(path.get(1));
+            respond(exchange, 200, json -> array(json, reservations, HotelRoutes::reservation));
+        } else {
+            throw notFound(exchange);
+        }
+    }
+
+    private static void reservations(HttpExchange exchange, List<String> path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.size() == 1 && method.equals("GET")) {
+            listing(exchange, query(exchange), AdminResource::streamReservations, AdminResource::getReservations,
+                    HotelRoutes::reservation);
+        } else if (path.size() == 1 && method.equals("POST")) {
+            Map<String, String> body = body(exchange);
+            String email = required(body, "email");
+            String roomNumber = required(body, "roomNumber");
+            Date checkIn = date(body, "checkIn");
+            Date checkOut = date(body, "checkOut");
+            IRoom room = HotelResource.getRoom(roomNumber);
+            if (room == null) {
+                throw new HttpError(404, "There is no room " + roomNumber + ".");
+            }
+            BookingResult result = HotelResource.tryBookARoom(email, room, checkIn, checkOut);
+            switch (result.getStatus()) {
+                case BOOKED:
+                    respond(exchange, 201, json -> reservation(json, result.getReservation()));
+                    break;
+                case CONFLICT:
+                    throw new HttpError(409, result.getMessage());
+                default:
+                    throw new HttpError(400, result.getMessage());
+            }
+        } else if (path.size() == 2 && path.get(1).equals("export") && method.equals("GET")) {
+            export(exchange, query(exchange));
+        } else {
+            throw notFound(exchange);
+        }
+    }
+
+    private static void imports(HttpExchange exchange, List<String> path, long maxBodyBytes) throws IOException {
+        if (path.size() != 1 || !exchange.getRequestMethod().equals("POST")) {
+            throw notFound(exchange);
+        }
+        ExportFormat format = exportFormat(query(exchange).getOrDefault("format", "csv"));
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && length.chars().allMatch(Character::isDigit) && length.length() < 19
+                && Long.parseLong(length) > maxBodyBytes) {
+            throw tooLarge(maxBodyBytes);
+        }
+        ImportReport report;
+        try (InputStream in = new LimitedInputStream(exchange.getRequestBody(), maxBodyBytes)) {
+            report = AdminResource.importData(format, in);
+        }
+        respond(exchange, 200, json -> {
+            json.beginObject()
+                .name("records").value(report.getRecords())
+                .name("rooms").value(report.getRooms())
+                .name("customers").value(report.getCustomers())
+                .name("reservations").value(report.getReservations())
+                .name("errors").beginArray();
+            for (ImportError error : report.getErrors()) {
+                json.beginObject().name("record").value(error.getRecord()).name("message").value(error.getMessage()).endObject();
+            }
+            json.endArray().endObject();
+        });
+    }
+
+    private static void analytics(HttpExchange exchange, List<String> path) throws IOException {
+        if (path.size() < 2 || !path.get(1).equals("occupancy") || !exchange.getRequestMethod().equals("GET")) {
+            throw notFound(exchange);
+        }
+        Map<String, String> query = query(exchange);
+        Date from = date(query, "from");
+        Date to = date(query, "to");
+        if (path.size() == 2) {
+            OccupancyReport report = AdminResource.getOccupancyReport(from, to);
+            respond(exchange, 200, json -> {
+                json.beginObject()
+                    .name("from").value(query.get("from"))
+                    .name("to").value(query.get("to"))
+                    .name("nights").value(report.getNights())
+                    .name("total");
+                metrics(json, report.getTotal());
+                json.name("roomTypes").beginObject();
+                for (OccupancyMetrics metrics : report.getByRoomType().values()) {
+                    json.name(metrics.getRoomType().name());
+                    metrics(json, metrics);
+                }
+                json.endObject().endObject();
+            });
+        } else if (path.size() == 3 && path.get(2).equals("nightly")) {
+            RoomType roomType = query.containsKey("roomType") ? roomType(query.get("roomType")) : null;
+            double[] occupancy = AdminResource.getNightlyOccupancy(from, to, roomType);
+            respond(exchange, 200, json -> {
+                json.beginArray();
+                for (double rate : occupancy) {
+                    json.value(rate);
+                }
+                json.endArray();
+            });
+        } else {
+            throw notFound(exchange);
+        }
+    }
+
+    private static void metrics(JsonWriter json, OccupancyMetrics metrics) throws IOException {
+        json.beginObject()
+            .name("availableNights").value(metrics.getAvailableNights())
+            .name("soldNights").value(metrics.getSoldNights())
+            .name("revenue").value(metrics.getRevenue())
+            .name("occupancyRate").value(metrics.getOccupancyRate())
+            .name("adr").value(metrics.getAverageDailyRate())
+            .name("revPar").value(metrics.getRevPar())
+            .endObject();
+    }
+
+    private static void room(JsonWriter json, IRoom room) throws IOException {
+        json.beginObject()
+            .name("roomNumber").value(room.getRoomNumber())
+            .name("price").value(room.getRoomPrice())
+            .name("roomType").value(room.getRoomType().name())
+            .name("freeRoom").value(room instanceof FreeRoom)
+            .endObject();
+    }
+
+    private static void quotedRoom(JsonWriter json, PriceQuote quote) throws IOException {
+        IRoom room = quote.getRoom();
+        json.beginObject()
+            .name("roomNumber").value(room.getRoomNumber())
+            .name("price").value(room.getRoomPrice())
+            .name("roomType").value(room.getRoomType().name())
+            .name("freeRoom").value(room instanceof FreeRoom)
+            .name("quote").beginObject()
+                .name("nights").value(quote.getNights())
+                .name("subtotal").value(quote.getSubtotal())
+                .name("discount").value(quote.getDiscount())
+                .name("total").value(quote.getTotal())
+                .endObject()
+            .endObject();
+    }
+
+    private static void customer(JsonWriter json, Customer customer) throws IOException {
+        json.beginObject()
+            .name("email").value(customer.getEmail())
+            .name("firstName").value(customer.getFirstName())
+            .name("lastName").value(customer.getLastName())
+            .endObject();
+    }
+
+    private static void reservation(JsonWriter json, Reservation reservation) throws IOException {
+        json.beginObject()
+            .name("roomNumber").value(reservation.getRoom().getRoomNumber())
+            .name("email").value(reservation.getCustomer().getEmail())
+            .name("checkIn").value(LocalDate.ofEpochDay(reservation.getCheckInDay()).toString())
+            .name("checkOut").value(LocalDate.ofEpochDay(reservation.getCheckOutDay()).toString())
+            .name("nights").value(reservation.getNights())
+            .endObject();
+    }
+
+    /**
+     * Writes one element of an array.
+     */
+    @FunctionalInterface
+    private interface Element<T> {
+        void write(JsonWriter json, T value) throws IOException;
+    }
+
+    /**
+     * Responds with a full listing streamed from the live indexes, or with one page of it when the request has
+     * a {@code limit} parameter. A page response is {@code {"items": [...], "nextCursor": ...}}, where the cursor
+     * is passed back as the {@code cursor} parameter to fetch the next page.
+     */
+    private static <T> void listing(HttpExchange exchange, Map<String, String> query, Supplier<Stream<T>> all,
+                                    BiFunction<String, Integer, Page<T>> pages, Element<T> element) throws IOException {
+        if (!query.containsKey("limit")) {
+            respond(exchange, 200, json -> {
+                try (Stream<T> values = all.get()) {
+                    array(json, values::iterator, element);
+                }
+            });
+            return;
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(query.get("limit"));
+        } catch (NumberFormatException ex) {
+            throw new HttpError(400, "Invalid limit " + query.get("limit") + ".");
+        }
+        Page<T> page = pages.apply(query.get("cursor"), limit);
+        respond(exchange, 200, json -> {
+            json.beginObject().name("items");
+            array(json, page.getItems(), element);
+            json.name("nextCursor").value(page.getNextCursor()).endObject();
+        });
+    }
+
+    /**
+     * Streams a reservation export straight to the response body.
+     */
+    private static void export(HttpExchange exchange, Map<String, String> query) throws IOException {
+        ExportFormat format = exportFormat(query.getOrDefault("format", "csv"));
+        ReservationFilter filter = ReservationFilter.all();
+        if (query.containsKey("from") || query.containsKey("to")) {
+            filter = filter.between(date(query, "from"), date(query, "to"));
+        }
+        if (query.containsKey("room")) {
+            filter = filter.rooms(Arrays.asList(query.get("room").split(",")));
+        }
+        exchange.getResponseHeaders().set("Content-Type", format == ExportFormat.CSV ? "text/csv; charset=utf-8"
+                : format == ExportFormat.NDJSON ? "application/x-ndjson" : "application/octet-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            AdminResource.exportReservations(format, filter, out);
+        }
+    }
+
+    private static <T> void array(JsonWriter json, Iterable<T> values, Element<T> element) throws IOException {
+        json.beginArray();
+        for (T value : values) {
+            element.write(json, value);
+        }
+        json.endArray();
+    }
+
+    /**
+     * Wraps a route so that errors become JSON error responses and the exchange is always closed.
+     */
+    private static HttpHandler handler(Route route) {
+        return exchange -> {
+            try {
+                route.handle(exchange, path(exchange));
+            } catch (HttpError ex) {
+                error(exchange, ex.getStatus(), ex.getMessage());
+            } catch (IllegalArgumentException ex) {
+                error(exchange, 400, ex.getMessage());
+            } catch (RuntimeException ex) {
+                LOG.log(System.Logger.Level.ERROR, "Request " + exchange.getRequestMethod() + " "
+                        + exchange.getRequestURI() + " failed.", ex);
+                error(exchange, 500, "Internal error.");
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private static void respond(HttpExchange exchange, int status, Body body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, 0);
+        try (JsonWriter json = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 8192))) {
+            body.write(json);
+        }
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            return; // the response is already under way and can no longer change its status
+        }
+        String plain = message == null ? "" : message.replaceAll("\u001B\\[[0-9;]*m", "").trim();
+        respond(exchange, status, json -> json.beginObject().name("error").value(plain).endObject());
+    }
+
+    private static HttpError tooLarge(long maxBodyBytes) {
+        return new HttpError(413, "Request body is larger than " + maxBodyBytes + " bytes.");
+    }
+
+    /**
+     * Reads a request body up to a number of bytes, and aborts the request with status 413 once it would read more.
+     * A body that is streamed without a length is only rejected after the limit is read, not buffered whole.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long read;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                count(count);
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long bytes) {
+            read += bytes;
+            if (read > maxBytes) {
+                throw tooLarge(maxBytes);
+            }
+        }
+    }
+
+    private static HttpError notFound(HttpExchange exchange) {
+        return new HttpError(404, "No endpoint for " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + ".");
+    }
+
+    private static Customer existingCustomer(String email) {
+        Customer customer = HotelResource.getCustomer(email);
+        if (customer == null) {
+            throw new HttpError(404, "There is no account with this email: " + email);
+        }
+        return customer;
+    }
+
+    /**
+     * Splits the request path into decoded segments, ignoring empty ones.
+     */
+    private static List<String> path(HttpExchange exchange) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : exchange.getRequestURI().getRawPath().split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                               URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static Map<String, String> body(HttpExchange exchange) throws IOException {
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw tooLarge(MAX_BODY_BYTES);
+        }
+        return JsonParser.parseObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static String required(Map<String, String> values, String name) {
+        String value = values.get(name);
+        if (value == null || value.isBlank()) {
+            throw new HttpError(400, "Missing " + name + ".");
+        }
+        return value;
+    }
+
+    private static Date date(Map<String, String> values, String name) {
+        String value = required(values, name);
+        int day = ValidationUtils.parseIsoDay(value);
+        if (day == ValidationUtils.INVALID_DAY) {
+            throw new HttpError(400, "Invalid " + name + " " + value + ", expected yyyy-MM-dd.");
+        }
+        return EpochDays.toDate(day);
+    }
+
+    private static Double number(Map<String, String> values, String name) {
+        String value = required(values, name);
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new HttpError(400, "Invalid " + name + " " + value + ".");
+        }
+    }
+
+    /**
+     * Builds a room filter from the optional {@code roomType}, {@code minPrice}, {@code maxPrice} and
+     * {@code freeRoom} parameters.
+     */
+    private static RoomFilter roomFilter(Map<String, String> query) {
+        RoomFilter filter = RoomFilter.any();
+        if (query.containsKey("roomType")) {
+            filter = filter.roomType(roomType(query.get("roomType")));
+        }
+        if (query.containsKey("minPrice") || query.containsKey("maxPrice")) {
+            double minPrice = query.containsKey("minPrice") ? number(query, "minPrice") : 0;
+            double maxPrice = query.containsKey("maxPrice") ? number(query, "maxPrice") : Double.MAX_VALUE;
+            filter = filter.priceBetween(minPrice, maxPrice);
+        }
+        if (query.containsKey("freeRoom")) {
+            filter = filter.freeRoom(Boolean.parseBoolean(query.get("freeRoom")));
+        }
+        return filter;
+    }
+
+    private static ExportFormat exportFormat(String value) {
+        try {
+            return ExportFormat.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new HttpError(400, "Invalid format " + value + ", expected csv, ndjson or binary.");
+        }
+    }
+
+    private static RoomType roomType(String value) {
+        try {
+            return RoomType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new HttpError(400, "Invalid roomType " + value + ", expected SINGLE or DOUBLE.");
+        }
+    }
+}
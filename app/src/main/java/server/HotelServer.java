@@ -0,0 +1,120 @@
+package server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpServer;
+
+import persistence.FsyncPolicy;
+import persistence.Persistence;
+
+/**
+ * HotelServer serves the hotel API over HTTP with JSON bodies, using the JDK's built-in HTTP server.
+ * Every request runs on its own virtual thread, so thousands of concurrent requests, including ones waiting for
+ * a log commit, only cost memory rather than platform threads. See {@link HotelRoutes} for the endpoints.
+ * <p>
+ * The endpoints, including adding rooms, bulk imports, exports and analytics, are not authenticated, so
+ * {@link #main(String[])} only listens on the loopback interface unless another host is configured.
+ */
+public final class HotelServer implements Closeable {
+
+    /**
+     * The number of pending connections the operating system queues before refusing new ones.
+     */
+    public static final int BACKLOG = 4096;
+
+    /**
+     * The largest bulk import body accepted by default, in bytes.
+     */
+    public static final long DEFAULT_MAX_IMPORT_BYTES = 256L * 1024 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private HotelServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server on an address, accepting bulk imports of up to {@link #DEFAULT_MAX_IMPORT_BYTES}.
+     *
+     * @param address The address to listen on; port 0 picks a free port.
+     * @return The running server, which must be closed to stop it.
+     * @throws IOException If the address cannot be bound.
+     */
+    public static HotelServer start(InetSocketAddress address) throws IOException {
+        return start(address, DEFAULT_MAX_IMPORT_BYTES);
+    }
+
+    /**
+     * Starts a server on an address.
+     *
+     * @param address        The address to listen on; port 0 picks a free port.
+     * @param maxImportBytes The largest bulk import body accepted; larger ones are rejected with status 413.
+     * @return The running server, which must be closed to stop it.
+     * @throws IOException If the address cannot be bound.
+     */
+    public static HotelServer start(InetSocketAddress address, long maxImportBytes) throws IOException {
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/rooms", HotelRoutes.rooms());
+        server.createContext("/customers", HotelRoutes.customers());
+        server.createContext("/reservations", HotelRoutes.reservations());
+        server.createContext("/import", HotelRoutes.imports(maxImportBytes));
+        server.createContext("/analytics", HotelRoutes.analytics());
+        server.start();
+        return new HotelServer(server, executor);
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for running ones, and stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Starts the server with persistence. The host and port are read from the {@code hotel.http.host} (default
+     * the loopback address) and {@code hotel.http.port} (default 8080) system properties, and the largest import
+     * body from {@code hotel.http.maxImportBytes}; the data directory and fsync policy are configured as for
+     * {@link userInterface.MainMenu#main(String[])}.
+     *
+     * @param args command line arguments
+     * @throws IOException if the data directory cannot be opened or the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        Persistence persistence = Persistence.open(Paths.get(System.getProperty("hotel.data.dir", "data")),
+                FsyncPolicy.valueOf(System.getProperty("hotel.fsync", FsyncPolicy.ALWAYS.name())));
+        String host = System.getProperty("hotel.http.host", InetAddress.getLoopbackAddress().getHostAddress());
+        HotelServer server = start(new InetSocketAddress(host, Integer.getInteger("hotel.http.port", 8080)),
+                Long.getLong("hotel.http.maxImportBytes", DEFAULT_MAX_IMPORT_BYTES));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            try {
+                persistence.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }));
+        System.out.println("Hotel API listening on " + host + ":" + server.getPort());
+    }
+}
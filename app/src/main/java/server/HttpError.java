@@ -0,0 +1,31 @@
+package server;
+
+/**
+ * HttpError aborts a request with an HTTP status and a message that is returned to the client as JSON.
+ */
+final class HttpError extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    /**
+     * Constructs an HTTP error.
+     *
+     * @param status  The HTTP status code.
+     * @param message The message for the client.
+     */
+    HttpError(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * Gets the HTTP status code.
+     *
+     * @return The status code.
+     */
+    int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,463 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+import model.Room.RoomType;
+import utils.EpochDays;
+
+/**
+ * AvailabilityBitmap stores the occupancy of every room as a bitset with one bit per night over a rolling horizon.
+ * All bitsets live in a single flat long array, so answering "which rooms are free" is a masked OR over a few
+ * consecutive words per room instead of a comparison against every reservation.
+ * <p>
+ * Writes are synchronized. Searches do not lock: they read the arrays published by the last write of the
+ * room count and may miss a booking that is still in progress, so bookings must be confirmed against the
+ * per-room interval index. The nights and the first day of the horizon are published together as one
+ * {@link Horizon}; moving the horizon builds the shifted bitsets on the side, so a search sees either the old
+ * horizon or the new one with its nights already marked.
+ * <p>
+ * Filtered searches scan a partitioned index instead of every slot: one partition per room type and kind
+ * (paid or free of charge), each holding its slots sorted by price, so a type and price range select a few
+ * contiguous runs of slots. The partitions are rebuilt on the first filtered search after rooms change, which
+ * keeps bulk room loads linear.
+ */
+final class AvailabilityBitmap {
+
+    static final int WORDS_PER_ROOM = 12;
+    static final int HORIZON_DAYS = WORDS_PER_ROOM * Long.SIZE;
+
+    private static final Comparator<IRoom> BY_PRICE = Comparator.comparingDouble((IRoom room) -> room.getRoomPrice())
+            .thenComparing(IRoom::getRoomNumber);
+
+    private final Map<String, Integer> slotsByRoomNumber = new HashMap<>();
+    private IRoom[] rooms = new IRoom[16];
+    private volatile Horizon horizon;
+    private volatile int roomCount;
+    private volatile Partition[] partitions;
+
+    /**
+     * The occupied nights of every slot and the epoch day of the first night they start on. The array is replaced
+     * rather than shifted when the horizon moves; bookings set bits in the current array under the lock.
+     */
+    private static final class Horizon {
+
+        final int baseDay;
+        final long[] nights;
+
+        Horizon(int baseDay, long[] nights) {
+            this.baseDay = baseDay;
+            this.nights = nights;
+        }
+    }
+
+    /**
+     * Constructs an empty bitmap whose horizon starts today.
+     */
+    AvailabilityBitmap() {
+        this(EpochDays.today());
+    }
+
+    /**
+     * Constructs an empty bitmap whose horizon starts on a day.
+     *
+     * @param baseDay The epoch day of the first night of the horizon.
+     */
+    AvailabilityBitmap(int baseDay) {
+        this.horizon = new Horizon(baseDay, new long[rooms.length * WORDS_PER_ROOM]);
+    }
+
+    /**
+     * Registers a room so it takes part in availability searches. Registering a room number again replaces
+     * the room but keeps its occupied nights.
+     *
+     * @param room The room to register.
+     */
+    synchronized void addRoom(IRoom room) {
+        register(room);
+    }
+
+    /**
+     * Registers a batch of rooms, growing the arrays at most once.
+     *
+     * @param rooms The rooms to register.
+     */
+    synchronized void addRooms(Collection<IRoom> rooms) {
+        int needed = roomCount + rooms.size();
+        if (needed > this.rooms.length) {
+            int capacity = Math.max(needed, this.rooms.length * 2);
+            this.rooms = Arrays.copyOf(this.rooms, capacity);
+            horizon = new Horizon(horizon.baseDay, Arrays.copyOf(horizon.nights, capacity * WORDS_PER_ROOM));
+        }
+        for (IRoom room : rooms) {
+            register(room);
+        }
+    }
+
+    private void register(IRoom room) {
+        partitions = null;
+        Integer slot = slotsByRoomNumber.get(room.getRoomNumber());
+        if (slot != null) {
+            rooms[slot] = room;
+            return;
+        }
+        if (roomCount == rooms.length) {
+            rooms = Arrays.copyOf(rooms, roomCount * 2);
+            horizon = new Horizon(horizon.baseDay, Arrays.copyOf(horizon.nights, rooms.length * WORDS_PER_ROOM));
+        }
+        rooms[roomCount] = room;
+        slotsByRoomNumber.put(room.getRoomNumber(), roomCount);
+        roomCount++;
+    }
+
+    /**
+     * Marks the nights from check-in (inclusive) to check-out (exclusive) as occupied for a room.
+     * Nights outside the horizon are ignored; searches outside the horizon do not use the bitmap.
+     *
+     * @param roomNumber  The room number.
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     */
+    synchronized void occupy(String roomNumber, int checkInDay, int checkOutDay) {
+        mark(roomNumber, checkInDay, checkOutDay);
+    }
+
+    /**
+     * Marks the nights of a batch of reservations as occupied while holding the lock once.
+     *
+     * @param reservations The reservations to mark.
+     */
+    synchronized void occupyAll(Collection<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            mark(reservation.getRoom().getRoomNumber(), reservation.getCheckInDay(), reservation.getCheckOutDay());
+        }
+    }
+
+    private void mark(String roomNumber, int checkInDay, int checkOutDay) {
+        Integer slot = slotsByRoomNumber.get(roomNumber);
+        if (slot != null) {
+            mark(horizon, slot, checkInDay, checkOutDay);
+        }
+    }
+
+    /**
+     * Sets the bits of the nights of a stay that fall inside a horizon.
+     */
+    private static void mark(Horizon horizon, int slot, int checkInDay, int checkOutDay) {
+        int from = (int) Math.max((long) checkInDay - horizon.baseDay, 0);
+        int to = (int) Math.min((long) checkOutDay - horizon.baseDay, HORIZON_DAYS);
+        int offset = slot * WORDS_PER_ROOM;
+        for (int night = from; night < to; night++) {
+            horizon.nights[offset + (night >>> 6)] |= 1L << night;
+        }
+    }
+
+    /**
+     * Finds the rooms with no occupied night between check-in (inclusive) and check-out (exclusive).
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @return A list of free rooms, or null if the range is not inside the horizon.
+     */
+    List<IRoom> findFree(int checkInDay, int checkOutDay) {
+        int count = roomCount;
+        Horizon horizon = this.horizon;
+        int base = horizon.baseDay;
+        IRoom[] rooms = this.rooms;
+        long[] nights = horizon.nights;
+        if (checkInDay < base || checkOutDay > base + HORIZON_DAYS || checkInDay >= checkOutDay) {
+            return null;
+        }
+
+        int from = checkInDay - base;
+        int last = checkOutDay - base - 1;
+        int firstWord = from >>> 6;
+        int lastWord = last >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - (last & 63));
+
+        List<IRoom> freeRooms = new ArrayList<>();
+        for (int slot = 0; slot < count; slot++) {
+            if (isFree(nights, slot * WORDS_PER_ROOM, firstWord, lastWord, firstMask, lastMask)) {
+                freeRooms.add(rooms[slot]);
+            }
+        }
+        return freeRooms;
+    }
+
+    /**
+     * Finds the rooms that pass a filter and have no occupied night between check-in (inclusive) and check-out
+     * (exclusive). Only the slots of the matching partitions and price range are checked.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @param filter      The rooms to consider.
+     * @return A list of free rooms ordered by price and then room number, or null if the range is not inside
+     *         the horizon.
+     */
+    List<IRoom> findFree(int checkInDay, int checkOutDay, RoomFilter filter) {
+        Partition[] partitions = this.partitions;
+        if (partitions == null) {
+            partitions = buildPartitions();
+        }
+        Horizon horizon = this.horizon;
+        int base = horizon.baseDay;
+        IRoom[] rooms = this.rooms;
+        long[] nights = horizon.nights;
+        if (checkInDay < base || checkOutDay > base + HORIZON_DAYS || checkInDay >= checkOutDay) {
+            return null;
+        }
+
+        int from = checkInDay - base;
+        int last = checkOutDay - base - 1;
+        int firstWord = from >>> 6;
+        int lastWord = last >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - (last & 63));
+
+        List<IRoom> freeRooms = new ArrayList<>();
+        int partitionsUsed = 0;
+        for (RoomType type : RoomType.values()) {
+            for (boolean free : new boolean[] {false, true}) {
+                if (!filter.includes(type, free)) {
+                    continue;
+                }
+                Partition partition = partitions[partitionIndex(type, free)];
+                int end = partition.upperBound(filter.getMaxPrice());
+                int before = freeRooms.size();
+                for (int i = partition.lowerBound(filter.getMinPrice()); i < end; i++) {
+                    int slot = partition.slots[i];
+                    if (isFree(nights, slot * WORDS_PER_ROOM, firstWord, lastWord, firstMask, lastMask)) {
+                        freeRooms.add(rooms[slot]);
+                    }
+                }
+                partitionsUsed += freeRooms.size() > before ? 1 : 0;
+            }
+        }
+        if (partitionsUsed > 1) {
+            freeRooms.sort(BY_PRICE);
+        }
+        return freeRooms;
+    }
+
+    private static boolean isFree(long[] nights, int offset, int firstWord, int lastWord, long firstMask, long lastMask) {
+        long taken;
+        if (firstWord == lastWord) {
+            taken = nights[offset + firstWord] & firstMask & lastMask;
+        } else {
+            taken = (nights[offset + firstWord] & firstMask) | (nights[offset + lastWord] & lastMask);
+            for (int word = firstWord + 1; word < lastWord; word++) {
+                taken |= nights[offset + word];
+            }
+        }
+        return taken == 0;
+    }
+
+    /**
+     * Finds, in one sweep over every room, each check-in day in a window on which the room is free for a number
+     * of nights. A room's free nights are narrowed to the nights that start a free run of the requested length by
+     * repeatedly ANDing the bitset with itself shifted, doubling the run length each step, so a room costs a few
+     * word operations per step instead of one check per start day.
+     *
+     * @param fromDay The first allowed check-in epoch day.
+     * @param toDay   The last allowed check-out epoch day.
+     * @param nights  The number of nights.
+     * @return For each check-in day from fromDay, the free rooms in registration order or null if there are none;
+     *         or null if the window is not inside the horizon.
+     */
+    List<List<IRoom>> findFreeStarts(int fromDay, int toDay, int nights) {
+        int count = roomCount;
+        Horizon horizon = this.horizon;
+        int base = horizon.baseDay;
+        IRoom[] rooms = this.rooms;
+        long[] occupied = horizon.nights;
+        if (fromDay < base || toDay > base + HORIZON_DAYS || nights < 1 || fromDay + nights > toDay) {
+            return null;
+        }
+
+        int firstStart = fromDay - base;
+        int lastStart = toDay - nights - base;
+        List<List<IRoom>> starts = new ArrayList<>(Collections.nCopies(lastStart - firstStart + 1, null));
+        long[] run = new long[WORDS_PER_ROOM];
+        long[] shifted = new long[WORDS_PER_ROOM];
+        for (int slot = 0; slot < count; slot++) {
+            int offset = slot * WORDS_PER_ROOM;
+            for (int word = 0; word < WORDS_PER_ROOM; word++) {
+                run[word] = ~occupied[offset + word];
+            }
+            for (int length = 1; length < nights; ) {
+                int step = Math.min(length, nights - length);
+                shiftDown(run, step, shifted);
+                for (int word = 0; word < WORDS_PER_ROOM; word++) {
+                    run[word] &= shifted[word];
+                }
+                length += step;
+            }
+            for (int word = firstStart >>> 6; word <= lastStart >>> 6; word++) {
+                long bits = run[word];
+                while (bits != 0) {
+                    int start = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (start >= firstStart && start <= lastStart) {
+                        List<IRoom> free = starts.get(start - firstStart);
+                        if (free == null) {
+                            free = new ArrayList<>();
+                            starts.set(start - firstStart, free);
+                        }
+                        free.add(rooms[slot]);
+                    }
+                }
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Shifts a bitset so that bit i of the result is bit i + step of the source; bits past the end read as zero.
+     */
+    private static void shiftDown(long[] source, int step, long[] target) {
+        int words = step >>> 6;
+        int bits = step & 63;
+        for (int word = 0; word < target.length; word++) {
+            long low = word + words < source.length ? source[word + words] : 0L;
+            long high = word + words + 1 < source.length ? source[word + words + 1] : 0L;
+            target[word] = bits == 0 ? low : (low >>> bits) | (high << (64 - bits));
+        }
+    }
+
+    /**
+     * Rebuilds the partitioned index from the registered rooms, unless another search already did.
+     *
+     * @return The current partitions.
+     */
+    private synchronized Partition[] buildPartitions() {
+        if (partitions != null) {
+            return partitions;
+        }
+        int count = roomCount;
+        List<List<Integer>> slotsByPartition = new ArrayList<>();
+        for (int i = 0; i < RoomType.values().length * 2; i++) {
+            slotsByPartition.add(new ArrayList<>());
+        }
+        for (int slot = 0; slot < count; slot++) {
+            slotsByPartition.get(partitionIndex(rooms[slot].getRoomType(), rooms[slot] instanceof FreeRoom)).add(slot);
+        }
+
+        Partition[] built = new Partition[slotsByPartition.size()];
+        Comparator<Integer> bySlotPrice = (a, b) -> BY_PRICE.compare(rooms[a], rooms[b]);
+        for (int i = 0; i < built.length; i++) {
+            List<Integer> slots = slotsByPartition.get(i);
+            slots.sort(bySlotPrice);
+            built[i] = new Partition(slots, rooms);
+        }
+        partitions = built;
+        return built;
+    }
+
+    private static int partitionIndex(RoomType type, boolean free) {
+        return type.ordinal() * 2 + (free ? 1 : 0);
+    }
+
+    /**
+     * The slots of one room type and kind, sorted by price, with the prices alongside for binary search.
+     */
+    private static final class Partition {
+
+        final int[] slots;
+        final double[] prices;
+
+        Partition(List<Integer> sortedSlots, IRoom[] rooms) {
+            slots = new int[sortedSlots.size()];
+            prices = new double[slots.length];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = sortedSlots.get(i);
+                prices[i] = rooms[slots[i]].getRoomPrice();
+            }
+        }
+
+        /**
+         * Returns the index of the first slot priced at or above a price.
+         */
+        int lowerBound(double price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (prices[middle] < price) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index after the last slot priced at or below a price.
+         */
+        int upperBound(double price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (prices[middle] <= price) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Checks without locking whether today has passed the first word of the horizon, so that {@link #roll(Iterable)}
+     * has work to do.
+     *
+     * @return True if the horizon should move, otherwise false.
+     */
+    boolean isRollDue() {
+        return EpochDays.today() - horizon.baseDay >= Long.SIZE;
+    }
+
+    /**
+     * Moves the horizon forward by whole words once today has passed the first word, dropping elapsed nights.
+     * The shifted bitsets are built in a new array, the nights that newly enter the horizon are marked from the
+     * reservations, and only then is the new horizon published, so searches never see a half-moved horizon.
+     *
+     * @param reservations Every stored reservation; only the nights that enter the horizon are read from them.
+     * @return True if the horizon moved, otherwise false.
+     */
+    synchronized boolean roll(Iterable<Reservation> reservations) {
+        Horizon current = horizon;
+        int elapsedWords = Math.min((EpochDays.today() - current.baseDay) >> 6, WORDS_PER_ROOM);
+        if (elapsedWords <= 0) {
+            return false;
+        }
+        long[] shifted = new long[current.nights.length];
+        for (int slot = 0; slot < roomCount; slot++) {
+            int offset = slot * WORDS_PER_ROOM;
+            System.arraycopy(current.nights, offset + elapsedWords, shifted, offset, WORDS_PER_ROOM - elapsedWords);
+        }
+        Horizon rolled = new Horizon(current.baseDay + (elapsedWords << 6), shifted);
+        int keptNights = (WORDS_PER_ROOM - elapsedWords) << 6;
+        for (Reservation reservation : reservations) {
+            Integer slot = slotsByRoomNumber.get(reservation.getRoom().getRoomNumber());
+            if (slot != null && reservation.getCheckOutDay() > rolled.baseDay + keptNights) {
+                mark(rolled, slot, Math.max(reservation.getCheckInDay(), rolled.baseDay + keptNights),
+                     reservation.getCheckOutDay());
+            }
+        }
+        horizon = rolled;
+        return true;
+    }
+}
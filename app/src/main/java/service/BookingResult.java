@@ -0,0 +1,103 @@
+package service;
+
+import model.Reservation;
+
+/**
+ * BookingResult is the outcome of an atomic "check availability and insert" booking attempt.
+ * A booked result carries the new reservation; a conflict or invalid result carries a message explaining why.
+ */
+public final class BookingResult {
+
+    /**
+     * The Status enumeration represents the outcome of a booking attempt.
+     */
+    public enum Status {
+        BOOKED, CONFLICT, INVALID;
+    }
+
+    private final Status status;
+    private final Reservation reservation;
+    private final String message;
+
+    private BookingResult(Status status, Reservation reservation, String message) {
+        this.status = status;
+        this.reservation = reservation;
+        this.message = message;
+    }
+
+    /**
+     * Creates a result for a successful booking.
+     *
+     * @param reservation The reservation that was stored.
+     * @return A booked result.
+     */
+    static BookingResult booked(Reservation reservation) {
+        return new BookingResult(Status.BOOKED, reservation, "Room booked successfully");
+    }
+
+    /**
+     * Creates a result for a booking rejected because the room is taken for some of the dates.
+     *
+     * @param message The reason the booking was rejected.
+     * @return A conflict result.
+     */
+    static BookingResult conflict(String message) {
+        return new BookingResult(Status.CONFLICT, null, message);
+    }
+
+    /**
+     * Creates a result for a booking rejected because its inputs are invalid.
+     *
+     * @param message The reason the booking was rejected.
+     * @return An invalid result.
+     */
+    public static BookingResult invalid(String message) {
+        return new BookingResult(Status.INVALID, null, message);
+    }
+
+    /**
+     * Gets the status of the booking attempt.
+     *
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks if the room was booked.
+     *
+     * @return true if the booking succeeded, false otherwise
+     */
+    public boolean isBooked() {
+        return status == Status.BOOKED;
+    }
+
+    /**
+     * Gets the reservation that was stored.
+     *
+     * @return the reservation, or null if the booking did not succeed
+     */
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    /**
+     * Gets a message describing the outcome.
+     *
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns a string representation of the booking result.
+     *
+     * @return a string representation of the booking result
+     */
+    @Override
+    public String toString() {
+        return "BookingResult {status=" + status + ", message=" + message + ", reservation=" + reservation + "}";
+    }
+}
@@ -1,18 +1,28 @@
 package service;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import model.Customer;
 
 /**
  * CustomerService class provides methods to manage customers in the hotel reservation system.
- * It allows adding customers, retrieving a customer by email, and getting all customers.
+ * It allows adding customers one at a time or in batches, retrieving a customer by email, and listing customers in pages or as a stream.
  */
 public class CustomerService {
 
-    private static final Set<Customer> allCustomers = new HashSet<>();
+    private static final Map<String, Customer> customersByEmail = new ConcurrentHashMap<>();
+    private static final NavigableSet<String> sortedEmails = new ConcurrentSkipListSet<>();
+    private static final List<MutationListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Adds a new customer to the system.
@@ -24,26 +34,67 @@ public class CustomerService {
      */
     public static void addCustomer(String email, String firstName, String lastName) {
         Customer customer = new Customer(firstName, lastName, email);
-        if (allCustomers.contains(customer)) {
+        String key = normalizeEmail(email);
+        if (customersByEmail.putIfAbsent(key, customer) != null) {
             throw new IllegalArgumentException(email + " already exists.");
         }
 
-        allCustomers.add(customer);
+        try {
+            for (MutationListener listener : listeners) {
+                listener.customerAdded(customer);
+            }
+        } catch (RuntimeException ex) {
+            customersByEmail.remove(key, customer);
+            throw ex;
+        }
+        sortedEmails.add(key);
     }
 
     /**
-     * Retrieves a customer by their email.
+     * Adds a batch of customers in one step, notifying listeners once for the whole batch. Customers whose email
+     * already exists, or repeats an earlier email in the batch, are skipped rather than failing the batch.
+     *
+     * @param customers The customers to add.
+     * @return The customers that were skipped because their email already exists.
+     */
+    public static List<Customer> addCustomers(Collection<Customer> customers) {
+        List<Customer> added = new ArrayList<>(customers.size());
+        List<Customer> skipped = new ArrayList<>();
+        for (Customer customer : customers) {
+            if (customersByEmail.putIfAbsent(normalizeEmail(customer.getEmail()), customer) == null) {
+                added.add(customer);
+            } else {
+                skipped.add(customer);
+            }
+        }
+
+        try {
+            for (MutationListener listener : listeners) {
+                listener.customersAdded(added);
+            }
+        } catch (RuntimeException ex) {
+            for (Customer customer : added) {
+                customersByEmail.remove(normalizeEmail(customer.getEmail()), customer);
+            }
+            throw ex;
+        }
+        for (Customer customer : added) {
+            sortedEmails.add(normalizeEmail(customer.getEmail()));
+        }
+        return skipped;
+    }
+
+    /**
+     * Retrieves a customer by their email. The lookup ignores case.
      *
      * @param customerEmail The email of the customer.
      * @return The Customer object if found, otherwise null.
      */
     public static Customer getCustomer(String customerEmail) {
-        for (Customer customer : allCustomers) {
-            if (customer.getEmail().equals(customerEmail)) {
-                return customer;
-            }
+        if (customerEmail == null) {
+            return null;
         }
-        return null;
+        return customersByEmail.get(normalizeEmail(customerEmail));
     }
 
     /**
@@ -52,6 +103,65 @@ public class CustomerService {
      * @return A collection of all Customer objects.
      */
     public static Collection<Customer> getAllCustomers() {
-        return new HashSet<>(allCustomers);
+        return new HashSet<>(customersByEmail.values());
+    }
+
+    /**
+     * Retrieves one page of customers, ordered by lower-case email.
+     *
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of customers in the page.
+     * @return The page of customers.
+     * @throws IllegalArgumentException If the page size is not between 1 and {@link Page#MAX_PAGE_SIZE}.
+     */
+    public static Page<Customer> getCustomers(String cursor, int pageSize) {
+        return Page.of(sortedEmails, customersByEmail::get, cursor, pageSize);
+    }
+
+    /**
+     * Streams all customers ordered by lower-case email, without copying them first.
+     * Customers added while the stream is consumed may or may not be included.
+     *
+     * @return A stream of customers.
+     */
+    public static Stream<Customer> streamCustomers() {
+        return sortedEmails.stream().map(customersByEmail::get).filter(Objects::nonNull);
+    }
+
+    /**
+     * Gets the number of customers in the system.
+     *
+     * @return The customer count.
+     */
+    public static int getCustomerCount() {
+        return customersByEmail.size();
+    }
+
+    /**
+     * Registers a listener that is notified of every new customer.
+     *
+     * @param listener The listener to add.
+     */
+    public static void addMutationListener(MutationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addMutationListener(MutationListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public static void removeMutationListener(MutationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Normalizes an email into the key used by the email index, the same key {@link Customer#equals(Object)} compares.
+     *
+     * @param email The email to normalize.
+     * @return The lower-case email.
+     */
+    static String normalizeEmail(String email) {
+        return Customer.normalizeEmail(email);
     }
 }
@@ -0,0 +1,83 @@
+package service;
+
+import java.util.List;
+
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+
+/**
+ * MutationListener is notified when the services accept a new room, customer or reservation.
+ * Listeners run on the calling thread before the call returns; throwing a runtime exception aborts the mutation,
+ * which lets a listener such as a write-ahead log make every mutation durable before it is acknowledged.
+ * Rooms and customers are already visible in the service when their listener runs; reservations become visible
+ * right after, before the room's lock is released.
+ * <p>
+ * A listener that only mirrors the data, such as an analytics index, should instead be registered with
+ * {@link ReservationService#addCommitListener(MutationListener)}. It is then notified after the mutation is
+ * stored, so it never sees a mutation that another listener rolled back.
+ * <p>
+ * Bulk loads report their mutations in batches through the plural methods, which by default forward each
+ * element to the single-element method. Listeners that can handle a batch more cheaply, such as a log that
+ * waits for one commit instead of one per record, override them.
+ */
+public interface MutationListener {
+
+    /**
+     * Called when a room has been added or replaced; the change is rolled back if this method throws.
+     *
+     * @param room the room being added
+     */
+    default void roomAdded(IRoom room) {
+    }
+
+    /**
+     * Called when a customer has been accepted; the customer is removed again if this method throws.
+     *
+     * @param customer the customer being added
+     */
+    default void customerAdded(Customer customer) {
+    }
+
+    /**
+     * Called when a reservation has passed its availability check, while the room's lock is held.
+     *
+     * @param reservation the reservation being stored
+     */
+    default void reservationAdded(Reservation reservation) {
+    }
+
+    /**
+     * Called when a batch of rooms has been added or replaced; the whole batch is rolled back if this method throws.
+     *
+     * @param rooms the rooms being added
+     */
+    default void roomsAdded(List<IRoom> rooms) {
+        for (IRoom room : rooms) {
+            roomAdded(room);
+        }
+    }
+
+    /**
+     * Called when a batch of customers has been accepted; the whole batch is removed again if this method throws.
+     *
+     * @param customers the customers being added
+     */
+    default void customersAdded(List<Customer> customers) {
+        for (Customer customer : customers) {
+            customerAdded(customer);
+        }
+    }
+
+    /**
+     * Called when a batch of reservations for one room has passed its availability check, while the room's lock
+     * is held; none of them is stored if this method throws.
+     *
+     * @param reservations the reservations being stored
+     */
+    default void reservationsAdded(List<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            reservationAdded(reservation);
+        }
+    }
+}
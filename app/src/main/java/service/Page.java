@@ -0,0 +1,116 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.function.Function;
+
+/**
+ * Page is one slice of a listing in a stable order, with a cursor for fetching the slice that follows it.
+ * Each page is read from the current sorted index, or the current room catalog, rather than from a snapshot taken
+ * when paging started, so entries added while paging appear in a later page if they sort after the cursor, and no
+ * page ever repeats an entry.
+ *
+ * @param <T> The type of the entries.
+ */
+public final class Page<T> {
+
+    /**
+     * The largest number of entries a page may hold.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    private Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Reads a page from a sorted key index.
+     *
+     * @param keys     The sorted keys of the listing.
+     * @param lookup   Maps a key to its entry; keys whose entry is gone are skipped.
+     * @param cursor   The cursor of the previous page, or null for the first page.
+     * @param pageSize The maximum number of entries.
+     * @param <T>      The type of the entries.
+     * @return The page.
+     * @throws IllegalArgumentException If the page size is not between 1 and {@link #MAX_PAGE_SIZE}.
+     */
+    static <T> Page<T> of(NavigableSet<String> keys, Function<String, T> lookup, String cursor, int pageSize) {
+        checkPageSize(pageSize);
+
+        Iterator<String> remaining = (cursor == null ? keys : keys.tailSet(cursor, false)).iterator();
+        List<T> items = new ArrayList<>(Math.min(pageSize, 64));
+        String lastKey = null;
+        while (items.size() < pageSize && remaining.hasNext()) {
+            String key = remaining.next();
+            T item = lookup.apply(key);
+            if (item != null) {
+                items.add(item);
+                lastKey = key;
+            }
+        }
+        return new Page<>(Collections.unmodifiableList(items), remaining.hasNext() ? lastKey : null);
+    }
+
+    /**
+     * Wraps a slice that has already been read from a snapshot.
+     *
+     * @param items      The entries of the page, which must not change afterwards.
+     * @param nextCursor The key of the last entry if more entries follow, otherwise null.
+     * @param <T>        The type of the entries.
+     * @return The page.
+     */
+    static <T> Page<T> of(List<T> items, String nextCursor) {
+        return new Page<>(items, nextCursor);
+    }
+
+    /**
+     * Checks that a requested page size is allowed.
+     *
+     * @param pageSize The maximum number of entries.
+     * @throws IllegalArgumentException If the page size is not between 1 and {@link #MAX_PAGE_SIZE}.
+     */
+    static void checkPageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    /**
+     * Gets the entries of this page.
+     *
+     * @return An unmodifiable list of entries in listing order.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor to pass for the next page.
+     *
+     * @return The cursor, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks whether more entries follow this page.
+     *
+     * @return True if there is a next page, otherwise false.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page {items=" + items + ", nextCursor=" + nextCursor + "}";
+    }
+}
@@ -1,32 +1,153 @@
 package service;
 
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import model.Customer;
 import model.IRoom;
 import model.Reservation;
+import utils.EpochDays;
 
 /**
  * ReservationService class provides methods to manage rooms and reservations in the hotel reservation system.
  * It allows adding rooms, reserving rooms, finding available rooms, and retrieving customer reservations.
+ * <p>
+ * All methods are safe to call from multiple threads. Bookings and availability checks for a room run under
+ * one of a fixed set of striped locks chosen by room number, so different rooms can be booked in parallel
+ * while overlapping bookings for the same room are serialized and rejected. Availability checks read the
+ * per-room index without locking. Rooms are read from an immutable {@link RoomCatalog} published through a
+ * volatile reference; adding rooms builds a new catalog and swaps it in, so lookups and searches never lock.
+ * Room adds are serialized by a {@link ReentrantLock} rather than a monitor, because the listeners they notify
+ * may wait for disk writes, and a virtual thread blocked inside a monitor would pin its carrier thread.
+ * <p>
+ * Dates are handled as epoch days internally; the {@link Date} overloads convert once and delegate.
+ * <p>
+ * Bulk loads use {@link #addRooms(Collection)} and {@link #restoreReservations(List)}, which take each lock and
+ * rebuild each index once per batch rather than once per record.
  */
 public class ReservationService {
 
-    private static final Set<IRoom> allRooms = new HashSet<>();
-    private static final Set<Reservation> allReservations = new HashSet<>();
+    private static final int LOCK_STRIPES = 64;
+
+    private static final ReentrantLock catalogLock = new ReentrantLock();
+    private static volatile RoomCatalog catalog = RoomCatalog.EMPTY;
+    private static final NavigableMap<String, Reservation> reservationsByKey = new ConcurrentSkipListMap<>();
+    private static final Map<Customer, List<Reservation>> reservationsByCustomer = new ConcurrentHashMap<>();
+    private static final Map<String, RoomOccupancy> occupancyByRoom = new ConcurrentHashMap<>();
+    private static final AvailabilityBitmap availability = new AvailabilityBitmap();
+    private static final ReentrantLock[] roomLocks = new ReentrantLock[LOCK_STRIPES];
+    private static final List<MutationListener> listeners = new CopyOnWriteArrayList<>();
+    private static final List<MutationListener> commitListeners = new CopyOnWriteArrayList<>();
+
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Adds a new room to the system. A room with the same room number replaces the existing one,
+     * keeping the reservations already made for that room number.
+     *
+     * @param room The room to be added.
+     * @return The room that was replaced, or null if the room number was new.
+     */
+    public static IRoom addRoom(IRoom room) {
+        catalogLock.lock();
+        try {
+            IRoom replaced = catalog.get(room.getRoomNumber());
+            publishRoom(room);
+            return replaced;
+        } finally {
+            catalogLock.unlock();
+        }
+    }
 
     /**
-     * Adds a new room to the system.
+     * Adds a new room unless a room with the same room number exists. The check and the add happen under one
+     * lock, so of two concurrent calls for the same room number exactly one succeeds.
      *
      * @param room The room to be added.
+     * @return True if the room was added, false if its room number was taken.
+     */
+    public static boolean addRoomIfAbsent(IRoom room) {
+        catalogLock.lock();
+        try {
+            if (catalog.get(room.getRoomNumber()) != null) {
+                return false;
+            }
+            publishRoom(room);
+            return true;
+        } finally {
+            catalogLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes a catalog with the room, notifies the listeners and indexes the room. The caller must hold the
+     * catalog lock.
+     */
+    private static void publishRoom(IRoom room) {
+        RoomCatalog previous = catalog;
+        catalog = previous.withRooms(List.of(room));
+        try {
+            for (MutationListener listener : listeners) {
+                listener.roomAdded(room);
+            }
+        } catch (RuntimeException ex) {
+            catalog = previous;
+            throw ex;
+        }
+        availability.addRoom(room);
+        for (MutationListener listener : commitListeners) {
+            listener.roomAdded(room);
+        }
+    }
+
+    /**
+     * Adds a batch of rooms in one step. Listeners are notified once for the whole batch, and the room catalog and
+     * the availability index are rebuilt once. Rooms with an existing room number replace the existing room, as in
+     * {@link #addRoom(IRoom)}.
+     *
+     * @param rooms The rooms to be added; the last of several rooms with one room number wins.
      */
-    public static void addRoom(IRoom room) {
-        allRooms.add(room);
+    public static void addRooms(Collection<? extends IRoom> rooms) {
+        List<IRoom> added = new ArrayList<>(rooms);
+        catalogLock.lock();
+        try {
+            RoomCatalog previous = catalog;
+            catalog = previous.withRooms(added);
+            try {
+                for (MutationListener listener : listeners) {
+                    listener.roomsAdded(added);
+                }
+            } catch (RuntimeException ex) {
+                catalog = previous;
+                throw ex;
+            }
+            availability.addRooms(added);
+            for (MutationListener listener : commitListeners) {
+                listener.roomsAdded(added);
+            }
+        } finally {
+            catalogLock.unlock();
+        }
     }
 
     /**
@@ -36,12 +157,10 @@ public class ReservationService {
      * @return The IRoom object if found, otherwise null.
      */
     public static IRoom getARoom(String roomId) {
-        for (IRoom room : allRooms) {
-            if (room.getRoomNumber().equals(roomId)) {
-                return room;
-            }
+        if (roomId == null) {
+            return null;
         }
-        return null;
+        return catalog.get(roomId);
     }
 
     /**
@@ -53,17 +172,177 @@ public class ReservationService {
      * @param checkOutDate The check-out date.
      * @return The Reservation object for the reserved room.
      * @throws ParseException If there is an error parsing the dates.
+     * @throws IllegalArgumentException If the inputs are invalid or the room is already reserved for the dates.
      */
     public static Reservation reserveARoom(Customer customer, IRoom room, Date checkInDate, Date checkOutDate) throws ParseException {
-        Reservation reservation = new Reservation(room, customer, checkInDate, checkOutDate);
-        allReservations.add(reservation);
+        BookingResult result = tryReserveARoom(customer, room, checkInDate, checkOutDate);
+        if (!result.isBooked()) {
+            throw new IllegalArgumentException(result.getMessage());
+        }
+        return result.getReservation();
+    }
+
+    /**
+     * Atomically checks that a room is available and reserves it. The check and the insert happen under the room's
+     * lock, so two concurrent bookings of the same room for overlapping dates can never both succeed, and callers
+     * do not need to search for availability first.
+     *
+     * @param customer     The customer making the reservation.
+     * @param room         The room to be reserved.
+     * @param checkInDate  The check-in date.
+     * @param checkOutDate The check-out date.
+     * @return A booked result with the reservation, a conflict result if the room is taken, or an invalid result
+     *         if the inputs fail validation.
+     */
+    public static BookingResult tryReserveARoom(Customer customer, IRoom room, Date checkInDate, Date checkOutDate) {
+        Reservation reservation;
+        try {
+            reservation = new Reservation(room, customer, checkInDate, checkOutDate);
+        } catch (IllegalArgumentException | ParseException ex) {
+            return BookingResult.invalid(ex.getMessage());
+        }
+        return insertReservation(reservation);
+    }
 
-        if (room instanceof model.Room) {
-            ((model.Room) room).setIsFree(false);
-        } else if (room instanceof model.FreeRoom) {
-            ((model.FreeRoom) room).setIsFree(false);
+    /**
+     * Stores a reservation that was accepted earlier, for example one replayed from a persisted log.
+     * The reservation still goes through the availability check, so replaying it twice has no effect.
+     *
+     * @param reservation The reservation to restore.
+     * @return A booked result, or a conflict result if the room is already taken for the dates.
+     */
+    public static BookingResult restoreReservation(Reservation reservation) {
+        return insertReservation(reservation);
+    }
+
+    /**
+     * Stores a batch of reservations that were accepted earlier, such as those of a bulk import. The batch is
+     * sorted by room and check-in day and stored one room at a time: each room's lock is taken once, its
+     * interval index is rebuilt with a single merge, and the availability index is updated once at the end.
+     * Reservations that overlap a stored reservation, or an earlier one in the batch, are rejected as conflicts.
+     *
+     * @param reservations The reservations to restore.
+     * @return One result per reservation, in the order given.
+     */
+    public static List<BookingResult> restoreReservations(List<Reservation> reservations) {
+        Integer[] order = new Integer[reservations.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
         }
-        return reservation;
+        Arrays.parallelSort(order, Comparator.comparing((Integer i) -> reservations.get(i).getRoom().getRoomNumber())
+                                             .thenComparingInt(i -> reservations.get(i).getCheckInDay()));
+
+        BookingResult[] results = new BookingResult[order.length];
+        List<Reservation> stored = new ArrayList<>();
+        try {
+            int start = 0;
+            while (start < order.length) {
+                String roomNumber = reservations.get(order[start]).getRoom().getRoomNumber();
+                int end = start + 1;
+                while (end < order.length && reservations.get(order[end]).getRoom().getRoomNumber().equals(roomNumber)) {
+                    end++;
+                }
+                restoreRoomReservations(reservations, order, start, end, results, stored);
+                start = end;
+            }
+        } finally {
+            rollAvailability();
+            availability.occupyAll(stored);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Stores one room's share of a sorted batch under the room's lock.
+     *
+     * @param reservations The whole batch.
+     * @param order        The batch indexes sorted by room and check-in day.
+     * @param start        The first position in the order for this room.
+     * @param end          The position after the last one for this room.
+     * @param results      Receives the result of each reservation by batch index.
+     * @param stored       Receives the reservations that were stored.
+     */
+    private static void restoreRoomReservations(List<Reservation> reservations, Integer[] order, int start, int end,
+                                                BookingResult[] results, List<Reservation> stored) {
+        String roomNumber = reservations.get(order[start]).getRoom().getRoomNumber();
+        ReentrantLock lock = lockFor(roomNumber);
+        lock.lock();
+        try {
+            RoomOccupancy occupancy = occupancyByRoom.computeIfAbsent(roomNumber, key -> new RoomOccupancy());
+            List<Reservation> accepted = new ArrayList<>(end - start);
+            int[] days = new int[2 * (end - start)];
+            int lastCheckOutDay = Integer.MIN_VALUE;
+            for (int i = start; i < end; i++) {
+                Reservation reservation = reservations.get(order[i]);
+                int checkInDay = reservation.getCheckInDay();
+                int checkOutDay = reservation.getCheckOutDay();
+                if (checkInDay < lastCheckOutDay || !occupancy.isFree(checkInDay, checkOutDay)) {
+                    results[order[i]] = BookingResult.conflict("Room " + roomNumber + " is already reserved for the selected dates.");
+                    continue;
+                }
+                days[2 * accepted.size()] = checkInDay;
+                days[2 * accepted.size() + 1] = checkOutDay;
+                accepted.add(reservation);
+                lastCheckOutDay = checkOutDay;
+                results[order[i]] = BookingResult.booked(reservation);
+            }
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            for (MutationListener listener : listeners) {
+                listener.reservationsAdded(accepted);
+            }
+            occupancy.occupyAll(days, accepted.size());
+            Map<Customer, List<Reservation>> byCustomer = new HashMap<>();
+            for (Reservation reservation : accepted) {
+                reservationsByKey.put(reservationKey(roomNumber, reservation.getCheckInDay()), reservation);
+                byCustomer.computeIfAbsent(reservation.getCustomer(), key -> new ArrayList<>()).add(reservation);
+            }
+            byCustomer.forEach((customer, added) ->
+                    reservationsByCustomer.computeIfAbsent(customer, key -> new CopyOnWriteArrayList<>()).addAll(added));
+            stored.addAll(accepted);
+            for (MutationListener listener : commitListeners) {
+                listener.reservationsAdded(accepted);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks availability and inserts a validated reservation under the room's lock.
+     *
+     * @param reservation The reservation to insert.
+     * @return A booked result, or a conflict result if the room is already taken for the dates.
+     */
+    private static BookingResult insertReservation(Reservation reservation) {
+        String roomNumber = reservation.getRoom().getRoomNumber();
+        int checkInDay = reservation.getCheckInDay();
+        int checkOutDay = reservation.getCheckOutDay();
+
+        ReentrantLock lock = lockFor(roomNumber);
+        lock.lock();
+        try {
+            RoomOccupancy occupancy = occupancyByRoom.computeIfAbsent(roomNumber, key -> new RoomOccupancy());
+            if (!occupancy.isFree(checkInDay, checkOutDay)) {
+                return BookingResult.conflict("Room " + roomNumber + " is already reserved for the selected dates.");
+            }
+            for (MutationListener listener : listeners) {
+                listener.reservationAdded(reservation);
+            }
+            occupancy.occupy(checkInDay, checkOutDay);
+            reservationsByKey.put(reservationKey(roomNumber, checkInDay), reservation);
+            reservationsByCustomer.computeIfAbsent(reservation.getCustomer(), key -> new CopyOnWriteArrayList<>()).add(reservation);
+            rollAvailability();
+            availability.occupy(roomNumber, checkInDay, checkOutDay);
+            for (MutationListener listener : commitListeners) {
+                listener.reservationAdded(reservation);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return BookingResult.booked(reservation);
     }
 
     /**
@@ -74,11 +353,151 @@ public class ReservationService {
      * @return A collection of available rooms.
      */
     public static Collection<IRoom> findRooms(Date checkInDate, Date checkOutDate) {
-        return allRooms.stream()
-                        .filter(room -> isRoomAvailable(room, checkInDate, checkOutDate))
+        return findRooms(EpochDays.of(checkInDate), EpochDays.of(checkOutDate));
+    }
+
+    /**
+     * Finds available rooms for the specified check-in and check-out days.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @return A collection of available rooms.
+     */
+    public static Collection<IRoom> findRooms(int checkInDay, int checkOutDay) {
+        rollAvailability();
+        List<IRoom> freeRooms = availability.findFree(checkInDay, checkOutDay);
+        if (freeRooms != null) {
+            return freeRooms;
+        }
+        return catalog.stream()
+                        .filter(room -> isRoomAvailable(room, checkInDay, checkOutDay))
                         .collect(Collectors.toList());
     }
 
+    /**
+     * Finds available rooms that pass a filter for the specified check-in and check-out dates.
+     *
+     * @param checkInDate  The check-in date.
+     * @param checkOutDate The check-out date.
+     * @param filter       The room type, price range and kind of room to consider.
+     * @return The available rooms, ordered by price and then room number.
+     */
+    public static List<IRoom> findRooms(Date checkInDate, Date checkOutDate, RoomFilter filter) {
+        return findRooms(EpochDays.of(checkInDate), EpochDays.of(checkOutDate), filter);
+    }
+
+    /**
+     * Finds available rooms that pass a filter for the specified check-in and check-out days. The filter picks
+     * the partitions and price range of the room index to scan before any availability is checked.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @param filter      The room type, price range and kind of room to consider.
+     * @return The available rooms, ordered by price and then room number.
+     */
+    public static List<IRoom> findRooms(int checkInDay, int checkOutDay, RoomFilter filter) {
+        rollAvailability();
+        List<IRoom> freeRooms = availability.findFree(checkInDay, checkOutDay, filter);
+        if (freeRooms != null) {
+            return freeRooms;
+        }
+        return catalog.stream()
+                        .filter(filter::matches)
+                        .filter(room -> isRoomAvailable(room, checkInDay, checkOutDay))
+                        .sorted(Comparator.comparingDouble((IRoom room) -> room.getRoomPrice()).thenComparing(IRoom::getRoomNumber))
+                        .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds every check-in day on which a stay of a number of nights fits within a window, with the rooms free
+     * for it, earliest check-in first.
+     *
+     * @param fromDay The first allowed check-in epoch day; days before today are skipped.
+     * @param toDay   The last allowed check-out epoch day.
+     * @param nights  The number of nights.
+     * @param limit   The maximum number of options to return.
+     * @return The earliest options; empty if no room is free for any start day.
+     * @throws IllegalArgumentException If the stay is shorter than one night or the limit is below one.
+     */
+    public static List<StayOption> findStays(int fromDay, int toDay, int nights, int limit) {
+        return findStays(fromDay, toDay, nights, Math.max(fromDay, EpochDays.today()), limit);
+    }
+
+    /**
+     * Finds stays of the same length as the requested one with a check-in day moved by at most a number of days
+     * in either direction, with the rooms free for each. Options closest to the requested check-in day come
+     * first, then those with the most free rooms, then the earliest.
+     *
+     * @param checkInDay  The requested check-in epoch day.
+     * @param checkOutDay The requested check-out epoch day.
+     * @param flexDays    How many days the check-in may move either way.
+     * @param limit       The maximum number of options to return.
+     * @return The best options, best first; the requested dates themselves are included if any room is free.
+     * @throws IllegalArgumentException If check-in is not before check-out, the flexibility is negative or the
+     *                                  limit is below one.
+     */
+    public static List<StayOption> findStaysAround(int checkInDay, int checkOutDay, int flexDays, int limit) {
+        if (checkInDay >= checkOutDay) {
+            throw new IllegalArgumentException("Check-in date must be before check-out date.");
+        } else if (flexDays < 0) {
+            throw new IllegalArgumentException("The number of flexible days must not be negative.");
+        }
+        return findStays(checkInDay - flexDays, checkOutDay + flexDays, checkOutDay - checkInDay, checkInDay, limit);
+    }
+
+    /**
+     * Computes every feasible check-in day of a window in one sweep, from the availability bitmap when the window
+     * is inside its horizon and from the per-room interval indexes otherwise, and ranks the results.
+     */
+    private static List<StayOption> findStays(int fromDay, int toDay, int nights, int preferredDay, int limit) {
+        if (nights < 1) {
+            throw new IllegalArgumentException("A stay must be at least one night.");
+        } else if (limit < 1) {
+            throw new IllegalArgumentException("The limit must be at least one.");
+        }
+        int firstDay = Math.max(fromDay, EpochDays.today());
+        if (firstDay + nights > toDay) {
+            return new ArrayList<>();
+        }
+
+        rollAvailability();
+        List<List<IRoom>> starts = availability.findFreeStarts(firstDay, toDay, nights);
+        if (starts == null) {
+            starts = scanFreeStarts(firstDay, toDay, nights);
+        }
+        List<StayOption> options = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            List<IRoom> free = starts.get(i);
+            if (free != null) {
+                free.sort(Comparator.comparing(IRoom::getRoomNumber));
+                options.add(new StayOption(firstDay + i, nights, firstDay + i - preferredDay, free));
+            }
+        }
+        options.sort(StayOption.RANKING);
+        return new ArrayList<>(options.subList(0, Math.min(limit, options.size())));
+    }
+
+    /**
+     * Finds the free check-in days of a window room by room from the interval indexes, for windows outside the
+     * availability horizon.
+     */
+    private static List<List<IRoom>> scanFreeStarts(int fromDay, int toDay, int nights) {
+        List<List<IRoom>> starts = new ArrayList<>(Collections.nCopies(toDay - nights - fromDay + 1, null));
+        for (IRoom room : catalog.getRooms()) {
+            for (int start = fromDay; start + nights <= toDay; start++) {
+                if (isRoomAvailable(room, start, start + nights)) {
+                    List<IRoom> free = starts.get(start - fromDay);
+                    if (free == null) {
+                        free = new ArrayList<>();
+                        starts.set(start - fromDay, free);
+                    }
+                    free.add(room);
+                }
+            }
+        }
+        return starts;
+    }
+
     /**
      * Retrieves all reservations for a specific customer.
      *
@@ -86,20 +505,22 @@ public class ReservationService {
      * @return A collection of reservations for the customer.
      */
     public static Collection<Reservation> getCustomerReservation(Customer customer) {
-        return allReservations.stream()
-                              .filter(reservation -> reservation.getCustomer().equals(customer))
-                              .collect(Collectors.toList());
+        List<Reservation> reservations = customer == null ? null : reservationsByCustomer.get(customer);
+        if (reservations == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(reservations);
     }
 
     /**
      * Prints all reservations in the system.
      */
     public static void printAllReservation() {
-        if (allReservations.isEmpty()) {
+        if (reservationsByKey.isEmpty()) {
             System.out.println("\n" + "\u001B[33m" + "THERE IS NO RESERVATION ON RECORD." + "\u001B[0m");
         } else {
             System.out.println("\u001B[32m" + "\nALL RESERVATIONS:" + "\u001B[0m");
-            for (Reservation reservation : allReservations) {
+            for (Reservation reservation : reservationsByKey.values()) {
                 System.out.println(reservation);
             }
         }
@@ -111,7 +532,117 @@ public class ReservationService {
      * @return A collection of all rooms.
      */
     public static Collection<IRoom> getAllRooms() {
-        return new HashSet<>(allRooms);
+        return new HashSet<>(catalog.getRooms());
+    }
+
+    /**
+     * Retrieves all reservations in the system.
+     *
+     * @return A collection of all reservations.
+     */
+    public static Collection<Reservation> getAllReservations() {
+        return new ArrayList<>(reservationsByKey.values());
+    }
+
+    /**
+     * Retrieves one page of rooms, ordered by room number.
+     *
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of rooms in the page.
+     * @return The page of rooms.
+     * @throws IllegalArgumentException If the page size is not between 1 and {@link Page#MAX_PAGE_SIZE}.
+     */
+    public static Page<IRoom> getRooms(String cursor, int pageSize) {
+        return catalog.page(cursor, pageSize);
+    }
+
+    /**
+     * Streams all rooms ordered by room number, without copying them first.
+     * The stream reads the room catalog current when it is created, so rooms added meanwhile are not included.
+     *
+     * @return A stream of rooms.
+     */
+    public static Stream<IRoom> streamRooms() {
+        return catalog.stream();
+    }
+
+    /**
+     * Gets the current room catalog, an immutable snapshot of every room that stays consistent however rooms
+     * change afterwards.
+     *
+     * @return The room catalog.
+     */
+    public static RoomCatalog getRoomCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Gets the number of rooms in the system.
+     *
+     * @return The room count.
+     */
+    public static int getRoomCount() {
+        return catalog.size();
+    }
+
+    /**
+     * Retrieves one page of reservations, ordered by room number and then check-in date.
+     *
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The maximum number of reservations in the page.
+     * @return The page of reservations.
+     * @throws IllegalArgumentException If the page size is not between 1 and {@link Page#MAX_PAGE_SIZE}.
+     */
+    public static Page<Reservation> getReservations(String cursor, int pageSize) {
+        return Page.of(reservationsByKey.navigableKeySet(), reservationsByKey::get, cursor, pageSize);
+    }
+
+    /**
+     * Streams all reservations ordered by room number and then check-in date, without copying them first.
+     * Reservations made while the stream is consumed may or may not be included.
+     *
+     * @return A stream of reservations.
+     */
+    public static Stream<Reservation> streamReservations() {
+        return reservationsByKey.values().stream();
+    }
+
+    /**
+     * Streams the reservations of one room ordered by check-in date, without copying them first.
+     *
+     * @param roomNumber The room number.
+     * @return A stream of the room's reservations.
+     */
+    public static Stream<Reservation> streamReservations(String roomNumber) {
+        return reservationsByKey.subMap(roomNumber + '\u0000', roomNumber + '\u0001').values().stream();
+    }
+
+    /**
+     * Gets the number of reservations in the system.
+     *
+     * @return The reservation count.
+     */
+    public static int getReservationCount() {
+        return reservationsByKey.size();
+    }
+
+    /**
+     * Runs an action while no reservation is being stored, by holding every room lock.
+     * Reservations that were stored before the action starts are fully visible to it.
+     *
+     * @param action The action to run; it must not book rooms itself.
+     */
+    public static void runExclusively(Runnable action) {
+        for (ReentrantLock lock : roomLocks) {
+            lock.lock();
+        }
+        try {
+            action.run();
+        } finally {
+            for (int i = LOCK_STRIPES - 1; i >= 0; i--) {
+                roomLocks[i].unlock();
+            }
+        }
     }
 
     /**
@@ -123,16 +654,95 @@ public class ReservationService {
      * @return True if the room is available, otherwise false.
      */
     public static boolean isRoomAvailable(IRoom room, Date checkInDate, Date checkOutDate) {
-        for (Reservation reservation : allReservations) {
-            if (reservation.getRoom().equals(room)) {
-                Date reservationCheckInDate = reservation.getCheckInDate();
-                Date reservationCheckOutDate = reservation.getCheckOutDate();
+        return isRoomAvailable(room, EpochDays.of(checkInDate), EpochDays.of(checkOutDate));
+    }
 
-                if (checkInDate.before(reservationCheckOutDate) && checkOutDate.after(reservationCheckInDate)) {
-                    return false;
-                }
-            }
+    /**
+     * Checks if a room is available for the specified check-in and check-out days. The check does not lock,
+     * so a booking that is in progress may not be seen yet.
+     *
+     * @param room        The room to be checked.
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @return True if the room is available, otherwise false.
+     */
+    public static boolean isRoomAvailable(IRoom room, int checkInDay, int checkOutDay) {
+        RoomOccupancy occupancy = occupancyByRoom.get(room.getRoomNumber());
+        return occupancy == null || occupancy.isFree(checkInDay, checkOutDay);
+    }
+
+    /**
+     * Registers a listener that is notified of every new room and reservation.
+     *
+     * @param listener The listener to add.
+     */
+    public static void addMutationListener(MutationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addMutationListener(MutationListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public static void removeMutationListener(MutationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers a listener that is notified of every new room and reservation after it is stored, when no other
+     * listener can roll it back any more. The listener runs under the same lock as the mutation, so it sees the
+     * mutations of one room in order, but it must not throw.
+     *
+     * @param listener The listener to add.
+     */
+    public static void addCommitListener(MutationListener listener) {
+        commitListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addCommitListener(MutationListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public static void removeCommitListener(MutationListener listener) {
+        commitListeners.remove(listener);
+    }
+
+    /**
+     * Returns the lock stripe guarding a room number.
+     *
+     * @param roomNumber The room number.
+     * @return The lock for the room.
+     */
+    private static ReentrantLock lockFor(String roomNumber) {
+        int hash = roomNumber.hashCode();
+        return roomLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Builds the key that orders reservations by room number and then check-in day. Flipping the sign bit makes
+     * the fixed-width hex of the day sort like the signed day, and the NUL separator sorts a room number before
+     * any longer room number it is a prefix of.
+     *
+     * @param roomNumber The room number.
+     * @param checkInDay The check-in epoch day.
+     * @return The ordering key.
+     */
+    private static String reservationKey(String roomNumber, int checkInDay) {
+        String day = Integer.toHexString(checkInDay ^ Integer.MIN_VALUE);
+        return roomNumber + '\u0000' + "00000000".substring(day.length()) + day;
+    }
+
+    /**
+     * Moves the availability horizon forward if needed, marking the reservations that entered it. The check is a
+     * volatile read, so searches and bookings only lock the bitmap on the rare call that actually moves it.
+     * A reservation stored while the horizon moves is marked either by the move or by its own booking, since it
+     * is added to the reservation index before its nights are marked.
+     */
+    private static void rollAvailability() {
+        if (availability.isRollDue()) {
+            availability.roll(reservationsByKey.values());
         }
-        return true;
     }
 }
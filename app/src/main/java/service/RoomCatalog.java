@@ -0,0 +1,150 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import model.IRoom;
+
+/**
+ * RoomCatalog is an immutable snapshot of the hotel's rooms: one array of rooms sorted by room number, the room
+ * numbers alongside it for binary search, and an open-addressing hash index from room number to position.
+ * <p>
+ * Rooms are read on every search and lookup but change rarely, so {@link ReservationService} publishes the current
+ * catalog through a volatile reference. Readers on any thread get a consistent view without locking, and an update
+ * builds a new catalog with {@link #withRooms(List)} and swaps it in. Rooms are replaced, not modified in place.
+ */
+public final class RoomCatalog {
+
+    static final RoomCatalog EMPTY = new RoomCatalog(new String[0], new IRoom[0]);
+
+    private final String[] numbers;
+    private final IRoom[] rooms;
+    private final int[] positions;
+    private final List<IRoom> view;
+
+    private RoomCatalog(String[] numbers, IRoom[] rooms) {
+        this.numbers = numbers;
+        this.rooms = rooms;
+        this.positions = new int[Math.max(2, Integer.highestOneBit(Math.max(1, 2 * rooms.length - 1)) << 1)];
+        int mask = positions.length - 1;
+        for (int i = 0; i < numbers.length; i++) {
+            int slot = slot(numbers[i], mask);
+            while (positions[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            positions[slot] = i + 1;
+        }
+        this.view = Collections.unmodifiableList(Arrays.asList(rooms));
+    }
+
+    /**
+     * Looks up a room by its room number.
+     *
+     * @param roomNumber The room number.
+     * @return The room, or null if the catalog has no room with that number.
+     */
+    public IRoom get(String roomNumber) {
+        int mask = positions.length - 1;
+        for (int slot = slot(roomNumber, mask); positions[slot] != 0; slot = (slot + 1) & mask) {
+            int position = positions[slot] - 1;
+            if (numbers[position].equals(roomNumber)) {
+                return rooms[position];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of rooms.
+     *
+     * @return The room count.
+     */
+    public int size() {
+        return rooms.length;
+    }
+
+    /**
+     * Gets the rooms ordered by room number, without copying them.
+     *
+     * @return An unmodifiable list of the rooms.
+     */
+    public List<IRoom> getRooms() {
+        return view;
+    }
+
+    /**
+     * Streams the rooms ordered by room number.
+     *
+     * @return A stream of the rooms.
+     */
+    public Stream<IRoom> stream() {
+        return view.stream();
+    }
+
+    /**
+     * Reads one page of rooms ordered by room number.
+     *
+     * @param cursor   The room number the previous page ended with, or null for the first page.
+     * @param pageSize The maximum number of rooms.
+     * @return The page.
+     * @throws IllegalArgumentException If the page size is not between 1 and {@link Page#MAX_PAGE_SIZE}.
+     */
+    Page<IRoom> page(String cursor, int pageSize) {
+        Page.checkPageSize(pageSize);
+        int start = 0;
+        if (cursor != null) {
+            int found = Arrays.binarySearch(numbers, cursor);
+            start = found >= 0 ? found + 1 : -found - 1;
+        }
+        int end = (int) Math.min((long) start + pageSize, rooms.length);
+        return Page.of(view.subList(start, end), end < rooms.length ? numbers[end - 1] : null);
+    }
+
+    /**
+     * Builds the catalog that results from adding rooms to this one. A room with the number of an existing room
+     * replaces it, and of several added rooms with one number the last wins.
+     *
+     * @param added The rooms to add.
+     * @return The new catalog; this one is unchanged.
+     */
+    RoomCatalog withRooms(List<? extends IRoom> added) {
+        IRoom[] sorted = added.toArray(new IRoom[0]);
+        Arrays.sort(sorted, Comparator.comparing(IRoom::getRoomNumber));
+
+        List<IRoom> merged = new ArrayList<>(rooms.length + sorted.length);
+        int i = 0;
+        int j = 0;
+        while (i < rooms.length || j < sorted.length) {
+            if (j + 1 < sorted.length && sorted[j].getRoomNumber().equals(sorted[j + 1].getRoomNumber())) {
+                j++; // a later room with the same number wins
+                continue;
+            }
+            int order = i == rooms.length ? 1 : j == sorted.length ? -1
+                    : numbers[i].compareTo(sorted[j].getRoomNumber());
+            if (order < 0) {
+                merged.add(rooms[i++]);
+            } else {
+                merged.add(sorted[j++]);
+                if (order == 0) {
+                    i++;
+                }
+            }
+        }
+
+        IRoom[] mergedRooms = merged.toArray(new IRoom[0]);
+        String[] mergedNumbers = new String[mergedRooms.length];
+        for (int k = 0; k < mergedRooms.length; k++) {
+            mergedNumbers[k] = mergedRooms[k].getRoomNumber();
+        }
+        return new RoomCatalog(mergedNumbers, mergedRooms);
+    }
+
+    private static int slot(String roomNumber, int mask) {
+        int hash = roomNumber.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
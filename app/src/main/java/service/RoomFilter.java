@@ -0,0 +1,132 @@
+package service;
+
+import model.FreeRoom;
+import model.IRoom;
+import model.Room.RoomType;
+
+/**
+ * RoomFilter narrows a room search by room type, price range and whether the room is a free-of-charge
+ * {@link FreeRoom}. Filters are immutable; each narrowing method returns a copy. Searches use the filter to
+ * choose which partitions of the room index to scan and which price range within them, so rooms that do not
+ * match are never checked for availability.
+ */
+public final class RoomFilter {
+
+    private static final RoomFilter ANY = new RoomFilter(null, 0, Double.MAX_VALUE, null);
+
+    private final RoomType roomType;
+    private final double minPrice;
+    private final double maxPrice;
+    private final Boolean freeRoom;
+
+    private RoomFilter(RoomType roomType, double minPrice, double maxPrice, Boolean freeRoom) {
+        this.roomType = roomType;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.freeRoom = freeRoom;
+    }
+
+    /**
+     * Returns a filter that matches every room.
+     *
+     * @return The filter.
+     */
+    public static RoomFilter any() {
+        return ANY;
+    }
+
+    /**
+     * Returns a copy of this filter that only matches rooms of one type.
+     *
+     * @param roomType The room type, or null for any type.
+     * @return The narrowed filter.
+     */
+    public RoomFilter roomType(RoomType roomType) {
+        return new RoomFilter(roomType, minPrice, maxPrice, freeRoom);
+    }
+
+    /**
+     * Returns a copy of this filter that only matches rooms priced within a range, both ends included.
+     *
+     * @param minPrice The lowest price.
+     * @param maxPrice The highest price.
+     * @return The narrowed filter.
+     * @throws IllegalArgumentException If a price is negative or not a number, or the range is empty.
+     */
+    public RoomFilter priceBetween(double minPrice, double maxPrice) {
+        if (!(minPrice >= 0) || !(maxPrice >= minPrice)) {
+            throw new IllegalArgumentException("The price range must be non-negative and its minimum must not exceed its maximum.");
+        }
+        return new RoomFilter(roomType, minPrice, maxPrice, freeRoom);
+    }
+
+    /**
+     * Returns a copy of this filter that only matches free-of-charge rooms, or only paid rooms.
+     *
+     * @param freeRoom True for free rooms only, false for paid rooms only.
+     * @return The narrowed filter.
+     */
+    public RoomFilter freeRoom(boolean freeRoom) {
+        return new RoomFilter(roomType, minPrice, maxPrice, freeRoom);
+    }
+
+    /**
+     * Gets the room type this filter is limited to.
+     *
+     * @return The room type, or null if any type matches.
+     */
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    /**
+     * Gets the lowest matching price.
+     *
+     * @return The minimum price.
+     */
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    /**
+     * Gets the highest matching price.
+     *
+     * @return The maximum price.
+     */
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     * Gets whether this filter is limited to free or paid rooms.
+     *
+     * @return True for free rooms only, false for paid rooms only, or null if both match.
+     */
+    public Boolean getFreeRoom() {
+        return freeRoom;
+    }
+
+    /**
+     * Checks whether a room passes this filter.
+     *
+     * @param room The room.
+     * @return True if the room matches.
+     */
+    public boolean matches(IRoom room) {
+        double price = room.getRoomPrice();
+        return (roomType == null || room.getRoomType() == roomType)
+               && (freeRoom == null || (room instanceof FreeRoom) == freeRoom)
+               && price >= minPrice && price <= maxPrice;
+    }
+
+    /**
+     * Checks whether rooms of a type and kind can pass this filter.
+     *
+     * @param type The room type.
+     * @param free True for free-of-charge rooms.
+     * @return True if some rooms of the partition may match.
+     */
+    boolean includes(RoomType type, boolean free) {
+        return (roomType == null || roomType == type) && (freeRoom == null || freeRoom == free);
+    }
+}
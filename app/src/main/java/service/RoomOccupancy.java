@@ -0,0 +1,123 @@
+package service;
+
+import java.util.Arrays;
+
+/**
+ * RoomOccupancy keeps the occupied nights of a single room as a sorted set of non-overlapping intervals of epoch
+ * days. Overlapping or touching reservations are merged on insert, so an overlap check only needs to look at
+ * the interval that starts closest before the requested check-out day.
+ * <p>
+ * The intervals are stored in one int array of start and end pairs that is replaced, never modified, on insert.
+ * Checks read the current array without locking; inserts must be serialized by the caller, which
+ * ReservationService does with the room's lock.
+ */
+final class RoomOccupancy {
+
+    private static final int[] EMPTY = new int[0];
+
+    private volatile int[] intervals = EMPTY;
+
+    /**
+     * Marks the nights from check-in (inclusive) to check-out (exclusive) as occupied.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     */
+    void occupy(int checkInDay, int checkOutDay) {
+        int[] current = intervals;
+        int start = checkInDay;
+        int end = checkOutDay;
+
+        int first = firstStartAfter(current, start);
+        if (first > 0 && current[2 * first - 1] >= start) {
+            first--;
+            start = current[2 * first];
+            end = Math.max(end, current[2 * first + 1]);
+        }
+        int last = first;
+        while (last < current.length / 2 && current[2 * last] <= end) {
+            end = Math.max(end, current[2 * last + 1]);
+            last++;
+        }
+
+        int[] next = new int[current.length - 2 * (last - first) + 2];
+        System.arraycopy(current, 0, next, 0, 2 * first);
+        next[2 * first] = start;
+        next[2 * first + 1] = end;
+        System.arraycopy(current, 2 * last, next, 2 * first + 2, current.length - 2 * last);
+        intervals = next;
+    }
+
+    /**
+     * Marks several stays as occupied with a single merge and one copy of the interval array, instead of one copy
+     * per stay.
+     *
+     * @param days  Check-in and check-out day pairs, sorted by check-in day.
+     * @param count The number of pairs to use.
+     */
+    void occupyAll(int[] days, int count) {
+        int[] current = intervals;
+        int currentCount = current.length / 2;
+        int[] next = new int[current.length + 2 * count];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < currentCount || j < count) {
+            int start;
+            int end;
+            if (j == count || (i < currentCount && current[2 * i] <= days[2 * j])) {
+                start = current[2 * i];
+                end = current[2 * i + 1];
+                i++;
+            } else {
+                start = days[2 * j];
+                end = days[2 * j + 1];
+                j++;
+            }
+            if (size > 0 && next[size - 1] >= start) {
+                next[size - 1] = Math.max(next[size - 1], end);
+            } else {
+                next[size++] = start;
+                next[size++] = end;
+            }
+        }
+        intervals = size == next.length ? next : Arrays.copyOf(next, size);
+    }
+
+    /**
+     * Checks whether the nights from check-in (inclusive) to check-out (exclusive) are free.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @return True if no occupied interval overlaps the range, otherwise false.
+     */
+    boolean isFree(int checkInDay, int checkOutDay) {
+        int[] current = intervals;
+        int candidate = firstStartAtOrAfter(current, checkOutDay) - 1;
+        return candidate < 0 || checkInDay >= current[2 * candidate + 1];
+    }
+
+    /**
+     * Returns the index of the first interval starting after a day, or the interval count if there is none.
+     */
+    private static int firstStartAfter(int[] intervals, int day) {
+        return firstStartAtOrAfter(intervals, day + 1);
+    }
+
+    /**
+     * Returns the index of the first interval starting on or after a day, or the interval count if there is none.
+     */
+    private static int firstStartAtOrAfter(int[] intervals, int day) {
+        int low = 0;
+        int high = intervals.length / 2;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (intervals[2 * middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
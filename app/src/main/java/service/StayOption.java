@@ -0,0 +1,106 @@
+package service;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import model.IRoom;
+import utils.EpochDays;
+
+/**
+ * StayOption is one result of a flexible search: a check-in day, the stay length, and the rooms that are free
+ * for every night of it. Options are ranked by how far they move the stay from the preferred check-in day, see
+ * {@link ReservationService#findStaysAround(int, int, int, int)}.
+ */
+public final class StayOption {
+
+    /**
+     * Orders options by the smallest shift from the preferred check-in day, then by the most free rooms, then
+     * by the earliest check-in day.
+     */
+    static final Comparator<StayOption> RANKING = Comparator.comparingInt((StayOption option) -> Math.abs(option.shiftDays))
+            .thenComparing(Comparator.comparingInt((StayOption option) -> option.rooms.size()).reversed())
+            .thenComparingInt(option -> option.checkInDay);
+
+    private final int checkInDay;
+    private final int nights;
+    private final int shiftDays;
+    private final List<IRoom> rooms;
+
+    StayOption(int checkInDay, int nights, int shiftDays, List<IRoom> rooms) {
+        this.checkInDay = checkInDay;
+        this.nights = nights;
+        this.shiftDays = shiftDays;
+        this.rooms = Collections.unmodifiableList(rooms);
+    }
+
+    /**
+     * Gets the check-in epoch day.
+     *
+     * @return The check-in day.
+     */
+    public int getCheckInDay() {
+        return checkInDay;
+    }
+
+    /**
+     * Gets the check-out epoch day.
+     *
+     * @return The check-out day.
+     */
+    public int getCheckOutDay() {
+        return checkInDay + nights;
+    }
+
+    /**
+     * Gets the check-in date.
+     *
+     * @return A new Date for the start of the check-in day.
+     */
+    public Date getCheckIn() {
+        return EpochDays.toDate(checkInDay);
+    }
+
+    /**
+     * Gets the check-out date.
+     *
+     * @return A new Date for the start of the check-out day.
+     */
+    public Date getCheckOut() {
+        return EpochDays.toDate(getCheckOutDay());
+    }
+
+    /**
+     * Gets the number of nights.
+     *
+     * @return The stay length.
+     */
+    public int getNights() {
+        return nights;
+    }
+
+    /**
+     * Gets how many days the check-in is moved from the preferred check-in day.
+     *
+     * @return The shift, negative for an earlier check-in.
+     */
+    public int getShiftDays() {
+        return shiftDays;
+    }
+
+    /**
+     * Gets the rooms that are free for the whole stay, in room number order.
+     *
+     * @return The free rooms.
+     */
+    public List<IRoom> getRooms() {
+        return rooms;
+    }
+
+    @Override
+    public String toString() {
+        return "StayOption {checkIn=" + getCheckIn() + ", checkOut=" + getCheckOut() + ", nights=" + nights
+               + ", shiftDays=" + shiftDays + ", rooms=" + rooms.size() + "}";
+    }
+}
@@ -73,11 +73,11 @@ public class AdminMenu {
      * Displays all customers.
      */
     public static void seeAllCustomers() {
-        if (AdminResource.getAllCustomers() == null || AdminResource.getAllCustomers().isEmpty()) {
+        if (AdminResource.getCustomerCount() == 0) {
             System.out.println("\n" + "\u001B[33m" + "THERE IS NO CUSTOMER ON RECORD." + "\u001B[0m");
         } else {
             System.out.println("\u001B[32m" + "\nALL CUSTOMERS:" + "\u001B[0m");
-            AdminResource.getAllCustomers().forEach(System.out::println);
+            AdminResource.streamCustomers().forEach(System.out::println);
         }
     }
 
@@ -85,11 +85,11 @@ public class AdminMenu {
      * Displays all rooms.
      */
     public static void seeAllRooms() {
-        if (AdminResource.getAllRooms() == null || AdminResource.getAllRooms().isEmpty()) {
+        if (AdminResource.getRoomCount() == 0) {
             System.out.println("\n" + "\u001B[33m" + "THERE IS NO ROOM ON RECORD." + "\u001B[0m");
         } else {
             System.out.println("\u001B[32m" + "\nALL ROOMS" + "\u001B[0m");
-            AdminResource.getAllRooms().forEach(System.out::println);
+            AdminResource.streamRooms().forEach(System.out::println);
         }
     }
 
@@ -130,7 +130,7 @@ public class AdminMenu {
 
                 Room room = new Room(roomNumber, pricePerNight, roomType, true);
 
-                if (rooms.contains(room)) {
+                if (rooms.contains(room) || AdminResource.getRoom(roomNumber) != null) {
                     System.out.println("\nRoom #" + roomNumber + " already exists. Do you want to override it? (y/n)");
                     String overrideSelection = scanner.nextLine();
 
@@ -1,14 +1,22 @@
 package userInterface;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.text.ParseException;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Scanner;
 
 import api.AdminResource;
 import api.HotelResource;
 import model.IRoom;
-import service.ReservationService;
+import persistence.FsyncPolicy;
+import persistence.Persistence;
+import pricing.PriceQuote;
+import service.BookingResult;
+import service.StayOption;
 import utils.ValidationUtils;
 
 /**
@@ -19,9 +27,22 @@ public class MainMenu {
 
     /**
      * Main method to launch the application.
+     * Data is kept in the directory named by the {@code hotel.data.dir} system property (default {@code data}),
+     * and the {@code hotel.fsync} property selects the {@link FsyncPolicy} (default {@code ALWAYS}).
      * @param args command line arguments
+     * @throws IOException if the data directory cannot be opened
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        Persistence persistence = Persistence.open(Paths.get(System.getProperty("hotel.data.dir", "data")),
+                FsyncPolicy.valueOf(System.getProperty("hotel.fsync", FsyncPolicy.ALWAYS.name())));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                persistence.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }));
+
         displayAndProcessMainMenu();
     }
 
@@ -101,7 +122,7 @@ public class MainMenu {
                 } else {
                     System.out.println("\nAVAILABLE ROOMS:");
 
-                    availableRooms.forEach(System.out::println);
+                    printQuotedRooms(availableRooms, checkInDate, checkOutDate);
                     System.out.println("\n");
     
                     System.out.println("Would you like to book a room? y/n");
@@ -121,25 +142,16 @@ public class MainMenu {
                             } else {
                                 System.out.println("\nAVAILABLE ROOMS:");
                                 
-                                availableRooms.forEach(System.out::println);
+                                printQuotedRooms(availableRooms, checkInDate, checkOutDate);
                                 System.out.println("\n");
 
                                 System.out.println("What room would you like to reserve?:");
                                 String roomNumber = scanner.nextLine();
                                 
-                                IRoom iRoomNumber = HotelResource.getRoom(roomNumber);
-                                if (iRoomNumber != null && ReservationService.isRoomAvailable(iRoomNumber, checkInDate, checkOutDate)) {
-                                    HotelResource.bookARoom(email, iRoomNumber, checkInDate, checkOutDate);
-                                    System.out.println("\u001B[32m" + "Room booked successfully" + "\u001B[0m");
-
-                                    System.out.println(HotelResource.bookARoom(email, iRoomNumber, checkInDate, checkOutDate));
+                                if (bookRoom(email, roomNumber, checkInDate, checkOutDate)) {
                                     System.out.println("\n");
-                                    
-                                    keepRunning = false;
-                                } else {
-                                    System.out.println("The room is not available");
-                                    keepRunning = false;
                                 }
+                                keepRunning = false;
                             }
                         } else if (customerAccountSelection.equalsIgnoreCase("n")) {
                             createAnAccount(scanner);
@@ -151,19 +163,8 @@ public class MainMenu {
                             System.out.println("What room would you like to reserve?:");
                             String roomNumber = scanner.nextLine();
 
-                            IRoom room = HotelResource.getRoom(roomNumber);
-
-                            if (room != null && ReservationService.isRoomAvailable(room, checkInDate, checkOutDate)) {
-                                HotelResource.bookARoom(email, room, checkInDate, checkOutDate);
-                                System.out.println("\u001B[32m" + "Room booked successfully" + "\u001B[0m");
-                                System.out.println(HotelResource.bookARoom(email, room, checkInDate, checkOutDate));
-                                
-                                keepRunning = false;
-
-                            } else {
-                                System.out.println("The room is not available");
-                                keepRunning = false;
-                            }
+                            bookRoom(email, roomNumber, checkInDate, checkOutDate);
+                            keepRunning = false;
 
                         }
                     } else if (bookRoomSelection.equalsIgnoreCase("n")) {
@@ -178,6 +179,31 @@ public class MainMenu {
     }
     
 
+    /**
+     * Books a room once and prints the outcome. Availability is checked atomically by the booking itself.
+     * @param email the email of the customer
+     * @param roomNumber the room number to book
+     * @param checkInDate the check-in date
+     * @param checkOutDate the check-out date
+     * @return true if the room was booked, false otherwise
+     */
+    private static boolean bookRoom(String email, String roomNumber, Date checkInDate, Date checkOutDate) {
+        IRoom room = HotelResource.getRoom(roomNumber);
+        if (room == null) {
+            System.out.println("\u001B[31m" + "The room is not available" + "\u001B[0m");
+            return false;
+        }
+
+        BookingResult result = HotelResource.tryBookARoom(email, room, checkInDate, checkOutDate);
+        if (!result.isBooked()) {
+            System.out.println("\u001B[31m" + result.getMessage() + "\u001B[0m");
+            return false;
+        }
+        System.out.println("\u001B[32m" + "Room booked successfully" + "\u001B[0m");
+        System.out.println(result.getReservation());
+        return true;
+    }
+
     // selection 2: See my reservation
     public static void seeMyReservation(Scanner scanner) {
         boolean keepRunning = true;
@@ -243,7 +269,7 @@ public class MainMenu {
     }
 
     /**
-     * Suggests alternative dates for room reservation.
+     * Suggests alternative dates for room reservation, moving the stay up to a week earlier or later, closest first.
      * @param scanner the scanner to read user input
      * @param originalCheckIn the original check-in date
      * @param originalCheckOut the original check-out date
@@ -251,20 +277,18 @@ public class MainMenu {
      */
     private static void suggestAlternativeDates(Scanner scanner, Date originalCheckIn, Date originalCheckOut) throws ParseException {
 
-        Date alternativeCheckIn = new Date(originalCheckIn.getTime());
-        Date alternativeCheckOut = new Date(originalCheckOut.getTime());
-        
-        boolean foundAlternative = false;
         int alternateDaysToLook = 7;
-    
-        for (int i=1; i<=alternateDaysToLook; i++) {
-    
-            alternativeCheckIn = new Date(originalCheckIn.getTime() + (1000 * 60 * 60 * 24 * i));
-            alternativeCheckOut = new Date(originalCheckOut.getTime() + (1000 * 60 * 60 * 24 * i));
+        List<StayOption> alternatives = HotelResource.findStaysAround(originalCheckIn, originalCheckOut,
+                alternateDaysToLook, alternateDaysToLook * 2);
+        boolean foundAlternative = false;
 
-            Collection<IRoom> availableRooms = HotelResource.findARoom(alternativeCheckIn, alternativeCheckOut);
-    
-            if (!availableRooms.isEmpty()) {
+        for (StayOption alternative : alternatives) {
+
+            Date alternativeCheckIn = alternative.getCheckIn();
+            Date alternativeCheckOut = alternative.getCheckOut();
+            Collection<IRoom> availableRooms = alternative.getRooms();
+
+            if (alternative.getShiftDays() != 0) {
                 foundAlternative = true;
                 
                 System.out.println("\u001B[33m" + "\nAlternative available dates found: " + "\u001B[0m");
@@ -273,7 +297,7 @@ public class MainMenu {
     
                 System.out.println("\nAVAILABLE ROOMS:");
     
-                availableRooms.forEach(System.out::println);
+                printQuotedRooms(availableRooms, alternativeCheckIn, alternativeCheckOut);
     
                 System.out.println("\nWould you like to book a room for these dates? y/n");
                 String bookRoomSelection = scanner.nextLine();
@@ -294,24 +318,14 @@ public class MainMenu {
                         } else {
     
                             System.out.println("\nAVAILABLE ROOMS:");
-                            availableRooms.forEach(System.out::println);
+                            printQuotedRooms(availableRooms, alternativeCheckIn, alternativeCheckOut);
                             System.out.println("\n");
     
                             System.out.println("What room would you like to reserve?:");
                             String roomNumber = scanner.nextLine();
     
-                            IRoom iRoomNumber = HotelResource.getRoom(roomNumber);
-    
-                            if (iRoomNumber != null && ReservationService.isRoomAvailable(iRoomNumber, alternativeCheckIn, alternativeCheckOut)) {
-    
-                                HotelResource.bookARoom(email, iRoomNumber, alternativeCheckIn, alternativeCheckOut);
-                                System.out.println("\u001B[32m" + "Room booked successfully" + "\u001B[0m");
-    
-                                System.out.println(HotelResource.bookARoom(email, iRoomNumber, alternativeCheckIn, alternativeCheckOut));
+                            if (bookRoom(email, roomNumber, alternativeCheckIn, alternativeCheckOut)) {
                                 return;
-    
-                            } else {
-                                System.out.println("\u001B[31m" + "The room is not available" + "\u001B[0m");
                             }
                         }
                     } else if (customerAccountSelection.equalsIgnoreCase("n")) {
@@ -326,26 +340,28 @@ public class MainMenu {
                         System.out.println("What room would you like to reserve?:");
                         String roomNumber = scanner.nextLine();
     
-                        IRoom room = HotelResource.getRoom(roomNumber);
-    
-                        if (room != null && ReservationService.isRoomAvailable(room, alternativeCheckIn, alternativeCheckOut)) {
-    
-                            HotelResource.bookARoom(email, room, alternativeCheckIn, alternativeCheckOut);
-    
-                            System.out.println("\u001B[32m" + "Room booked successfully" + "\u001B[0m");
-                            System.out.println(HotelResource.bookARoom(email, room, alternativeCheckIn, alternativeCheckOut));
-    
+                        if (bookRoom(email, roomNumber, alternativeCheckIn, alternativeCheckOut)) {
                             return;
-
-                        } else {
-                            System.out.println("\u001B[31m" + "The room is not available" + "\u001B[0m");
                         }
                     }
                 }
             }
         }
         if (!foundAlternative) {
-            System.out.println("\u001B[31m" + "No rooms available within " + alternateDaysToLook + " days after the selected dates." + "\u001B[0m");
+            System.out.println("\u001B[31m" + "No rooms available within " + alternateDaysToLook + " days of the selected dates." + "\u001B[0m");
+        }
+    }
+
+    /**
+     * Prints rooms with their price for a stay under the current pricing policy.
+     *
+     * @param rooms    The rooms to print.
+     * @param checkIn  The check-in date.
+     * @param checkOut The check-out date.
+     */
+    private static void printQuotedRooms(Collection<IRoom> rooms, Date checkIn, Date checkOut) {
+        for (PriceQuote quote : HotelResource.quoteRooms(rooms, checkIn, checkOut)) {
+            System.out.println(quote.getRoom() + String.format(" total for %d nights: $%.2f", quote.getNights(), quote.getTotal()));
         }
     }
 }
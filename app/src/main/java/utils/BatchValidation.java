@@ -0,0 +1,83 @@
+package utils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BatchValidation is the outcome of validating a batch with {@link BatchValidator}: the number of records checked
+ * and the violations of every invalid record, ordered by record index.
+ */
+public final class BatchValidation {
+
+    private final int records;
+    private final List<RecordViolations> violations;
+
+    BatchValidation(int records, List<RecordViolations> violations) {
+        this.records = records;
+        this.violations = Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * Checks whether every record in the batch passed.
+     *
+     * @return True if no record has a violation, otherwise false.
+     */
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * Gets the number of records checked.
+     *
+     * @return The record count.
+     */
+    public int getRecords() {
+        return records;
+    }
+
+    /**
+     * Gets the number of records with at least one violation.
+     *
+     * @return The invalid record count.
+     */
+    public int getInvalidRecords() {
+        return violations.size();
+    }
+
+    /**
+     * Gets the violations of every invalid record, ordered by record index.
+     *
+     * @return The violations.
+     */
+    public List<RecordViolations> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Gets the rules one record breaks.
+     *
+     * @param index The zero-based record index.
+     * @return The errors of the record, or an empty list if it is valid.
+     */
+    public List<ValidationResult> getErrors(int index) {
+        int low = 0;
+        int high = violations.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int candidate = violations.get(middle).getIndex();
+            if (candidate < index) {
+                low = middle + 1;
+            } else if (candidate > index) {
+                high = middle - 1;
+            } else {
+                return violations.get(middle).getErrors();
+            }
+        }
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d records invalid", violations.size(), records);
+    }
+}
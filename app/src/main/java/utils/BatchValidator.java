@@ -0,0 +1,234 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.Customer;
+import model.IRoom;
+import model.Room.RoomType;
+
+/**
+ * BatchValidator checks whole batches of customer, room and reservation candidates against the rules of
+ * {@link ValidationUtils}, which the model constructors use too, but reports every rule each record breaks instead
+ * of stopping at the first one, and never throws for bad input.
+ * <p>
+ * Large batches are split into ranges of {@link #SEQUENTIAL_THRESHOLD} records that are checked in parallel on the
+ * common {@link ForkJoinPool}; smaller batches are checked on the calling thread. Violations are returned in record
+ * order either way.
+ */
+public final class BatchValidator {
+
+    /**
+     * The number of records below which a batch, or a part of one, is checked without forking.
+     */
+    static final int SEQUENTIAL_THRESHOLD = 512;
+
+    private BatchValidator() {
+    }
+
+    /**
+     * The raw fields of a customer that may not be valid yet.
+     */
+    public static final class CustomerCandidate {
+
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+
+        /**
+         * Constructs a customer candidate.
+         *
+         * @param firstName The first name.
+         * @param lastName  The last name.
+         * @param email     The email address.
+         */
+        public CustomerCandidate(String firstName, String lastName, String email) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+        }
+    }
+
+    /**
+     * The raw fields of a room that may not be valid yet.
+     */
+    public static final class RoomCandidate {
+
+        private final String roomNumber;
+        private final Double roomPrice;
+        private final RoomType roomType;
+        private final Boolean isFree;
+
+        /**
+         * Constructs a room candidate.
+         *
+         * @param roomNumber The room number.
+         * @param roomPrice  The price per night.
+         * @param roomType   The room type.
+         * @param isFree     The availability status of the room.
+         */
+        public RoomCandidate(String roomNumber, Double roomPrice, RoomType roomType, Boolean isFree) {
+            this.roomNumber = roomNumber;
+            this.roomPrice = roomPrice;
+            this.roomType = roomType;
+            this.isFree = isFree;
+        }
+    }
+
+    /**
+     * The parts of a reservation that may not be valid yet.
+     */
+    public static final class ReservationCandidate {
+
+        private final IRoom room;
+        private final Customer customer;
+        private final Date checkInDate;
+        private final Date checkOutDate;
+
+        /**
+         * Constructs a reservation candidate.
+         *
+         * @param room         The room.
+         * @param customer     The customer.
+         * @param checkInDate  The check-in date.
+         * @param checkOutDate The check-out date.
+         */
+        public ReservationCandidate(IRoom room, Customer customer, Date checkInDate, Date checkOutDate) {
+            this.room = room;
+            this.customer = customer;
+            this.checkInDate = checkInDate;
+            this.checkOutDate = checkOutDate;
+        }
+    }
+
+    /**
+     * Checks one record, adding every rule it breaks to a list.
+     *
+     * @param <T> The type of the records.
+     */
+    @FunctionalInterface
+    public interface RecordCheck<T> {
+
+        /**
+         * Checks one record. The check may run on any thread of the pool, so it must only touch the record.
+         *
+         * @param record The record to check.
+         * @param errors The list to add every broken rule to.
+         */
+        void check(T record, List<ValidationResult> errors);
+    }
+
+    /**
+     * Validates a batch of customers: names and email must not be empty, and the email must have a valid format.
+     *
+     * @param customers The customers to check.
+     * @return The violations of every invalid customer.
+     */
+    public static BatchValidation validateCustomers(List<CustomerCandidate> customers) {
+        return validate(customers, BatchValidator::checkCustomer);
+    }
+
+    /**
+     * Validates a batch of rooms: the room number must not be empty, and the price, type and availability must be
+     * given.
+     *
+     * @param rooms The rooms to check.
+     * @return The violations of every invalid room.
+     */
+    public static BatchValidation validateRooms(List<RoomCandidate> rooms) {
+        return validate(rooms, BatchValidator::checkRoom);
+    }
+
+    /**
+     * Validates a batch of reservations: the room, customer and dates must be given, and check-in must come before
+     * check-out.
+     *
+     * @param reservations The reservations to check.
+     * @param allowPast    Whether stays may start before today, as when restoring history; new bookings may not.
+     * @return The violations of every invalid reservation.
+     */
+    public static BatchValidation validateReservations(List<ReservationCandidate> reservations, boolean allowPast) {
+        int firstDay = allowPast ? Integer.MIN_VALUE : EpochDays.today();
+        return validate(reservations, (reservation, errors) -> checkReservation(reservation, firstDay, errors));
+    }
+
+    /**
+     * Checks every record of a batch, in parallel if the batch is large, such as the records of a bulk import.
+     *
+     * @param <T>     The type of the records.
+     * @param records The records to check.
+     * @param check   The check of one record.
+     * @return The violations of every invalid record.
+     */
+    public static <T> BatchValidation validate(List<T> records, RecordCheck<T> check) {
+        List<T> indexed = records instanceof RandomAccess ? records : new ArrayList<>(records);
+        ValidationTask<T> task = new ValidationTask<>(indexed, check, 0, indexed.size());
+        List<RecordViolations> violations = indexed.size() <= SEQUENTIAL_THRESHOLD
+                ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+        return new BatchValidation(indexed.size(), violations);
+    }
+
+    private static void checkCustomer(CustomerCandidate customer, List<ValidationResult> errors) {
+        ValidationUtils.checkCustomer(customer.firstName, customer.lastName, customer.email, errors);
+    }
+
+    private static void checkRoom(RoomCandidate room, List<ValidationResult> errors) {
+        ValidationUtils.checkRoom(room.roomNumber, room.roomPrice, room.roomType, room.isFree, errors);
+    }
+
+    private static void checkReservation(ReservationCandidate reservation, int firstDay, List<ValidationResult> errors) {
+        ValidationUtils.checkReservation(reservation.room, reservation.customer, reservation.checkInDate,
+                reservation.checkOutDate, errors);
+        if (reservation.checkInDate != null && reservation.checkOutDate != null) {
+            ValidationUtils.checkStayDates(EpochDays.of(reservation.checkInDate),
+                    EpochDays.of(reservation.checkOutDate), firstDay, errors);
+        }
+    }
+
+    /**
+     * Checks a range of records, splitting it in halves until the halves are small enough to check directly.
+     */
+    private static final class ValidationTask<T> extends RecursiveTask<List<RecordViolations>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<T> records;
+        private final transient RecordCheck<T> check;
+        private final int start;
+        private final int end;
+
+        ValidationTask(List<T> records, RecordCheck<T> check, int start, int end) {
+            this.records = records;
+            this.check = check;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<RecordViolations> compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                List<RecordViolations> violations = new ArrayList<>();
+                List<ValidationResult> errors = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    check.check(records.get(i), errors);
+                    if (!errors.isEmpty()) {
+                        violations.add(new RecordViolations(i, errors));
+                        errors.clear();
+                    }
+                }
+                return violations;
+            }
+            int middle = (start + end) >>> 1;
+            ValidationTask<T> left = new ValidationTask<>(records, check, start, middle);
+            left.fork();
+            List<RecordViolations> right = new ValidationTask<>(records, check, middle, end).compute();
+            List<RecordViolations> violations = left.join();
+            violations.addAll(right);
+            return violations;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package utils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Utility class for converting between {@link Date} objects and epoch days, the number of days since 1970-01-01.
+ * The model and service layers work with epoch days internally; these conversions are meant for the API edge,
+ * where dates are entered and displayed.
+ */
+public final class EpochDays {
+
+    private EpochDays() {
+    }
+
+    /**
+     * Converts a date to its epoch day in the system time zone.
+     *
+     * @param date The date to convert.
+     * @return The epoch day of the date.
+     */
+    public static int of(Date date) {
+        return (int) date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Converts an epoch day to a date at the start of that day in the system time zone.
+     *
+     * @param epochDay The epoch day to convert.
+     * @return A new Date for the start of the day.
+     */
+    public static Date toDate(int epochDay) {
+        return Date.from(LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Gets today's epoch day in the system time zone.
+     *
+     * @return The epoch day of today.
+     */
+    public static int today() {
+        return (int) LocalDate.now().toEpochDay();
+    }
+}
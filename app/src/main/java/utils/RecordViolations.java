@@ -0,0 +1,44 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * RecordViolations lists every rule one record of a batch breaks, in the order the rules are checked.
+ */
+public final class RecordViolations {
+
+    private final int index;
+    private final List<ValidationResult> errors;
+
+    RecordViolations(int index, List<ValidationResult> errors) {
+        this.index = index;
+        this.errors = List.copyOf(errors);
+    }
+
+    /**
+     * Gets the position of the record in the batch.
+     *
+     * @return The zero-based record index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the rules the record breaks.
+     *
+     * @return The errors, never empty.
+     */
+    public List<ValidationResult> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Record ").append(index).append(':');
+        for (ValidationResult error : errors) {
+            text.append(' ').append(error.getMessage());
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package utils;
+
+/**
+ * ValidationResult is the outcome of a check in {@link ValidationUtils}: {@link #VALID}, or an error code with its
+ * message. The results are shared constants, so checking an input allocates nothing and a rejected input costs no
+ * more than an accepted one; callers that want an exception ask for it with {@link #orThrow()}.
+ */
+public enum ValidationResult {
+    VALID(null),
+    INVALID_EMAIL("Invalid email format, please enter correct format for email.",
+                  "Invalid email format, please enter correct format for email.\n"),
+    MISSING_FIRST_NAME("First name must not be empty or null."),
+    MISSING_LAST_NAME("Last name must not be empty or null."),
+    MISSING_EMAIL("Email must not be empty or null."),
+    MISSING_ROOM("Room must not be null."),
+    MISSING_CUSTOMER("Customer must not be null."),
+    MISSING_CHECK_IN("Check-in date must not be null."),
+    MISSING_CHECK_OUT("Check-out date must not be null."),
+    CHECK_IN_IN_PAST("Check-in date cannot be in the past."),
+    SAME_DAY_STAY("Check-in date cannot be the same as check-out date"),
+    CHECK_IN_AFTER_CHECK_OUT("Check-in date must be before check-out date."),
+    MISSING_ROOM_NUMBER("Room number must not be empty or null."),
+    MISSING_ROOM_PRICE("Room price must not be null."),
+    MISSING_ROOM_TYPE("Room type must not be null."),
+    MISSING_IS_FREE("IsFree must not be null.");
+
+    private final String message;
+    private final String coloredMessage;
+
+    ValidationResult(String message) {
+        this(message, message);
+    }
+
+    ValidationResult(String message, String displayedMessage) {
+        this.message = message;
+        this.coloredMessage = displayedMessage == null ? null : "\u001B[31m" + displayedMessage + "\u001B[0m";
+    }
+
+    /**
+     * Checks whether the input passed.
+     *
+     * @return True if this is {@link #VALID}, otherwise false.
+     */
+    public boolean isValid() {
+        return this == VALID;
+    }
+
+    /**
+     * Gets the message describing the error, without terminal colours.
+     *
+     * @return The message, or null if the input is valid.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Throws the error as an exception with the coloured message shown in the console, if there is an error.
+     *
+     * @throws IllegalArgumentException If this is not {@link #VALID}.
+     */
+    public void orThrow() {
+        if (this != VALID) {
+            throw new IllegalArgumentException(coloredMessage);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package utils;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 import java.util.regex.Pattern;
 
 import model.Customer;
@@ -13,9 +19,24 @@ import model.Room.RoomType;
 
 /**
  * Utility class for validating various inputs related to hotel reservations.
+ * <p>
+ * The {@code check} methods return a shared {@link ValidationResult} instead of throwing, so bulk imports and the
+ * HTTP API can reject bad input without building exceptions. The older methods throw the same results as
+ * {@link IllegalArgumentException}s for the model and the console menus. Each rule is written once, in a variant
+ * that can also collect every rule an input breaks, which {@link BatchValidator} and the bulk import use. The email
+ * pattern and date formats are compiled once and are safe to share between threads.
  */
 public class ValidationUtils {
 
+    /**
+     * The value {@link #parseDay(String)} and {@link #parseIsoDay(String)} return for a date they cannot read.
+     */
+    public static final int INVALID_DAY = Integer.MIN_VALUE;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^(.+)@(.+).com$");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("M/d/uuuu", Locale.ROOT);
+    private static final DateTimeFormatter ISO_DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd", Locale.ROOT);
+
     /**
      * Validates the format of an email address.
      *
@@ -23,12 +44,20 @@ public class ValidationUtils {
      * @throws IllegalArgumentException If the email format is invalid.
      */
     public static void emailValidation(String email) {
-        final String EMAIL_PATTERN = "^(.+)@(.+).com$";
-        final Pattern pattern = Pattern.compile(EMAIL_PATTERN);
+        checkEmail(email).orThrow();
+    }
 
-        if (!pattern.matcher(email).matches()) {
-            throw new IllegalArgumentException("\u001B[31m" + "Invalid email format, please enter correct format for email.\n" + "\u001B[0m");
+    /**
+     * Checks the format of an email address.
+     *
+     * @param email The email address to check.
+     * @return {@link ValidationResult#VALID} or {@link ValidationResult#INVALID_EMAIL}.
+     */
+    public static ValidationResult checkEmail(String email) {
+        if (email == null || !EMAIL_PATTERN.matcher(email).matches()) {
+            return ValidationResult.INVALID_EMAIL;
         }
+        return ValidationResult.VALID;
     }
 
     /**
@@ -40,33 +69,105 @@ public class ValidationUtils {
      * @throws IllegalArgumentException If the check-in date is before today, the same as check-out date, or after check-out date.
      */
     public static void checkInAndCheckOutDateValidation(Date checkInDate, Date checkOutDate) throws ParseException {
-        LocalDate today = LocalDate.now();
-        LocalDate checkInLocalDate = checkInDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-        LocalDate checkOutLocalDate = checkOutDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        checkInAndCheckOutDateValidation(EpochDays.of(checkInDate), EpochDays.of(checkOutDate));
+    }
 
-        if (checkInLocalDate.isBefore(today)) {
-            throw new IllegalArgumentException("\u001B[31m" + "Check-in date cannot be in the past." + "\u001B[0m");
+    /**
+     * Validates that the check-in day is not before the check-out day or in the past.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @throws IllegalArgumentException If the check-in day is before today, the same as check-out day, or after check-out day.
+     */
+    public static void checkInAndCheckOutDateValidation(int checkInDay, int checkOutDay) {
+        checkBookingDates(checkInDay, checkOutDay).orThrow();
+    }
 
-        } else if (checkInLocalDate.equals(checkOutLocalDate)) {
-            throw new IllegalArgumentException("\u001B[31m" + "Check-in date cannot be the same as check-out date" + "\u001B[0m");
+    /**
+     * Checks that the check-in day is today or later and before the check-out day, as required for a new booking.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @return {@link ValidationResult#VALID}, or why the dates cannot be booked.
+     */
+    public static ValidationResult checkBookingDates(int checkInDay, int checkOutDay) {
+        return checkStayDates(checkInDay, checkOutDay, EpochDays.today(), null);
+    }
 
-        } else if (checkInDate.after(checkOutDate)) {
-            throw new IllegalArgumentException("\u001B[31m" + "Check-in date must be before check-out date." + "\u001B[0m");
-        }
+    /**
+     * Validates that the check-in day is before the check-out day, allowing past stays such as imported history.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @throws IllegalArgumentException If the check-in day is the same as or after the check-out day.
+     */
+    public static void stayDatesValidation(int checkInDay, int checkOutDay) {
+        checkStayDates(checkInDay, checkOutDay).orThrow();
+    }
+
+    /**
+     * Checks that the check-in day is before the check-out day, allowing past stays such as imported history.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @return {@link ValidationResult#VALID}, {@link ValidationResult#SAME_DAY_STAY} or
+     *         {@link ValidationResult#CHECK_IN_AFTER_CHECK_OUT}.
+     */
+    public static ValidationResult checkStayDates(int checkInDay, int checkOutDay) {
+        return checkStayDates(checkInDay, checkOutDay, Integer.MIN_VALUE, null);
+    }
+
+    /**
+     * Checks that a stay starts no earlier than a day and that the check-in day is before the check-out day.
+     *
+     * @param checkInDay  The check-in epoch day.
+     * @param checkOutDay The check-out epoch day.
+     * @param firstDay    The earliest allowed check-in day.
+     * @param errors      The list to add every broken rule to, or null.
+     * @return {@link ValidationResult#VALID}, or the first problem found.
+     */
+    public static ValidationResult checkStayDates(int checkInDay, int checkOutDay, int firstDay,
+            List<ValidationResult> errors) {
+        ValidationResult first = flag(ValidationResult.VALID, checkInDay < firstDay,
+                ValidationResult.CHECK_IN_IN_PAST, errors);
+        first = flag(first, checkInDay == checkOutDay, ValidationResult.SAME_DAY_STAY, errors);
+        return flag(first, checkInDay > checkOutDay, ValidationResult.CHECK_IN_AFTER_CHECK_OUT, errors);
     }
 
     /**
      * Validates if a given string date is in the correct format (MM/dd/yyyy) and converts it to a Date object.
+     * Months and days may have one or two digits, and dates that do not exist, such as 02/30/2025, are rejected.
      *
      * @param date  The date string to validate and convert.
      * @return      The parsed Date object.
      * @throws ParseException   If there is an error parsing the date.
      */
     public static Date dateFormatChecker(String date) throws ParseException {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("MM/dd/yyyy");
-        Date dateFormat = simpleDateFormat.parse(date);
+        int day = parseDay(date);
+        if (day == INVALID_DAY) {
+            throw new ParseException("Unparseable date: \"" + date + "\"", 0);
+        }
+        return EpochDays.toDate(day);
+    }
 
-        return dateFormat;
+    /**
+     * Reads a date in the format the console uses, MM/dd/yyyy, without throwing.
+     *
+     * @param date The date to read.
+     * @return The epoch day, or {@link #INVALID_DAY} if the text is not a valid date.
+     */
+    public static int parseDay(String date) {
+        return parseDay(date, DATE_FORMAT);
+    }
+
+    /**
+     * Reads an ISO date, yyyy-MM-dd, as used by the HTTP API and the import formats, without throwing.
+     *
+     * @param date The date to read.
+     * @return The epoch day, or {@link #INVALID_DAY} if the text is not a valid date.
+     */
+    public static int parseIsoDay(String date) {
+        return parseDay(date, ISO_DATE_FORMAT);
     }
 
     /**
@@ -79,15 +180,38 @@ public class ValidationUtils {
      * @throws IllegalArgumentException If any of the inputs are null.
      */
     public static void reservationValidateInputs(IRoom room, Customer customer, Date checkInDate, Date checkOutDate) {
-        if (room == null) {
-            throw new IllegalArgumentException("\u001B[31m" + "Room must not be null." + "\u001B[0m");
-        } else if (customer == null) {
-            throw new IllegalArgumentException("\u001B[31m" + "Customer must not be null." + "\u001B[0m");
-        } else if (checkInDate == null) {
-            throw new IllegalArgumentException("\u001B[31m" + "Check-in date must not be null." + "\u001B[0m");
-        } else if (checkOutDate == null) {
-            throw new IllegalArgumentException("\u001B[31m" + "Check-out date must not be null." + "\u001B[0m");
-        }
+        checkReservation(room, customer, checkInDate, checkOutDate).orThrow();
+    }
+
+    /**
+     * Checks that none of the inputs of a reservation is missing.
+     *
+     * @param room         The room to check.
+     * @param customer     The customer to check.
+     * @param checkInDate  The check-in date to check.
+     * @param checkOutDate The check-out date to check.
+     * @return {@link ValidationResult#VALID}, or the first missing input.
+     */
+    public static ValidationResult checkReservation(IRoom room, Customer customer, Date checkInDate, Date checkOutDate) {
+        return checkReservation(room, customer, checkInDate, checkOutDate, null);
+    }
+
+    /**
+     * Checks that none of the inputs of a reservation is missing.
+     *
+     * @param room         The room to check.
+     * @param customer     The customer to check.
+     * @param checkInDate  The check-in date to check.
+     * @param checkOutDate The check-out date to check.
+     * @param errors       The list to add every broken rule to, or null.
+     * @return {@link ValidationResult#VALID}, or the first missing input.
+     */
+    public static ValidationResult checkReservation(IRoom room, Customer customer, Date checkInDate, Date checkOutDate,
+            List<ValidationResult> errors) {
+        ValidationResult first = flag(ValidationResult.VALID, room == null, ValidationResult.MISSING_ROOM, errors);
+        first = flag(first, customer == null, ValidationResult.MISSING_CUSTOMER, errors);
+        first = flag(first, checkInDate == null, ValidationResult.MISSING_CHECK_IN, errors);
+        return flag(first, checkOutDate == null, ValidationResult.MISSING_CHECK_OUT, errors);
     }
 
     /**
@@ -99,15 +223,34 @@ public class ValidationUtils {
      * @throws IllegalArgumentException If any of the inputs are null or empty.
      */
     public static void customerValidationInputs(String firstName, String lastName, String email) {
-        if (firstName == null || firstName.trim().isEmpty()) {
-            throw new IllegalArgumentException("\u001B[31m" + "First name must not be empty or null." + "\u001B[0m");
+        checkCustomerInputs(firstName, lastName, email, null).orThrow();
+    }
 
-        } else if (lastName == null || lastName.trim().isEmpty()) {
-            throw new IllegalArgumentException("\u001B[31m" + "Last name must not be empty or null." + "\u001B[0m");
+    /**
+     * Checks all inputs of a customer: that no name or email is empty and that the email has a valid format.
+     *
+     * @param firstName The first name to check.
+     * @param lastName  The last name to check.
+     * @param email     The email address to check.
+     * @return {@link ValidationResult#VALID}, or the first problem found.
+     */
+    public static ValidationResult checkCustomer(String firstName, String lastName, String email) {
+        return checkCustomer(firstName, lastName, email, null);
+    }
 
-        } else if (email == null || email.trim().isEmpty()) {
-            throw new IllegalArgumentException("\u001B[31m" + "Email must not be empty or null." + "\u001B[0m");
-        }
+    /**
+     * Checks all inputs of a customer: that no name or email is empty and that the email has a valid format.
+     *
+     * @param firstName The first name to check.
+     * @param lastName  The last name to check.
+     * @param email     The email address to check.
+     * @param errors    The list to add every broken rule to, or null.
+     * @return {@link ValidationResult#VALID}, or the first problem found.
+     */
+    public static ValidationResult checkCustomer(String firstName, String lastName, String email,
+            List<ValidationResult> errors) {
+        ValidationResult first = checkCustomerInputs(firstName, lastName, email, errors);
+        return flag(first, !isBlank(email) && !checkEmail(email).isValid(), ValidationResult.INVALID_EMAIL, errors);
     }
 
     /**
@@ -120,14 +263,89 @@ public class ValidationUtils {
      * @throws IllegalArgumentException If any of the inputs are null or empty.
      */
     public static void roomValidateInputs(String roomNumber, Double roomPrice, RoomType roomType, Boolean isFree) {
-        if (roomNumber == null || roomNumber.trim().isEmpty()) {
-            throw new IllegalArgumentException("\u001B[31m" + "Room number must not be empty or null." + "\u001B[0m");
-        } else if (roomPrice == null) {
-            throw new IllegalArgumentException("\u001B[31m" + "Room price must not be null." + "\u001B[0m");
-        } else if (roomType == null) {
-            throw new IllegalArgumentException("\u001B[31m" + "Room type must not be null." + "\u001B[0m");
-        } else if (isFree == null) {
-            throw new IllegalArgumentException("\u001B[31m" + "IsFree must not be null." + "\u001B[0m");
+        checkRoom(roomNumber, roomPrice, roomType, isFree).orThrow();
+    }
+
+    /**
+     * Checks that none of the inputs of a room is missing.
+     *
+     * @param roomNumber The room number to check.
+     * @param roomPrice  The room price to check.
+     * @param roomType   The room type to check.
+     * @param isFree     The availability status of the room to check.
+     * @return {@link ValidationResult#VALID}, or the first missing input.
+     */
+    public static ValidationResult checkRoom(String roomNumber, Double roomPrice, RoomType roomType, Boolean isFree) {
+        return checkRoom(roomNumber, roomPrice, roomType, isFree, null);
+    }
+
+    /**
+     * Checks that none of the inputs of a room is missing.
+     *
+     * @param roomNumber The room number to check.
+     * @param roomPrice  The room price to check.
+     * @param roomType   The room type to check.
+     * @param isFree     The availability status of the room to check.
+     * @param errors     The list to add every broken rule to, or null.
+     * @return {@link ValidationResult#VALID}, or the first missing input.
+     */
+    public static ValidationResult checkRoom(String roomNumber, Double roomPrice, RoomType roomType, Boolean isFree,
+            List<ValidationResult> errors) {
+        ValidationResult first = flag(ValidationResult.VALID, isBlank(roomNumber),
+                ValidationResult.MISSING_ROOM_NUMBER, errors);
+        first = flag(first, roomPrice == null, ValidationResult.MISSING_ROOM_PRICE, errors);
+        first = flag(first, roomType == null, ValidationResult.MISSING_ROOM_TYPE, errors);
+        return flag(first, isFree == null, ValidationResult.MISSING_IS_FREE, errors);
+    }
+
+    private static ValidationResult checkCustomerInputs(String firstName, String lastName, String email,
+            List<ValidationResult> errors) {
+        ValidationResult first = flag(ValidationResult.VALID, isBlank(firstName),
+                ValidationResult.MISSING_FIRST_NAME, errors);
+        first = flag(first, isBlank(lastName), ValidationResult.MISSING_LAST_NAME, errors);
+        return flag(first, isBlank(email), ValidationResult.MISSING_EMAIL, errors);
+    }
+
+    /**
+     * Applies one rule: if it is broken, adds it to the errors, if any, and keeps it unless an earlier rule broke.
+     *
+     * @return The first broken rule so far, or {@link ValidationResult#VALID}.
+     */
+    private static ValidationResult flag(ValidationResult first, boolean broken, ValidationResult rule,
+            List<ValidationResult> errors) {
+        if (!broken) {
+            return first;
+        }
+        if (errors != null) {
+            errors.add(rule);
+        }
+        return first.isValid() ? rule : first;
+    }
+
+    static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Reads a date with a year, month and day format, leaving the fields unresolved so that bad input is reported
+     * through the parse position rather than an exception, and then checks the fields by hand.
+     */
+    private static int parseDay(String date, DateTimeFormatter format) {
+        if (date == null) {
+            return INVALID_DAY;
+        }
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor fields = format.parseUnresolved(date, position);
+        if (fields == null || position.getErrorIndex() >= 0 || position.getIndex() != date.length()) {
+            return INVALID_DAY;
+        }
+        long year = fields.getLong(ChronoField.YEAR);
+        long month = fields.getLong(ChronoField.MONTH_OF_YEAR);
+        long day = fields.getLong(ChronoField.DAY_OF_MONTH);
+        if (year < 1 || year > 9999 || month < 1 || month > 12
+                || day < 1 || day > Month.of((int) month).length(Year.isLeap(year))) {
+            return INVALID_DAY;
         }
+        return (int) LocalDate.of((int) year, (int) month, (int) day).toEpochDay();
     }
 }
@@ -0,0 +1,66 @@
+package workload;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * LoadTest seeds a synthetic hotel and replays a request trace against it, printing the replay report.
+ * It is configured with system properties:
+ * <ul>
+ *   <li>{@code workload.seed} - the random seed (default 42)</li>
+ *   <li>{@code workload.rooms}, {@code workload.customers}, {@code workload.reservations} - the hotel size
+ *       (defaults 2000, 100000 and 200000)</li>
+ *   <li>{@code workload.operations} - the number of generated requests (default 100000)</li>
+ *   <li>{@code workload.rate} - the target requests per second, 0 for unthrottled (default 5000)</li>
+ *   <li>{@code workload.threads} - the number of worker threads (default twice the processor count)</li>
+ *   <li>{@code workload.trace} - a trace file to replay instead of generating requests</li>
+ *   <li>{@code workload.record} - a file to save the generated trace to</li>
+ * </ul>
+ * Data is kept in memory only; nothing is written to the data directory.
+ */
+public class LoadTest {
+
+    /**
+     * Runs the load test.
+     *
+     * @param args Ignored; see the class documentation for the configuration.
+     * @throws Exception If a trace file cannot be read or written, or the replay is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        long seed = Long.getLong("workload.seed", 42);
+        int rooms = Integer.getInteger("workload.rooms", 2000);
+        int customers = Integer.getInteger("workload.customers", 100_000);
+        int reservations = Integer.getInteger("workload.reservations", 200_000);
+        int operations = Integer.getInteger("workload.operations", 100_000);
+        double rate = Double.parseDouble(System.getProperty("workload.rate", "5000"));
+        int threads = Integer.getInteger("workload.threads", 2 * Runtime.getRuntime().availableProcessors());
+        String tracePath = System.getProperty("workload.trace");
+        String recordPath = System.getProperty("workload.record");
+
+        WorkloadGenerator generator = new WorkloadGenerator("LT", seed, rooms, customers, reservations);
+        long seedStart = System.nanoTime();
+        int booked = generator.seed();
+        System.out.printf("Seeded %d rooms, %d customers and %d of %d reservations in %.1fs%n",
+                          rooms, customers, booked, reservations, (System.nanoTime() - seedStart) / 1e9);
+
+        List<TraceRecord> trace;
+        if (tracePath != null) {
+            trace = TraceFile.read(Paths.get(tracePath));
+            System.out.println("Replaying " + trace.size() + " requests from " + tracePath);
+        } else {
+            trace = generator.trace(operations);
+            if (recordPath != null) {
+                Path recordFile = Paths.get(recordPath);
+                if (recordFile.getParent() != null) {
+                    Files.createDirectories(recordFile.getParent());
+                }
+                TraceFile.write(recordFile, trace);
+                System.out.println("Recorded " + trace.size() + " requests to " + recordPath);
+            }
+        }
+
+        System.out.println(WorkloadReplayer.replay(trace, rate, threads));
+    }
+}
@@ -0,0 +1,175 @@
+package workload;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ReplayReport summarizes a trace replay: how many requests ran, how many failed, the throughput, and the latency
+ * distribution overall and per operation. Latencies are measured from the time a request was scheduled to start,
+ * so time spent queued behind slow requests is included.
+ */
+public final class ReplayReport {
+
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+    private final long elapsedNanos;
+    private final int errors;
+    private final int conflicts;
+    private final long[] latencies;
+    private final Map<TraceRecord.Operation, long[]> latenciesByOperation;
+
+    /**
+     * Constructs a report from raw latencies.
+     *
+     * @param elapsedNanos The wall-clock time of the replay.
+     * @param errors       The number of requests that failed.
+     * @param conflicts    The number of bookings rejected because the room was taken.
+     * @param latencies    The latency of every request, in nanoseconds, indexed like the trace.
+     * @param operations   The operation of every request, indexed like the trace.
+     */
+    ReplayReport(long elapsedNanos, int errors, int conflicts, long[] latencies, TraceRecord.Operation[] operations) {
+        this.elapsedNanos = elapsedNanos;
+        this.errors = errors;
+        this.conflicts = conflicts;
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+
+        int[] counts = new int[TraceRecord.Operation.values().length];
+        for (TraceRecord.Operation operation : operations) {
+            counts[operation.ordinal()]++;
+        }
+        this.latenciesByOperation = new EnumMap<>(TraceRecord.Operation.class);
+        for (TraceRecord.Operation operation : TraceRecord.Operation.values()) {
+            latenciesByOperation.put(operation, new long[counts[operation.ordinal()]]);
+        }
+        int[] filled = new int[counts.length];
+        for (int i = 0; i < operations.length; i++) {
+            latenciesByOperation.get(operations[i])[filled[operations[i].ordinal()]++] = latencies[i];
+        }
+        for (long[] values : latenciesByOperation.values()) {
+            Arrays.sort(values);
+        }
+    }
+
+    /**
+     * Gets the number of requests replayed.
+     *
+     * @return The request count.
+     */
+    public int getOperations() {
+        return latencies.length;
+    }
+
+    /**
+     * Gets the number of requests of one kind.
+     *
+     * @param operation The kind of request.
+     * @return The request count.
+     */
+    public int getOperations(TraceRecord.Operation operation) {
+        return latenciesByOperation.get(operation).length;
+    }
+
+    /**
+     * Gets the number of requests that failed, for example bookings for an unknown room or customer.
+     *
+     * @return The error count.
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the number of bookings rejected because the room was already taken.
+     *
+     * @return The conflict count.
+     */
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Gets the wall-clock time of the replay.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the achieved throughput.
+     *
+     * @return The requests per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : latencies.length * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets a latency percentile over all requests.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The latency in nanoseconds, or 0 if there were no requests.
+     */
+    public long getPercentile(double percentile) {
+        return percentile(latencies, percentile);
+    }
+
+    /**
+     * Gets a latency percentile over the requests of one kind.
+     *
+     * @param operation  The kind of request.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The latency in nanoseconds, or 0 if there were no such requests.
+     */
+    public long getPercentile(TraceRecord.Operation operation, double percentile) {
+        return percentile(latenciesByOperation.get(operation), percentile);
+    }
+
+    /**
+     * Returns a table of the throughput and latency percentiles in microseconds.
+     *
+     * @return The report as text.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("requests=%d errors=%d conflicts=%d elapsed=%.2fs throughput=%.1f/s%n",
+                                  getOperations(), errors, conflicts, elapsedNanos / 1e9, getThroughput()));
+        text.append(String.format("%-8s %10s", "op", "count"));
+        for (double percentile : REPORTED_PERCENTILES) {
+            text.append(String.format(" %10s", "p" + format(percentile)));
+        }
+        text.append(String.format(" %10s%n", "max"));
+        appendRow(text, "ALL", latencies);
+        for (Map.Entry<TraceRecord.Operation, long[]> entry : latenciesByOperation.entrySet()) {
+            appendRow(text, entry.getKey().name(), entry.getValue());
+        }
+        return text.toString();
+    }
+
+    private static void appendRow(StringBuilder text, String label, long[] sorted) {
+        text.append(String.format("%-8s %10d", label, sorted.length));
+        for (double percentile : REPORTED_PERCENTILES) {
+            text.append(String.format(" %10.1f", percentile(sorted, percentile) / 1e3));
+        }
+        text.append(String.format(" %10.1f%n", percentile(sorted, 100) / 1e3));
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? Integer.toString((int) percentile) : Double.toString(percentile);
+    }
+
+    /**
+     * Returns the nearest-rank percentile of sorted values.
+     */
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.min(Math.max(rank, 1), sorted.length) - 1];
+    }
+}
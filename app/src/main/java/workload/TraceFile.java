@@ -0,0 +1,99 @@
+package workload;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TraceFile reads and writes workload traces as text, one request per line in the form
+ * {@code operation,email,roomNumber,leadDays,nights}. Missing fields are left empty, and blank lines and lines
+ * starting with {@code #} are ignored.
+ */
+public final class TraceFile {
+
+    private static final String HEADER = "# operation,email,roomNumber,leadDays,nights";
+
+    private TraceFile() {
+    }
+
+    /**
+     * Writes a trace to a file, replacing its contents.
+     *
+     * @param file    The file to write.
+     * @param records The requests in replay order.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If an email or room number contains a comma or a line break.
+     */
+    public static void write(Path file, List<TraceRecord> records) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (TraceRecord record : records) {
+                writer.write(record.getOperation().name());
+                writer.write(',');
+                writer.write(field(record.getEmail()));
+                writer.write(',');
+                writer.write(field(record.getRoomNumber()));
+                writer.write(',');
+                writer.write(Integer.toString(record.getLeadDays()));
+                writer.write(',');
+                writer.write(Integer.toString(record.getNights()));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reads a trace from a file.
+     *
+     * @param file The file to read.
+     * @return The requests in replay order.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If a line is malformed; the message names the line number.
+     */
+    public static List<TraceRecord> read(Path file) throws IOException {
+        List<TraceRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length != 5) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": expected 5 fields but found " + fields.length + ".");
+                }
+                try {
+                    records.add(new TraceRecord(TraceRecord.Operation.valueOf(fields[0].trim()),
+                            value(fields[1]), value(fields[2]),
+                            Integer.parseInt(fields[3].trim()), Integer.parseInt(fields[4].trim())));
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + ex.getMessage(), ex);
+                }
+            }
+        }
+        return records;
+    }
+
+    private static String field(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Trace fields must not contain commas or line breaks: " + value);
+        }
+        return value;
+    }
+
+    private static String value(String field) {
+        String trimmed = field.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
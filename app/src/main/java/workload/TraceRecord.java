@@ -0,0 +1,125 @@
+package workload;
+
+import java.util.Objects;
+
+/**
+ * TraceRecord is one request in a workload trace. Dates are stored relative to the day the trace is replayed,
+ * as a lead time in days and a number of nights, so a recorded trace stays bookable when it is replayed later.
+ */
+public final class TraceRecord {
+
+    /**
+     * The kind of request.
+     */
+    public enum Operation {
+        /** Searches for free rooms; uses the lead days and nights. */
+        SEARCH,
+        /** Books a room for a customer; uses all fields. */
+        BOOK,
+        /** Retrieves a customer's reservations; uses the email. */
+        LOOKUP
+    }
+
+    private final Operation operation;
+    private final String email;
+    private final String roomNumber;
+    private final int leadDays;
+    private final int nights;
+
+    /**
+     * Constructs a trace record.
+     *
+     * @param operation  The kind of request.
+     * @param email      The customer email, or null if the operation does not use one.
+     * @param roomNumber The room number, or null if the operation does not use one.
+     * @param leadDays   The number of days from the replay day to check-in.
+     * @param nights     The number of nights.
+     * @throws IllegalArgumentException If the operation is null or the fields it needs are missing.
+     */
+    public TraceRecord(Operation operation, String email, String roomNumber, int leadDays, int nights) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation must not be null.");
+        } else if (operation != Operation.SEARCH && email == null) {
+            throw new IllegalArgumentException(operation + " requires an email.");
+        } else if (operation == Operation.BOOK && roomNumber == null) {
+            throw new IllegalArgumentException("BOOK requires a room number.");
+        } else if (operation != Operation.LOOKUP && (leadDays < 0 || nights <= 0)) {
+            throw new IllegalArgumentException(operation + " requires a non-negative lead time and at least one night.");
+        }
+
+        this.operation = operation;
+        this.email = email;
+        this.roomNumber = roomNumber;
+        this.leadDays = leadDays;
+        this.nights = nights;
+    }
+
+    /**
+     * Gets the kind of request.
+     *
+     * @return The operation.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets the customer email.
+     *
+     * @return The email, or null.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Gets the room number.
+     *
+     * @return The room number, or null.
+     */
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    /**
+     * Gets the number of days from the replay day to check-in.
+     *
+     * @return The lead time in days.
+     */
+    public int getLeadDays() {
+        return leadDays;
+    }
+
+    /**
+     * Gets the number of nights.
+     *
+     * @return The number of nights.
+     */
+    public int getNights() {
+        return nights;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TraceRecord)) {
+            return false;
+        }
+        TraceRecord other = (TraceRecord) obj;
+        return operation == other.operation && leadDays == other.leadDays && nights == other.nights
+                && Objects.equals(email, other.email) && Objects.equals(roomNumber, other.roomNumber);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, email, roomNumber, leadDays, nights);
+    }
+
+    @Override
+    public String toString() {
+        return "TraceRecord {operation=" + operation + ", email=" + email + ", roomNumber=" + roomNumber
+                + ", leadDays=" + leadDays + ", nights=" + nights + "}";
+    }
+}
@@ -0,0 +1,230 @@
+package workload;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import api.AdminResource;
+import api.HotelResource;
+import model.FreeRoom;
+import model.IRoom;
+import model.Room;
+import model.Room.RoomType;
+import utils.EpochDays;
+
+/**
+ * WorkloadGenerator creates a synthetic hotel and request traces from a seed. The same seed, sizes and start day
+ * always produce the same rooms, customers, reservations and traces.
+ * <p>
+ * Check-in days follow a seasonal curve that peaks in mid-summer and over the year-end holidays, decaying with
+ * lead time, and stays are mostly one to three nights. A hotel books out at roughly
+ * {@code rooms * HORIZON_DAYS / 2.7} reservations, so millions of reservations need several thousand rooms.
+ * <p>
+ * All data is created through {@link AdminResource} and {@link HotelResource}, so seeding exercises the same
+ * paths as the user interface.
+ */
+public final class WorkloadGenerator {
+
+    /**
+     * The number of days after the start day over which check-in days are spread.
+     */
+    public static final int HORIZON_DAYS = 365;
+
+    private static final double[] STAY_WEIGHTS = {0.30, 0.25, 0.18, 0.10, 0.07, 0.05, 0.05};
+    private static final int BOOKING_ATTEMPTS = 3;
+    private static final String[] FIRST_NAMES = {"Amina", "Ben", "Chen", "Dara", "Elif", "Femi", "Greta", "Hugo",
+                                                 "Ines", "Jonas", "Kemal", "Lena", "Mateo", "Nora", "Omar", "Priya"};
+    private static final String[] LAST_NAMES = {"Abdi", "Berg", "Costa", "Diallo", "Evans", "Fischer", "Garcia",
+                                                "Haddad", "Ito", "Jensen", "Khan", "Lopez", "Moreau", "Novak"};
+
+    private final String prefix;
+    private final long seed;
+    private final int roomCount;
+    private final int customerCount;
+    private final int reservationCount;
+    private final int startDay;
+    private final double[] leadWeights;
+    private final double[] stayWeights;
+
+    /**
+     * Constructs a generator whose check-in days start today.
+     *
+     * @param prefix           The prefix of generated room numbers and emails, so several hotels can coexist.
+     * @param seed             The random seed.
+     * @param roomCount        The number of rooms.
+     * @param customerCount    The number of customers.
+     * @param reservationCount The number of reservations to attempt when seeding.
+     * @throws IllegalArgumentException If the prefix is empty or a count is not positive.
+     */
+    public WorkloadGenerator(String prefix, long seed, int roomCount, int customerCount, int reservationCount) {
+        this(prefix, seed, roomCount, customerCount, reservationCount, EpochDays.today());
+    }
+
+    /**
+     * Constructs a generator whose seasonal curve is anchored at a given start day.
+     *
+     * @param prefix           The prefix of generated room numbers and emails, so several hotels can coexist.
+     * @param seed             The random seed.
+     * @param roomCount        The number of rooms.
+     * @param customerCount    The number of customers.
+     * @param reservationCount The number of reservations to attempt when seeding.
+     * @param startDay         The epoch day that seeded check-in days and the seasonal curve are counted from;
+     *                         it must not be in the past when seeding.
+     * @throws IllegalArgumentException If the prefix is empty or a count is not positive.
+     */
+    public WorkloadGenerator(String prefix, long seed, int roomCount, int customerCount, int reservationCount, int startDay) {
+        if (prefix == null || prefix.isBlank() || prefix.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("Prefix must not be empty or contain commas.");
+        } else if (roomCount <= 0 || customerCount <= 0 || reservationCount < 0) {
+            throw new IllegalArgumentException("Room and customer counts must be positive and the reservation count non-negative.");
+        }
+
+        this.prefix = prefix;
+        this.seed = seed;
+        this.roomCount = roomCount;
+        this.customerCount = customerCount;
+        this.reservationCount = reservationCount;
+        this.startDay = startDay;
+        this.leadWeights = cumulative(seasonalWeights(startDay));
+        this.stayWeights = cumulative(STAY_WEIGHTS);
+    }
+
+    /**
+     * Gets the room number of a generated room.
+     *
+     * @param index The room index, from 0 to the room count - 1.
+     * @return The room number.
+     */
+    public String roomNumber(int index) {
+        return prefix + "-" + index;
+    }
+
+    /**
+     * Gets the email of a generated customer.
+     *
+     * @param index The customer index, from 0 to the customer count - 1.
+     * @return The email address.
+     */
+    public String email(int index) {
+        return prefix.toLowerCase(Locale.ROOT) + ".guest" + index + "@load.com";
+    }
+
+    /**
+     * Creates the rooms of the hotel. Most rooms are singles, doubles cost more, and about one in fifty is free.
+     *
+     * @return The rooms, in room index order.
+     */
+    public List<IRoom> rooms() {
+        Random random = new Random(seed);
+        List<IRoom> rooms = new ArrayList<>(roomCount);
+        for (int i = 0; i < roomCount; i++) {
+            RoomType type = random.nextDouble() < 0.6 ? RoomType.SINGLE : RoomType.DOUBLE;
+            double price = type == RoomType.SINGLE ? 80 + random.nextInt(100) : 120 + random.nextInt(200);
+            rooms.add(random.nextInt(50) == 0
+                    ? new FreeRoom(roomNumber(i), price, type, true)
+                    : new Room(roomNumber(i), price, type, true));
+        }
+        return rooms;
+    }
+
+    /**
+     * Registers the rooms and customers and books the reservations. A reservation that conflicts is retried with
+     * another room and dates a few times before it is given up, so a nearly full hotel books fewer reservations
+     * than requested.
+     *
+     * @return The number of reservations booked.
+     */
+    public int seed() {
+        List<IRoom> rooms = rooms();
+        AdminResource.addRoom(rooms);
+
+        Random random = new Random(seed + 1);
+        for (int i = 0; i < customerCount; i++) {
+            HotelResource.createACustomer(email(i), FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                                          LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        }
+
+        int booked = 0;
+        for (int i = 0; i < reservationCount; i++) {
+            String email = email(random.nextInt(customerCount));
+            for (int attempt = 0; attempt < BOOKING_ATTEMPTS; attempt++) {
+                IRoom room = rooms.get(random.nextInt(roomCount));
+                int checkInDay = startDay + 1 + leadDays(random);
+                int checkOutDay = checkInDay + nights(random);
+                if (HotelResource.tryBookARoom(email, room, EpochDays.toDate(checkInDay), EpochDays.toDate(checkOutDay)).isBooked()) {
+                    booked++;
+                    break;
+                }
+            }
+        }
+        return booked;
+    }
+
+    /**
+     * Creates a request trace against the generated hotel: 60% searches, 25% reservation lookups and 15% bookings,
+     * with the same seasonal dates as the seeded reservations.
+     *
+     * @param operations The number of requests.
+     * @return The requests in replay order.
+     */
+    public List<TraceRecord> trace(int operations) {
+        Random random = new Random(seed + 2);
+        List<TraceRecord> trace = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            int kind = random.nextInt(100);
+            if (kind < 60) {
+                trace.add(new TraceRecord(TraceRecord.Operation.SEARCH, null, null, 1 + leadDays(random), nights(random)));
+            } else if (kind < 85) {
+                trace.add(new TraceRecord(TraceRecord.Operation.LOOKUP, email(random.nextInt(customerCount)), null, 0, 0));
+            } else {
+                trace.add(new TraceRecord(TraceRecord.Operation.BOOK, email(random.nextInt(customerCount)),
+                                          roomNumber(random.nextInt(roomCount)), 1 + leadDays(random), nights(random)));
+            }
+        }
+        return trace;
+    }
+
+    private int leadDays(Random random) {
+        return sample(leadWeights, random);
+    }
+
+    private int nights(Random random) {
+        return 1 + sample(stayWeights, random);
+    }
+
+    /**
+     * Weighs each lead day by season and by how far ahead it is. The season peaks in mid-July, with an extra
+     * bump from December 20 to January 2.
+     */
+    private static double[] seasonalWeights(int startDay) {
+        double[] weights = new double[HORIZON_DAYS];
+        for (int lead = 0; lead < HORIZON_DAYS; lead++) {
+            LocalDate date = LocalDate.ofEpochDay(startDay + 1L + lead);
+            int dayOfYear = date.getDayOfYear();
+            double season = 1 + 0.6 * Math.cos(2 * Math.PI * (dayOfYear - 196) / 365.25);
+            boolean holidays = (date.getMonthValue() == 12 && date.getDayOfMonth() >= 20)
+                               || (date.getMonthValue() == 1 && date.getDayOfMonth() <= 2);
+            weights[lead] = (season + (holidays ? 0.8 : 0)) * (0.4 + Math.exp(-lead / 90.0));
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, Random random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,154 @@
+package workload;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import api.HotelResource;
+import model.IRoom;
+import service.BookingResult;
+import utils.EpochDays;
+
+/**
+ * WorkloadReplayer sends the requests of a trace to {@link HotelResource} at a target rate from a pool of worker
+ * threads and reports throughput and latency percentiles.
+ * <p>
+ * Request i is scheduled to start at {@code i / rate} seconds after the replay begins, whether or not earlier
+ * requests have finished, and its latency is measured from that scheduled time. A slow system therefore shows up
+ * as rising latency rather than as a quietly reduced request rate. Without a target rate, each worker sends the
+ * next request as soon as its previous one finishes and latency is the service time alone.
+ */
+public final class WorkloadReplayer {
+
+    private static final byte OK = 0;
+    private static final byte CONFLICT = 1;
+    private static final byte ERROR = 2;
+
+    private WorkloadReplayer() {
+    }
+
+    /**
+     * Replays a trace and waits for every request to finish. Dates in the trace are counted from today.
+     *
+     * @param trace         The requests in replay order.
+     * @param ratePerSecond The target request rate, or 0 to send requests as fast as the workers complete them.
+     * @param threads       The number of worker threads.
+     * @return The report of the replay.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     * @throws IllegalArgumentException If the rate is negative or the thread count is not positive.
+     */
+    public static ReplayReport replay(List<TraceRecord> trace, double ratePerSecond, int threads) throws InterruptedException {
+        if (ratePerSecond < 0 || threads <= 0) {
+            throw new IllegalArgumentException("Rate must not be negative and threads must be positive.");
+        }
+
+        int count = trace.size();
+        int today = EpochDays.today();
+        long[] latencies = new long[count];
+        byte[] outcomes = new byte[count];
+        TraceRecord.Operation[] operations = new TraceRecord.Operation[count];
+
+        for (int i = 0; i < count; i++) {
+            operations[i] = trace.get(i).getOperation();
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            if (ratePerSecond == 0) {
+                AtomicInteger next = new AtomicInteger();
+                for (int t = 0; t < threads; t++) {
+                    workers.execute(() -> {
+                        for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+                            long startedAt = System.nanoTime();
+                            outcomes[index] = execute(trace.get(index), today);
+                            latencies[index] = System.nanoTime() - startedAt;
+                        }
+                    });
+                }
+            } else {
+                double intervalNanos = 1e9 / ratePerSecond;
+                for (int i = 0; i < count; i++) {
+                    long scheduled = start + (long) (i * intervalNanos);
+                    long wait;
+                    while ((wait = scheduled - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
+                        }
+                    }
+                    TraceRecord record = trace.get(i);
+                    int index = i;
+                    workers.execute(() -> {
+                        outcomes[index] = execute(record, today);
+                        latencies[index] = System.nanoTime() - scheduled;
+                    });
+                }
+            }
+        } finally {
+            workers.shutdown();
+        }
+        while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+            // keep waiting for the queued requests
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int errors = 0;
+        int conflicts = 0;
+        for (byte outcome : outcomes) {
+            if (outcome == ERROR) {
+                errors++;
+            } else if (outcome == CONFLICT) {
+                conflicts++;
+            }
+        }
+        return new ReplayReport(elapsed, errors, conflicts, latencies, operations);
+    }
+
+    /**
+     * Sends one request.
+     *
+     * @param record The request.
+     * @param today  The epoch day that lead times are counted from.
+     * @return The outcome of the request.
+     */
+    private static byte execute(TraceRecord record, int today) {
+        try {
+            switch (record.getOperation()) {
+                case SEARCH:
+                    HotelResource.findARoom(checkIn(record, today), checkOut(record, today));
+                    return OK;
+                case LOOKUP:
+                    HotelResource.getCustomerReservations(record.getEmail());
+                    return OK;
+                case BOOK:
+                    IRoom room = HotelResource.getRoom(record.getRoomNumber());
+                    if (room == null) {
+                        return ERROR;
+                    }
+                    BookingResult result = HotelResource.tryBookARoom(record.getEmail(), room,
+                                                                      checkIn(record, today), checkOut(record, today));
+                    if (result.getStatus() == BookingResult.Status.CONFLICT) {
+                        return CONFLICT;
+                    }
+                    return result.isBooked() ? OK : ERROR;
+                default:
+                    return ERROR;
+            }
+        } catch (RuntimeException ex) {
+            return ERROR;
+        }
+    }
+
+    private static Date checkIn(TraceRecord record, int today) {
+        return EpochDays.toDate(today + record.getLeadDays());
+    }
+
+    private static Date checkOut(TraceRecord record, int today) {
+        return EpochDays.toDate(today + record.getLeadDays() + record.getNights());
+    }
+}
@@ -0,0 +1,104 @@
+package analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import service.MutationListener;
+import service.ReservationService;
+
+/**
+ * Test class for the {@link analytics.OccupancyAnalytics} class.
+ * The services keep static state, so the test books its own rooms in a range of nights no other test uses.
+ */
+public class OccupancyAnalyticsTest {
+
+    private static final int FROM_DAY = 120_000;
+
+    /**
+     * Tests that reservations stored after the analytics are attached show up in the occupancy, ADR and RevPAR of
+     * their room type.
+     */
+    @Test
+    public void testReport() {
+        OccupancyAnalytics.report(FROM_DAY, FROM_DAY + 1);
+        IRoom single = new Room("ANALYTICS-1", 100.0, RoomType.SINGLE, true);
+        IRoom twin = new Room("ANALYTICS-2", 250.0, RoomType.DOUBLE, true);
+        ReservationService.addRoom(single);
+        ReservationService.addRoom(twin);
+        Customer customer = new Customer("Abubeker", "Abdullahi", "analytics@email.com");
+        ReservationService.restoreReservation(Reservation.restore(single, customer, FROM_DAY, FROM_DAY + 3));
+        ReservationService.restoreReservation(Reservation.restore(twin, customer, FROM_DAY + 1, FROM_DAY + 2));
+
+        OccupancyReport report = OccupancyAnalytics.report(FROM_DAY, FROM_DAY + 4);
+        long singles = ReservationService.streamRooms().filter(room -> room.getRoomType() == RoomType.SINGLE).count();
+        long doubles = ReservationService.getRoomCount() - singles;
+
+        OccupancyMetrics singleMetrics = report.get(RoomType.SINGLE);
+        assertEquals(3, singleMetrics.getSoldNights());
+        assertEquals(4 * singles, singleMetrics.getAvailableNights());
+        assertEquals(100.0, singleMetrics.getAverageDailyRate(), 1e-9);
+        assertEquals(300.0 / (4 * singles), singleMetrics.getRevPar(), 1e-9);
+        assertEquals(250.0, report.get(RoomType.DOUBLE).getRevenue(), 1e-9);
+        assertEquals(4, report.getTotal().getSoldNights());
+        assertEquals(550.0 / 4, report.getTotal().getAverageDailyRate(), 1e-9);
+        assertEquals(report.getTotal().getOccupancyRate() * report.getTotal().getAverageDailyRate(),
+                     report.getTotal().getRevPar(), 1e-9);
+
+        assertArrayEquals(new double[] {0, 1.0 / doubles, 0, 0},
+                          OccupancyAnalytics.nightlyOccupancy(FROM_DAY, FROM_DAY + 4, RoomType.DOUBLE), 1e-9);
+    }
+
+    /**
+     * Tests that empty and overly long ranges are rejected.
+     */
+    @Test
+    public void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> OccupancyAnalytics.report(FROM_DAY, FROM_DAY));
+        assertThrows(IllegalArgumentException.class,
+                     () -> OccupancyAnalytics.nightlyOccupancy(FROM_DAY, FROM_DAY + 10_000, null));
+    }
+
+    /**
+     * Tests that a room and a reservation rolled back by a failing listener are not counted.
+     */
+    @Test
+    public void testRolledBackMutationsAreNotCounted() {
+        IRoom kept = new Room("ANALYTICS-3", 100.0, RoomType.DOUBLE, true);
+        ReservationService.addRoom(kept);
+        OccupancyReport before = OccupancyAnalytics.report(FROM_DAY + 100, FROM_DAY + 102);
+
+        MutationListener failing = new MutationListener() {
+            @Override
+            public void roomAdded(IRoom room) {
+                throw new IllegalStateException("rejected");
+            }
+
+            @Override
+            public void reservationAdded(Reservation reservation) {
+                throw new IllegalStateException("rejected");
+            }
+        };
+        ReservationService.addMutationListener(failing);
+        try {
+            assertThrows(IllegalStateException.class,
+                         () -> ReservationService.addRoom(new Room("ANALYTICS-4", 100.0, RoomType.DOUBLE, true)));
+            Customer customer = new Customer("Abubeker", "Abdullahi", "analytics.rollback@email.com");
+            assertThrows(IllegalStateException.class, () -> ReservationService.restoreReservation(
+                    Reservation.restore(kept, customer, FROM_DAY + 100, FROM_DAY + 102)));
+        } finally {
+            ReservationService.removeMutationListener(failing);
+        }
+
+        OccupancyReport after = OccupancyAnalytics.report(FROM_DAY + 100, FROM_DAY + 102);
+        assertEquals(before.getTotal().getAvailableNights(), after.getTotal().getAvailableNights());
+        assertEquals(before.getTotal().getSoldNights(), after.getTotal().getSoldNights());
+    }
+}
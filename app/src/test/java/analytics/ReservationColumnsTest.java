@@ -0,0 +1,99 @@
+package analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+
+/**
+ * Test class for the {@link analytics.ReservationColumns} class.
+ */
+public class ReservationColumnsTest {
+
+    private final Customer customer = new Customer("Abubeker", "Abdullahi", "columns@email.com");
+
+    /**
+     * Tests that sold nights and revenue are clipped to the range and added up per room type, including rooms that
+     * are only seen through a reservation.
+     */
+    @Test
+    public void testAccumulate() {
+        ReservationColumns columns = new ReservationColumns();
+        IRoom single = new Room("S1", 100.0, RoomType.SINGLE, true);
+        IRoom twin = new Room("D1", 200.0, RoomType.DOUBLE, true);
+        columns.roomsAdded(List.of(single, twin));
+        columns.reservationAdded(Reservation.restore(single, customer, 10, 13));
+        columns.reservationAdded(Reservation.restore(twin, customer, 12, 15));
+        columns.reservationAdded(Reservation.restore(new FreeRoom("F1", 0.0, RoomType.SINGLE, true), customer, 11, 12));
+
+        ReservationColumns.View view = columns.view();
+        long[] nights = new long[2];
+        double[] revenue = new double[2];
+        view.accumulate(11, 14, nights, revenue);
+
+        assertArrayEquals(new long[] {3, 2}, nights);
+        assertArrayEquals(new double[] {200, 400}, revenue);
+        assertArrayEquals(new int[] {2, 1}, view.roomCounts());
+        assertArrayEquals(new int[] {1, 2, 2, 1, 1}, view.soldPerNight(10, 15, null));
+        assertArrayEquals(new int[] {0, 0, 1, 1, 1}, view.soldPerNight(10, 15, RoomType.DOUBLE));
+    }
+
+    /**
+     * Tests that a view keeps its rows and room types when reservations are appended and rooms change type later.
+     */
+    @Test
+    public void testViewIsStable() {
+        ReservationColumns columns = new ReservationColumns();
+        IRoom room = new Room("S2", 80.0, RoomType.SINGLE, true);
+        columns.roomAdded(room);
+        columns.reservationAdded(Reservation.restore(room, customer, 0, 2));
+        ReservationColumns.View before = columns.view();
+
+        for (int day = 2; day < 4000; day += 2) {
+            columns.reservationAdded(Reservation.restore(room, customer, day, day + 2));
+        }
+        columns.roomAdded(new Room("S2", 90.0, RoomType.DOUBLE, true));
+
+        assertEquals(1, before.size);
+        assertArrayEquals(new int[] {1, 0}, before.roomCounts());
+        assertArrayEquals(new int[] {0, 1}, columns.view().roomCounts());
+        assertEquals(2000, columns.view().size);
+    }
+
+    /**
+     * Tests that a reservation only moves the revision of the nights it overlaps, that nights spanning blocks are
+     * counted, and that a room changing type moves its sold nights and every revision.
+     */
+    @Test
+    public void testNightBlocks() {
+        ReservationColumns columns = new ReservationColumns();
+        IRoom room = new Room("S3", 80.0, RoomType.SINGLE, true);
+        columns.roomAdded(room);
+        int blockStart = ReservationColumns.BLOCK_NIGHTS * 10;
+        long near = columns.view().revision(blockStart, blockStart + ReservationColumns.BLOCK_NIGHTS);
+        long far = columns.view().revision(blockStart + 640, blockStart + 704);
+
+        columns.reservationAdded(Reservation.restore(room, customer, blockStart - 1, blockStart + 2));
+
+        ReservationColumns.View view = columns.view();
+        assertTrue(view.revision(blockStart, blockStart + ReservationColumns.BLOCK_NIGHTS) > near);
+        assertEquals(far, view.revision(blockStart + 640, blockStart + 704));
+        assertArrayEquals(new int[] {0, 1, 1, 1, 0}, view.soldPerNight(blockStart - 2, blockStart + 3, null));
+
+        columns.roomAdded(new Room("S3", 80.0, RoomType.DOUBLE, true));
+        view = columns.view();
+        assertArrayEquals(new int[] {0, 0, 0}, view.soldPerNight(blockStart - 1, blockStart + 2, RoomType.SINGLE));
+        assertArrayEquals(new int[] {1, 1, 1}, view.soldPerNight(blockStart - 1, blockStart + 2, RoomType.DOUBLE));
+        assertTrue(view.revision(blockStart + 640, blockStart + 704) > far);
+    }
+}
@@ -0,0 +1,130 @@
+package codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+
+/**
+ * Test class for the {@link codec.RecordEncoder} and {@link codec.RecordDecoder} classes.
+ */
+public class RecordCodecTest {
+
+    private RecordEncoder encoder;
+    private RecordDecoder decoder;
+    private List<String> decoded;
+    private RecordHandler handler;
+
+    /**
+     * Sets up a fresh encoder, decoder and recording handler before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        encoder = new RecordEncoder();
+        decoder = new RecordDecoder();
+        decoded = new ArrayList<>();
+        handler = new RecordHandler() {
+            @Override
+            public void room(String roomNumber, long priceCents, RoomType roomType, boolean freeRoom, boolean isFree) {
+                decoded.add("room " + roomNumber + " " + priceCents + " " + roomType + " " + freeRoom + " " + isFree);
+            }
+
+            @Override
+            public void customer(String email, String firstName, String lastName) {
+                decoded.add("customer " + email + " " + firstName + " " + lastName);
+            }
+
+            @Override
+            public void reservation(String roomNumber, String customerEmail, int checkInDay, int checkOutDay) {
+                decoded.add("reservation " + roomNumber + " " + customerEmail + " " + (checkOutDay - checkInDay));
+            }
+        };
+    }
+
+    private void roundTrip(ByteBuffer record) {
+        decoder.decode(record, handler);
+        assertEquals(0, record.remaining());
+    }
+
+    /**
+     * Tests that a {@link model.Room} round-trips with its price in cents.
+     */
+    @Test
+    public void testRoomRoundTrip() {
+        roundTrip(encoder.encodeRoom(new Room("101", 120.55, RoomType.DOUBLE, true)));
+
+        assertEquals(List.of("room 101 12055 DOUBLE false false"), decoded);
+    }
+
+    /**
+     * Tests that a {@link model.FreeRoom} round-trips as a free room.
+     */
+    @Test
+    public void testFreeRoomRoundTrip() {
+        roundTrip(encoder.encodeRoom(new FreeRoom("102", 80.0, RoomType.SINGLE, false)));
+
+        assertEquals(List.of("room 102 0 SINGLE true true"), decoded);
+    }
+
+    /**
+     * Tests that customers and reservations round-trip and that repeated strings use the dictionary.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testReservationRoundTripWithDictionary() throws ParseException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
+        IRoom room = new Room("Suite-7", 300.0, RoomType.DOUBLE, true);
+        Customer customer = new Customer("Zoë", "Ümlaut", "zoe@email.com");
+        Reservation reservation = new Reservation(room, customer, dateFormat.parse("06/15/2099"), dateFormat.parse("06/20/2099"));
+
+        roundTrip(encoder.encodeRoom(room));
+        roundTrip(encoder.encodeCustomer(customer));
+        ByteBuffer encodedReservation = encoder.encodeReservation(reservation);
+        int reservationSize = encodedReservation.remaining();
+        roundTrip(encodedReservation);
+        roundTrip(encoder.encodeReservation(reservation));
+
+        assertEquals(List.of("room Suite-7 30000 DOUBLE false false",
+                "customer zoe@email.com Zoë Ümlaut",
+                "reservation Suite-7 zoe@email.com 5",
+                "reservation Suite-7 zoe@email.com 5"), decoded);
+        assertTrue(reservationSize <= 8);
+    }
+
+    /**
+     * Tests that long strings grow the reusable buffer.
+     */
+    @Test
+    public void testLargeRecord() {
+        String longName = "x".repeat(1000);
+        roundTrip(encoder.encodeCustomer(new Customer(longName, longName, "long@email.com")));
+
+        assertEquals("customer long@email.com " + longName + " " + longName, decoded.get(0));
+    }
+
+    /**
+     * Tests that a record with an unknown version is rejected.
+     */
+    @Test
+    public void testUnsupportedVersion() {
+        ByteBuffer record = ByteBuffer.wrap(new byte[] {(byte) 0xF1, 0});
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(record, handler));
+    }
+}
@@ -0,0 +1,152 @@
+package export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import codec.RecordDecoder;
+import codec.RecordHandler;
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import service.ReservationService;
+
+/**
+ * Test class for the {@link export.ReservationExporter} class.
+ */
+public class ReservationExporterTest {
+
+    private static final int JULY_1_2099 = (int) LocalDate.of(2099, 7, 1).toEpochDay();
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
+
+    private static List<Reservation> sample() {
+        IRoom room = new Room("X-101", 99.5, RoomType.DOUBLE, false);
+        Customer plain = new Customer("Ada", "Lovelace", "ada@email.com");
+        Customer quoted = new Customer("Jo \"JJ\"", "Smith, Jr", "jo@email.com");
+        return List.of(Reservation.restore(room, plain, JULY_1_2099, JULY_1_2099 + 3),
+                       Reservation.restore(room, quoted, JULY_1_2099 + 3, JULY_1_2099 + 4));
+    }
+
+    private static String export(List<Reservation> reservations, ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(reservations.size(), ReservationExporter.export(reservations.iterator(), format, Channels.newChannel(out)));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tests that CSV rows have a header, ISO dates, two-decimal prices and quoted fields where needed.
+     *
+     * @throws IOException if writing fails
+     */
+    @Test
+    public void testCsv() throws IOException {
+        assertEquals(ReservationExporter.CSV_HEADER + "\n"
+                     + "X-101,DOUBLE,99.50,ada@email.com,Ada,Lovelace,2099-07-01,2099-07-04,3\n"
+                     + "X-101,DOUBLE,99.50,jo@email.com,\"Jo \"\"JJ\"\"\",\"Smith, Jr\",2099-07-04,2099-07-05,1\n",
+                     export(sample(), ExportFormat.CSV));
+    }
+
+    /**
+     * Tests that NDJSON writes one escaped object per line.
+     *
+     * @throws IOException if writing fails
+     */
+    @Test
+    public void testNdjson() throws IOException {
+        String[] lines = export(sample(), ExportFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("{\"roomNumber\":\"X-101\",\"roomType\":\"DOUBLE\",\"price\":99.50,\"email\":\"ada@email.com\","
+                     + "\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"checkIn\":\"2099-07-01\","
+                     + "\"checkOut\":\"2099-07-04\",\"nights\":3}", lines[0]);
+        assertEquals("\"firstName\":\"Jo \\\"JJ\\\"\"", lines[1].substring(lines[1].indexOf("\"firstName\""),
+                                                                            lines[1].indexOf(",\"lastName\"")));
+    }
+
+    /**
+     * Tests that a binary export starts with its header and decodes back into the room, customers and reservations.
+     *
+     * @throws IOException if writing fails
+     */
+    @Test
+    public void testBinaryDecodes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReservationExporter.export(sample().iterator(), ExportFormat.BINARY, Channels.newChannel(out));
+        ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+
+        assertEquals(ReservationExporter.BINARY_MAGIC, bytes.getInt());
+        assertEquals(ReservationExporter.BINARY_VERSION, bytes.getShort());
+        List<String> decoded = new ArrayList<>();
+        RecordDecoder decoder = new RecordDecoder();
+        RecordHandler handler = new RecordHandler() {
+            @Override
+            public void room(String roomNumber, long priceCents, RoomType roomType, boolean freeRoom, boolean isFree) {
+                decoded.add("room " + roomNumber + " " + priceCents);
+            }
+
+            @Override
+            public void customer(String email, String firstName, String lastName) {
+                decoded.add("customer " + email);
+            }
+
+            @Override
+            public void reservation(String roomNumber, String customerEmail, int checkInDay, int checkOutDay) {
+                decoded.add("reservation " + roomNumber + " " + customerEmail + " " + (checkOutDay - checkInDay));
+            }
+        };
+        while (bytes.hasRemaining()) {
+            int length = bytes.getInt();
+            ByteBuffer record = bytes.slice(bytes.position(), length);
+            decoder.decode(record, handler);
+            bytes.position(bytes.position() + length);
+        }
+
+        assertEquals(List.of("room X-101 9950", "customer ada@email.com", "reservation X-101 ada@email.com 3",
+                             "customer jo@email.com", "reservation X-101 jo@email.com 1"), decoded);
+    }
+
+    /**
+     * Tests that the date and room filters select reservations from the live index.
+     *
+     * @throws IOException    if writing fails
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testFilters() throws IOException, ParseException {
+        IRoom first = new Room("X-EXPORT-1", 80.0, RoomType.SINGLE, false);
+        IRoom second = new Room("X-EXPORT-2", 80.0, RoomType.SINGLE, false);
+        ReservationService.addRoom(first);
+        ReservationService.addRoom(second);
+        Customer customer = new Customer("Export", "Filter", "export@email.com");
+        ReservationService.reserveARoom(customer, first, dateFormat.parse("03/01/2099"), dateFormat.parse("03/03/2099"));
+        ReservationService.reserveARoom(customer, first, dateFormat.parse("03/10/2099"), dateFormat.parse("03/12/2099"));
+        ReservationService.reserveARoom(customer, second, dateFormat.parse("03/02/2099"), dateFormat.parse("03/04/2099"));
+
+        ReservationFilter rooms = ReservationFilter.all().rooms(List.of("X-EXPORT-1", "X-EXPORT-2"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, ReservationExporter.export(ExportFormat.CSV, rooms, out));
+        out.reset();
+        assertEquals(2, ReservationExporter.export(ExportFormat.CSV,
+                rooms.between(dateFormat.parse("03/02/2099"), dateFormat.parse("03/05/2099")), out));
+        assertEquals(ReservationExporter.CSV_HEADER + "\n"
+                     + "X-EXPORT-1,SINGLE,80.00,export@email.com,Export,Filter,2099-03-01,2099-03-03,2\n"
+                     + "X-EXPORT-2,SINGLE,80.00,export@email.com,Export,Filter,2099-03-02,2099-03-04,2\n",
+                     out.toString(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> rooms.between(JULY_1_2099, JULY_1_2099));
+    }
+}
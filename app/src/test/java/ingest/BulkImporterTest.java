@@ -0,0 +1,188 @@
+package ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import export.ExportFormat;
+import export.ReservationExporter;
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import service.CustomerService;
+import service.ReservationService;
+import utils.EpochDays;
+
+/**
+ * Test class for the {@link ingest.BulkImporter} class.
+ * The services keep static state, so every test uses its own room numbers and emails.
+ */
+public class BulkImporterTest {
+
+    private static ImportReport importText(ExportFormat format, String text) throws IOException {
+        return BulkImporter.importFrom(format, new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<String> errors(ImportReport report) {
+        return report.getErrors().stream().map(ImportError::toString).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that a CSV file adds its rooms, customers and stays, and reports each bad record by line.
+     *
+     * @throws IOException if reading fails
+     */
+    @Test
+    public void testCsvImport() throws IOException {
+        ImportReport report = importText(ExportFormat.CSV,
+                "room_number,room_type,price,email,first_name,last_name,check_in,check_out\n"
+                + "I-CSV-1,SINGLE,80,,,,,\n"
+                + ",,,csv.one@email.com,Ada,\"Love, \"\"lace\"\"\",,\n"
+                + "I-CSV-2,DOUBLE,0,csv.two@email.com,Bo,Smith,2020-01-01,2020-01-04\n"
+                + "I-CSV-1,SINGLE,80,csv.one@email.com,Ada,\"Love, \"\"lace\"\"\",2099-03-01,2099-03-03\n"
+                + "I-CSV-1,,,csv.one@email.com,,,2099-03-02,2099-03-04\n"
+                + "I-CSV-1,DOUBLE,80,,,,,\n"
+                + ",,,csv.bad@email,Bad,Email,,\n"
+                + "I-CSV-9,,,csv.one@email.com,,,2099-03-01,2099-03-02\n"
+                + "I-CSV-1,,,csv.one@email.com,,,2099-03-05,03/06/2099\n"
+                + "I-CSV-1,SINGLE\n");
+
+        assertEquals(10, report.getRecords());
+        assertEquals(2, report.getRooms());
+        assertEquals(2, report.getCustomers());
+        assertEquals(2, report.getReservations());
+        assertEquals(List.of("record 6: Room I-CSV-1 is already reserved for the selected dates.",
+                             "record 7: Room I-CSV-1 is defined differently by an earlier record.",
+                             "record 8: Invalid email format, please enter correct format for email.",
+                             "record 9: There is no room I-CSV-9.",
+                             "record 10: Invalid check-out date 03/06/2099, expected yyyy-MM-dd.",
+                             "record 11: Expected 8 fields but found 2."), errors(report));
+
+        assertTrue(ReservationService.getARoom("I-CSV-2") instanceof FreeRoom);
+        assertEquals("Love, \"lace\"", CustomerService.getCustomer("csv.one@email.com").getLastName());
+        Reservation past = ReservationService.streamReservations("I-CSV-2").findFirst().orElseThrow();
+        assertEquals(LocalDate.of(2020, 1, 1).toEpochDay(), past.getCheckInDay());
+    }
+
+    /**
+     * Tests that a room marked free is only accepted without a price.
+     *
+     * @throws IOException if reading fails
+     */
+    @Test
+    public void testFreeRoomWithPriceIsRejected() throws IOException {
+        ImportReport report = importText(ExportFormat.CSV,
+                "room_number,room_type,price,free_room\n"
+                + "I-FREE-1,SINGLE,25,true\n"
+                + "I-FREE-2,SINGLE,0,true\n");
+
+        assertEquals(1, report.getRooms());
+        assertEquals(List.of("record 2: A free room cannot have price 25."), errors(report));
+        assertTrue(ReservationService.getARoom("I-FREE-2") instanceof FreeRoom);
+    }
+
+    /**
+     * Tests that a room missing its type or price is reported as a missing field.
+     *
+     * @throws IOException if reading fails
+     */
+    @Test
+    public void testRoomWithMissingFieldIsRejected() throws IOException {
+        ImportReport report = importText(ExportFormat.CSV,
+                "room_number,room_type,price\n"
+                + "I-MISSING-1,SINGLE,\n"
+                + "I-MISSING-2,,40\n");
+
+        assertEquals(0, report.getRooms());
+        assertEquals(List.of("record 2: Room price must not be null.", "record 3: Room type must not be null."),
+                     errors(report));
+    }
+
+    /**
+     * Tests that a record breaking several rules is reported with all of them, in field order.
+     *
+     * @throws IOException if reading fails
+     */
+    @Test
+    public void testEveryViolationIsReported() throws IOException {
+        ImportReport report = importText(ExportFormat.CSV,
+                "room_number,room_type,price,email,first_name,last_name,check_in,check_out\n"
+                + "I-MANY-1,SUITE,-5,many@email,,Smith,2099-05-02,2099-05-01\n");
+
+        assertEquals(0, report.getRooms() + report.getCustomers() + report.getReservations());
+        assertEquals(List.of("record 2: Invalid room type SUITE, expected SINGLE or DOUBLE. Invalid price -5. "
+                             + "First name must not be empty or null. "
+                             + "Invalid email format, please enter correct format for email. "
+                             + "Check-in date must be before check-out date."), errors(report));
+    }
+
+    /**
+     * Tests that a binary export imports back into the same rooms, customers and stays, and that importing it
+     * again reports the stays as taken without adding anything.
+     *
+     * @throws IOException if reading or writing fails
+     */
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        int today = EpochDays.today();
+        IRoom room = new Room("I-BIN-1", 120.0, RoomType.DOUBLE, true);
+        Customer first = new Customer("Bin", "One", "bin.one@email.com");
+        Customer second = new Customer("Bin", "Two", "bin.two@email.com");
+        List<Reservation> reservations = List.of(Reservation.restore(room, first, today + 10, today + 12),
+                                                 Reservation.restore(room, second, today + 12, today + 15));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReservationExporter.export(reservations.iterator(), ExportFormat.BINARY, Channels.newChannel(out));
+
+        ImportReport report = BulkImporter.importFrom(ExportFormat.BINARY, new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(5, report.getRecords());
+        assertEquals(List.of(), report.getErrors());
+        assertEquals(2, report.getReservations());
+        assertEquals(reservations, ReservationService.streamReservations("I-BIN-1").collect(Collectors.toList()));
+        assertTrue(!ReservationService.findRooms(today + 11, today + 13).contains(ReservationService.getARoom("I-BIN-1")));
+        assertTrue(ReservationService.findRooms(today + 15, today + 16).contains(ReservationService.getARoom("I-BIN-1")));
+
+        ImportReport again = BulkImporter.importFrom(ExportFormat.BINARY, new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(0, again.getRooms() + again.getCustomers() + again.getReservations());
+        assertEquals(2, again.getErrors().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> BulkImporter.importFrom(ExportFormat.BINARY, new ByteArrayInputStream(new byte[3])));
+    }
+
+    /**
+     * Tests that NDJSON lines are imported by member name and a malformed line only rejects itself.
+     *
+     * @throws IOException if reading fails
+     */
+    @Test
+    public void testNdjsonImport() throws IOException {
+        ImportReport report = importText(ExportFormat.NDJSON,
+                "{\"roomNumber\":\"I-JSON-1\",\"roomType\":\"single\",\"price\":55.5,\"email\":\"json@email.com\","
+                + "\"firstName\":\"Jay\",\"lastName\":\"Son\",\"checkIn\":\"2099-04-01\",\"checkOut\":\"2099-04-02\"}\n"
+                + "\n"
+                + "{\"roomNumber\": \"I-JSON-2\",\n"
+                + "{\"email\":\"json@email.com\",\"firstName\":\"Other\",\"lastName\":\"Name\"}\n");
+
+        assertEquals(3, report.getRecords());
+        assertEquals(1, report.getReservations());
+        assertEquals(2, report.getErrors().size());
+        assertEquals(3, report.getErrors().get(0).getRecord());
+        assertEquals("An account with the email json@email.com already exists with a different name.",
+                     report.getErrors().get(1).getMessage());
+        assertEquals(55.5, ReservationService.getARoom("I-JSON-1").getRoomPrice());
+    }
+}
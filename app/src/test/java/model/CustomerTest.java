@@ -1,6 +1,7 @@
 package model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -103,4 +104,31 @@ public class CustomerTest {
             new Customer("Abubeker", "Abdullahi", "@email.com");
         });
     }
+
+    /**
+     * Tests that customers with the same email, ignoring case, are equal and share a hash code.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        Customer sameEmail = new Customer("Abu", "Abdullahi", "Abubeker@Email.com");
+        Customer otherEmail = new Customer("Abubeker", "Abdullahi", "other@email.com");
+
+        assertEquals(customer, sameEmail);
+        assertEquals(customer.hashCode(), sameEmail.hashCode());
+        assertNotEquals(customer, otherEmail);
+    }
+
+    /**
+     * Tests that equality follows the normalized email even where ignoring case character by character would not,
+     * so equal customers always share a hash code.
+     */
+    @Test
+    public void testEqualsMatchesNormalizedEmail() {
+        Customer dotted = new Customer("Abubeker", "Abdullahi", "\u0130@email.com");
+        Customer plain = new Customer("Abubeker", "Abdullahi", "i@email.com");
+
+        assertNotEquals(dotted, plain);
+        assertEquals(new Customer("Abu", "Abdullahi", "\u0130@EMAIL.com"), dotted);
+        assertEquals(new Customer("Abu", "Abdullahi", "\u0130@EMAIL.com").hashCode(), dotted.hashCode());
+    }
 }
@@ -149,4 +149,21 @@ public class ReservationTest {
             new Reservation(room, customer, pastDate, checkOutDate);
         });
     }
+
+    /**
+     * Tests that the dates are kept as epoch days and cannot be changed through the returned Date objects.
+     * 
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testDatesAreCopiedAndStoredAsDays() throws ParseException {
+        Reservation reservation = new Reservation(room, customer, checkInDate, checkOutDate);
+
+        reservation.getCheckInDate().setTime(0);
+        checkInDate.setTime(0);
+
+        assertEquals(dateFormat.parse("06/15/2099"), reservation.getCheckInDate());
+        assertEquals(5, reservation.getNights());
+        assertEquals(reservation.getCheckInDay() + 5, reservation.getCheckOutDay());
+    }
 }
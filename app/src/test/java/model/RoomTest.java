@@ -28,6 +28,7 @@ public class RoomTest {
      * Tests the setter and getter methods of the {@link model.Room} class.
      */
     @Test
+    @SuppressWarnings("deprecation")
     public void testRoomSettersAndGetters() {
         assertEquals("100", freeroom.getRoomNumber());
         assertEquals(0.0, freeroom.getRoomPrice());
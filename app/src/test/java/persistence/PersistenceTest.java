@@ -0,0 +1,228 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import codec.RecordDecoder;
+import codec.RecordHandler;
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import service.CustomerService;
+import service.ReservationService;
+
+/**
+ * Test class for the {@link persistence.Persistence} class.
+ */
+public class PersistenceTest {
+
+    /**
+     * Tests that mutations are logged, and that a checkpoint writes a snapshot and starts a new log segment.
+     *
+     * @throws Exception if the data directory cannot be used
+     */
+    @Test
+    public void testLogAndCheckpoint() throws Exception {
+        Path directory = Files.createTempDirectory("persistence-test");
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
+
+        try (Persistence persistence = Persistence.open(directory, FsyncPolicy.ALWAYS, 0)) {
+            IRoom room = new Room("P-101", 99.0, RoomType.DOUBLE, true);
+            ReservationService.addRoom(room);
+            CustomerService.addCustomer("persistence@email.com", "Abubeker", "Abdullahi");
+            ReservationService.reserveARoom(CustomerService.getCustomer("persistence@email.com"), room,
+                    dateFormat.parse("11/01/2099"), dateFormat.parse("11/03/2099"));
+
+            assertEquals(3L, WriteAheadLog.replay(directory.resolve("hotel-0.wal"), record -> { }));
+
+            persistence.checkpoint();
+            ReservationService.addRoom(new Room("P-102", 99.0, RoomType.SINGLE, true));
+        }
+
+        assertFalse(Files.exists(directory.resolve("hotel-0.wal")));
+        assertTrue(Files.exists(directory.resolve("snapshot-1.bin")));
+        assertEquals(1L, WriteAheadLog.replay(directory.resolve("hotel-1.wal"), record -> { }));
+
+        List<String> reservedRooms = new ArrayList<>();
+        long snapshotRecords = Snapshot.load(directory.resolve("snapshot-1.bin"), new RecordHandler() {
+            @Override
+            public void room(String roomNumber, long priceCents, RoomType roomType, boolean freeRoom, boolean isFree) {
+            }
+
+            @Override
+            public void customer(String email, String firstName, String lastName) {
+            }
+
+            @Override
+            public void reservation(String roomNumber, String customerEmail, int checkInDay, int checkOutDay) {
+                reservedRooms.add(roomNumber);
+            }
+        });
+        assertTrue(reservedRooms.contains("P-101"));
+        assertEquals((long) (ReservationService.getAllRooms().size() - 1 + CustomerService.getAllCustomers().size()
+                + ReservationService.getAllReservations().size()), snapshotRecords);
+    }
+
+    /**
+     * Tests that batches added by a bulk load are logged record by record.
+     *
+     * @throws Exception if the data directory cannot be used
+     */
+    @Test
+    public void testBatchesAreLogged() throws Exception {
+        Path directory = Files.createTempDirectory("persistence-batch-test");
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
+
+        Persistence persistence = Persistence.open(directory, FsyncPolicy.ALWAYS, 0);
+        try {
+            IRoom first = new Room("P-BATCH-1", 99.0, RoomType.DOUBLE, true);
+            IRoom second = new Room("P-BATCH-2", 99.0, RoomType.SINGLE, true);
+            Customer customer = new Customer("Batch", "Logged", "persistence.batch@email.com");
+            ReservationService.addRooms(List.of(first, second));
+            CustomerService.addCustomers(List.of(customer));
+            ReservationService.restoreReservations(List.of(
+                    Reservation.restore(first, customer, dateFormat.parse("12/01/2099"), dateFormat.parse("12/03/2099")),
+                    Reservation.restore(second, customer, dateFormat.parse("12/01/2099"), dateFormat.parse("12/03/2099"))));
+
+            assertEquals(5L, WriteAheadLog.replay(directory.resolve("hotel-0.wal"), record -> { }));
+        } finally {
+            persistence.close();
+        }
+    }
+
+    /**
+     * Tests that a record that fails to encode after taking a dictionary id moves logging to a new segment, so the
+     * records after it can still be decoded.
+     *
+     * @throws Exception if the data directory cannot be used
+     */
+    @Test
+    public void testFailedAppendStartsNewSegment() throws Exception {
+        Path directory = Files.createTempDirectory("persistence-failure-test");
+        IRoom broken = new IRoom() {
+            @Override
+            public String getRoomNumber() {
+                return "P-BROKEN";
+            }
+
+            @Override
+            public Double getRoomPrice() {
+                return null;
+            }
+
+            @Override
+            public RoomType getRoomType() {
+                return RoomType.SINGLE;
+            }
+
+            @Override
+            public boolean isFree() {
+                return false;
+            }
+        };
+
+        Persistence persistence = Persistence.open(directory, FsyncPolicy.ALWAYS, 0);
+        try {
+            assertThrows(RuntimeException.class, () -> ReservationService.addRoom(broken));
+            ReservationService.addRoom(new Room("P-AFTER", 99.0, RoomType.SINGLE, true));
+        } finally {
+            persistence.close();
+        }
+
+        List<String> rooms = new ArrayList<>();
+        RecordDecoder decoder = new RecordDecoder();
+        WriteAheadLog.replay(directory.resolve("hotel-1.wal"), record -> decoder.decode(record, new RecordHandler() {
+            @Override
+            public void room(String roomNumber, long priceCents, RoomType roomType, boolean freeRoom, boolean isFree) {
+                rooms.add(roomNumber);
+            }
+
+            @Override
+            public void customer(String email, String firstName, String lastName) {
+            }
+
+            @Override
+            public void reservation(String roomNumber, String customerEmail, int checkInDay, int checkOutDay) {
+            }
+        }));
+        assertEquals(List.of("P-AFTER"), rooms);
+        assertEquals(0L, WriteAheadLog.replay(directory.resolve("hotel-0.wal"), record -> { }));
+        assertNull(ReservationService.getARoom("P-BROKEN"));
+    }
+
+    /**
+     * Tests that a snapshot with a damaged byte or a torn tail fails its checksum before any record is applied.
+     *
+     * @throws Exception if the snapshot cannot be written
+     */
+    @Test
+    public void testCorruptSnapshotIsRejected() throws Exception {
+        Path directory = Files.createTempDirectory("persistence-snapshot-test");
+        Path path = directory.resolve("snapshot-1.bin");
+        Snapshot.write(path, List.of(new Room("P-SNAP-1", 99.0, RoomType.SINGLE, true),
+                new Room("P-SNAP-2", 99.0, RoomType.DOUBLE, true)), List.of(), List.of());
+        byte[] bytes = Files.readAllBytes(path);
+        List<String> rooms = new ArrayList<>();
+        RecordHandler handler = new RecordHandler() {
+            @Override
+            public void room(String roomNumber, long priceCents, RoomType roomType, boolean freeRoom, boolean isFree) {
+                rooms.add(roomNumber);
+            }
+
+            @Override
+            public void customer(String email, String firstName, String lastName) {
+            }
+
+            @Override
+            public void reservation(String roomNumber, String customerEmail, int checkInDay, int checkOutDay) {
+            }
+        };
+        assertEquals(2L, Snapshot.load(path, handler));
+        rooms.clear();
+
+        byte[] damaged = bytes.clone();
+        damaged[damaged.length - 8] ^= 1;
+        Files.write(path, damaged);
+        assertThrows(IOException.class, () -> Snapshot.load(path, handler));
+
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> Snapshot.load(path, handler));
+        assertTrue(rooms.isEmpty());
+    }
+
+    /**
+     * Tests that replayed rooms are added in one batch before the first record that may refer to them.
+     */
+    @Test
+    public void testReplayedRoomsAreBatched() {
+        ServiceRecordApplier applier = new ServiceRecordApplier();
+        applier.room("P-APPLY-1", 9900, RoomType.SINGLE, false, false);
+        applier.room("P-APPLY-2", 0, RoomType.DOUBLE, true, true);
+        assertNull(ReservationService.getARoom("P-APPLY-1"));
+
+        applier.customer("persistence.apply@email.com", "Batch", "Applied");
+        applier.reservation("P-APPLY-2", "persistence.apply@email.com", 200_000, 200_002);
+        assertNotNull(ReservationService.getARoom("P-APPLY-1"));
+        assertFalse(ReservationService.isRoomAvailable(ReservationService.getARoom("P-APPLY-2"), 200_001, 200_002));
+
+        applier.room("P-APPLY-3", 9900, RoomType.SINGLE, false, false);
+        applier.flush();
+        assertNotNull(ReservationService.getARoom("P-APPLY-3"));
+    }
+}
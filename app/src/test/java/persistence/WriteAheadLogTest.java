@@ -0,0 +1,258 @@
+package persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link persistence.WriteAheadLog} class.
+ */
+public class WriteAheadLogTest {
+
+    private Path logPath;
+
+    /**
+     * Creates an empty log location before each test.
+     *
+     * @throws IOException if the temporary directory cannot be created
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        logPath = Files.createTempDirectory("wal-test").resolve("test.wal");
+    }
+
+    /**
+     * Tests that records appended from many threads are all replayed.
+     *
+     * @throws Exception if an append task fails
+     */
+    @Test
+    public void testConcurrentAppendAndReplay() throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(logPath, FsyncPolicy.ALWAYS, 0)) {
+            for (int i = 0; i < 200; i++) {
+                int value = i;
+                tasks.add(() -> {
+                    log.append(ByteBuffer.allocate(Integer.BYTES).putInt(0, value));
+                    return null;
+                });
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                for (Future<Void> result : executor.invokeAll(tasks)) {
+                    result.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        Set<Integer> values = new HashSet<>();
+        long records = WriteAheadLog.replay(logPath, payload -> values.add(payload.getInt()));
+
+        assertEquals(200L, records);
+        assertEquals(200, values.size());
+    }
+
+    /**
+     * Tests that a torn record at the end of the log is dropped and cut off.
+     *
+     * @throws IOException if the log cannot be written or read
+     */
+    @Test
+    public void testTornTailIsTruncated() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(logPath, FsyncPolicy.NEVER, 0)) {
+            log.append(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+            log.append(ByteBuffer.wrap(new byte[] {4, 5, 6}));
+        }
+        long goodSize = Files.size(logPath);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(6).putInt(0, 100));
+        }
+
+        List<Byte> firstBytes = new ArrayList<>();
+        long records = WriteAheadLog.replay(logPath, payload -> firstBytes.add(payload.get()));
+
+        assertEquals(2L, records);
+        assertEquals(List.of((byte) 1, (byte) 4), firstBytes);
+        assertEquals(goodSize, Files.size(logPath));
+    }
+
+    /**
+     * Tests that a write that fails partway through a frame fails the log, so no later record is appended behind
+     * the torn frame, and that the torn bytes are cut off.
+     *
+     * @throws IOException if the log cannot be opened or read
+     */
+    @Test
+    public void testFailedWriteFailsTheLog() throws IOException {
+        FailingChannel channel = new FailingChannel(logPath);
+        try (WriteAheadLog log = new WriteAheadLog(channel, "test", FsyncPolicy.NEVER, 0)) {
+            log.append(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+            channel.tearNextWrite = true;
+            assertThrows(UncheckedIOException.class, () -> log.append(ByteBuffer.wrap(new byte[] {4, 5, 6})));
+            assertTrue(log.isFailed());
+            assertThrows(UncheckedIOException.class, () -> log.append(ByteBuffer.wrap(new byte[] {7, 8, 9})));
+        }
+
+        List<Byte> firstBytes = new ArrayList<>();
+        assertEquals(1L, WriteAheadLog.replay(logPath, payload -> firstBytes.add(payload.get())));
+        assertEquals(List.of((byte) 1), firstBytes);
+    }
+
+    /**
+     * Tests that a record whose force fails is rejected and cut off, so replay does not bring it back.
+     *
+     * @throws IOException if the log cannot be opened or read
+     */
+    @Test
+    public void testFailedForceIsFatal() throws IOException {
+        FailingChannel channel = new FailingChannel(logPath);
+        try (WriteAheadLog log = new WriteAheadLog(channel, "test", FsyncPolicy.ALWAYS, 0)) {
+            log.append(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+            channel.failForce = true;
+            assertThrows(UncheckedIOException.class, () -> log.append(ByteBuffer.wrap(new byte[] {4, 5, 6})));
+            channel.failForce = false;
+            assertThrows(UncheckedIOException.class, () -> log.append(ByteBuffer.wrap(new byte[] {7, 8, 9})));
+        }
+
+        List<Byte> firstBytes = new ArrayList<>();
+        assertEquals(1L, WriteAheadLog.replay(logPath, payload -> firstBytes.add(payload.get())));
+        assertEquals(List.of((byte) 1), firstBytes);
+    }
+
+    /**
+     * A file channel that can tear its next gathering write after a few bytes, or fail to force.
+     */
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel file;
+        volatile boolean tearNextWrite;
+        volatile boolean failForce;
+
+        FailingChannel(Path path) throws IOException {
+            this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            if (tearNextWrite) {
+                tearNextWrite = false;
+                ByteBuffer part = sources[offset].duplicate();
+                part.limit(part.position() + 3);
+                file.write(part);
+                throw new IOException("Simulated torn write.");
+            }
+            return file.write(sources, offset, length);
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (failForce) {
+                throw new IOException("Simulated force failure.");
+            }
+            file.force(metaData);
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            return file.read(target);
+        }
+
+        @Override
+        public long read(ByteBuffer[] targets, int offset, int length) throws IOException {
+            return file.read(targets, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            return file.write(source);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return file.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            file.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return file.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            file.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return file.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            return file.transferFrom(source, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer target, long position) throws IOException {
+            return file.read(target, position);
+        }
+
+        @Override
+        public int write(ByteBuffer source, long position) throws IOException {
+            return file.write(source, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return file.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return file.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return file.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import service.ReservationService;
+
+/**
+ * Test class for the {@link pricing.PricingEngine} class.
+ * The services keep static state, so the tests book their own rooms in a range of nights no other test uses, and
+ * restore the default policy afterwards.
+ */
+public class PricingEngineTest {
+
+    private static final int FROM_DAY = 121_023;
+
+    /**
+     * Restores the default pricing policy.
+     */
+    @AfterEach
+    public void resetPolicy() {
+        PricingEngine.setPolicy(PricingPolicy.DEFAULT);
+    }
+
+    /**
+     * Tests that seasonal rates apply per room type and night, later rates win, stays spanning cached blocks are
+     * summed, and the length-of-stay discount depends on the number of nights.
+     */
+    @Test
+    public void testRatesAndStayDiscounts() {
+        RateTable rates = RateTable.EMPTY
+                .withRate(RoomType.SINGLE, FROM_DAY, FROM_DAY + 2, 1.5)
+                .withRate(null, FROM_DAY + 1, FROM_DAY + 2, 2.0);
+        PricingEngine.setPolicy(PricingPolicy.DEFAULT.withRateTable(rates)
+                .withStayDiscount(3, 0.1)
+                .withStayDiscount(7, 0.2));
+        IRoom single = new Room("PRICING-1", 100.0, RoomType.SINGLE, true);
+        IRoom twin = new Room("PRICING-2", 200.0, RoomType.DOUBLE, true);
+        IRoom free = new FreeRoom("PRICING-3", 0.0, RoomType.SINGLE, true);
+
+        List<PriceQuote> quotes = PricingEngine.quote(List.of(single, twin, free), FROM_DAY, FROM_DAY + 3);
+        assertEquals(450.0, quotes.get(0).getSubtotal(), 1e-9);
+        assertEquals(405.0, quotes.get(0).getTotal(), 1e-9);
+        assertEquals(800.0, quotes.get(1).getSubtotal(), 1e-9);
+        assertEquals(720.0, quotes.get(1).getTotal(), 1e-9);
+        assertEquals(0.0, quotes.get(2).getTotal(), 1e-9);
+        assertEquals(3, quotes.get(2).getNights());
+
+        assertEquals(350.0, PricingEngine.quote(single, FROM_DAY, FROM_DAY + 2).getTotal(), 1e-9);
+        assertEquals(0.8 * 950.0, PricingEngine.quote(single, FROM_DAY, FROM_DAY + 8).getTotal(), 1e-9);
+    }
+
+    /**
+     * Tests that occupancy multipliers raise the rate on busy nights and that cached rates follow new reservations.
+     */
+    @Test
+    public void testOccupancyMultiplierFollowsReservations() {
+        PricingEngine.setPolicy(PricingPolicy.DEFAULT.withOccupancyMultiplier(1e-9, 1.5));
+        IRoom booked = new Room("PRICING-4", 80.0, RoomType.DOUBLE, true);
+        IRoom quoted = new Room("PRICING-5", 100.0, RoomType.DOUBLE, true);
+        ReservationService.addRoom(booked);
+        ReservationService.addRoom(quoted);
+        int checkIn = FROM_DAY + 200;
+
+        assertEquals(200.0, PricingEngine.quote(quoted, checkIn, checkIn + 2).getTotal(), 1e-9);
+
+        Customer customer = new Customer("Abubeker", "Abdullahi", "pricing@email.com");
+        ReservationService.restoreReservation(Reservation.restore(booked, customer, checkIn, checkIn + 1));
+        assertEquals(250.0, PricingEngine.quote(quoted, checkIn, checkIn + 2).getTotal(), 1e-9);
+    }
+
+    /**
+     * Tests that empty stays, missing rooms and a missing policy are rejected.
+     */
+    @Test
+    public void testRejectsInvalidInput() {
+        IRoom room = new Room("PRICING-6", 100.0, RoomType.SINGLE, true);
+        assertThrows(IllegalArgumentException.class, () -> PricingEngine.quote(room, FROM_DAY, FROM_DAY));
+        assertThrows(IllegalArgumentException.class, () -> PricingEngine.quote(room, FROM_DAY + 1, FROM_DAY));
+        assertThrows(IllegalArgumentException.class, () -> PricingEngine.quote((IRoom) null, FROM_DAY, FROM_DAY + 1));
+        assertThrows(IllegalArgumentException.class, () -> PricingEngine.setPolicy(null));
+    }
+}
@@ -0,0 +1,72 @@
+package pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import model.Room.RoomType;
+
+/**
+ * Test class for the {@link pricing.PricingPolicy} and {@link pricing.RateTable} classes.
+ */
+public class PricingPolicyTest {
+
+    /**
+     * Tests that each occupancy multiplier and stay discount applies up to the next one, and that setting one
+     * again replaces it.
+     */
+    @Test
+    public void testMultipliersAndDiscounts() {
+        PricingPolicy policy = PricingPolicy.DEFAULT
+                .withOccupancyMultiplier(0.9, 1.5)
+                .withOccupancyMultiplier(0.5, 1.1)
+                .withStayDiscount(7, 0.15)
+                .withStayDiscount(3, 0.05)
+                .withStayDiscount(7, 0.2);
+
+        assertTrue(policy.hasOccupancyMultipliers());
+        assertEquals(1.0, policy.getOccupancyMultiplier(0.4), 1e-9);
+        assertEquals(1.1, policy.getOccupancyMultiplier(0.5), 1e-9);
+        assertEquals(1.1, policy.getOccupancyMultiplier(0.89), 1e-9);
+        assertEquals(1.5, policy.getOccupancyMultiplier(1.0), 1e-9);
+        assertEquals(0.0, policy.getStayDiscount(2), 1e-9);
+        assertEquals(0.05, policy.getStayDiscount(6), 1e-9);
+        assertEquals(0.2, policy.getStayDiscount(30), 1e-9);
+        assertFalse(PricingPolicy.DEFAULT.hasOccupancyMultipliers());
+        assertEquals(0.0, PricingPolicy.DEFAULT.getStayDiscount(30), 1e-9);
+    }
+
+    /**
+     * Tests that a rate table returns the latest matching rate and that adding a rate leaves the old table unchanged.
+     */
+    @Test
+    public void testRateTable() {
+        RateTable base = RateTable.EMPTY.withRate(null, 100, 200, 1.2);
+        RateTable holidays = base.withRate(RoomType.DOUBLE, 150, 160, 2.0);
+
+        assertEquals(1.0, holidays.getFactor(RoomType.SINGLE, 99), 1e-9);
+        assertEquals(1.2, holidays.getFactor(RoomType.SINGLE, 155), 1e-9);
+        assertEquals(2.0, holidays.getFactor(RoomType.DOUBLE, 155), 1e-9);
+        assertEquals(1.2, holidays.getFactor(RoomType.DOUBLE, 160), 1e-9);
+        assertEquals(1.2, base.getFactor(RoomType.DOUBLE, 155), 1e-9);
+        assertEquals(1, base.size());
+        assertEquals(2, holidays.size());
+    }
+
+    /**
+     * Tests that invalid rates, multipliers and discounts are rejected.
+     */
+    @Test
+    public void testRejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> RateTable.EMPTY.withRate(null, 10, 10, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> RateTable.EMPTY.withRate(null, 10, 11, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> PricingPolicy.DEFAULT.withOccupancyMultiplier(1.5, 1.2));
+        assertThrows(IllegalArgumentException.class, () -> PricingPolicy.DEFAULT.withOccupancyMultiplier(0.5, -1));
+        assertThrows(IllegalArgumentException.class, () -> PricingPolicy.DEFAULT.withStayDiscount(0, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> PricingPolicy.DEFAULT.withStayDiscount(7, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> PricingPolicy.DEFAULT.withRateTable(null));
+    }
+}
@@ -0,0 +1,224 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link server.HotelServer} class.
+ */
+public class HotelServerTest {
+
+    private HotelServer server;
+    private HttpClient client;
+
+    /**
+     * Starts a server on a free port before each test.
+     *
+     * @throws IOException if the server cannot be started
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HotelServer.start(new InetSocketAddress("127.0.0.1", 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    /**
+     * Stops the server after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(request(path, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String path, String body) {
+        return HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    /**
+     * Tests that an import body over the server's limit is rejected, whether or not its length is declared.
+     *
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void testImportBodyIsCapped() throws Exception {
+        try (HotelServer small = HotelServer.start(new InetSocketAddress("127.0.0.1", 0), 64)) {
+            URI uri = URI.create("http://127.0.0.1:" + small.getPort() + "/import?format=csv");
+            String body = "room_number,room_type,price\n" + "H-CAP-1,SINGLE,80\n".repeat(10);
+            HttpResponse<String> declared = client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> streamed = client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(413, declared.statusCode());
+            assertEquals(413, streamed.statusCode());
+            assertEquals(200, client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString("room_number,room_type,price\n")).build(),
+                    HttpResponse.BodyHandlers.ofString()).statusCode());
+        }
+    }
+
+    /**
+     * Tests creating a customer and a room, finding the room and booking it.
+     *
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void testBookingFlow() throws Exception {
+        assertEquals(201, post("/customers", "{\"email\":\"http.flow@email.com\",\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}").statusCode());
+        assertEquals(409, post("/customers", "{\"email\":\"http.flow@email.com\",\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}").statusCode());
+        assertEquals(201, post("/rooms", "{\"roomNumber\":\"H-100\",\"price\":120.5,\"roomType\":\"double\"}").statusCode());
+        assertEquals(409, post("/rooms", "{\"roomNumber\":\"H-100\",\"price\":99.0,\"roomType\":\"single\"}").statusCode());
+
+        HttpResponse<String> room = get("/rooms/H-100");
+        assertEquals(200, room.statusCode());
+        assertEquals("{\"roomNumber\":\"H-100\",\"price\":120.5,\"roomType\":\"DOUBLE\",\"freeRoom\":false}", room.body());
+        String found = get("/rooms?checkIn=2099-07-01&checkOut=2099-07-04").body();
+        assertTrue(found.contains("\"H-100\""));
+        assertTrue(found.contains("\"quote\":{\"nights\":3,\"subtotal\":361.5,\"discount\":0.0,\"total\":361.5}"));
+
+        String booking = "{\"email\":\"http.flow@email.com\",\"roomNumber\":\"H-100\",\"checkIn\":\"2099-07-01\",\"checkOut\":\"2099-07-04\"}";
+        HttpResponse<String> booked = post("/reservations", booking);
+        assertEquals(201, booked.statusCode());
+        assertEquals("{\"roomNumber\":\"H-100\",\"email\":\"http.flow@email.com\",\"checkIn\":\"2099-07-01\","
+                     + "\"checkOut\":\"2099-07-04\",\"nights\":3}", booked.body());
+        assertEquals(409, post("/reservations", booking).statusCode());
+
+        assertTrue(get("/customers/http.flow@email.com/reservations").body().contains("\"checkIn\":\"2099-07-01\""));
+        assertTrue(!get("/rooms?checkIn=2099-07-02&checkOut=2099-07-03").body().contains("\"H-100\""));
+    }
+
+    /**
+     * Tests that bad requests get the matching status and a JSON error without terminal colour codes.
+     *
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void testErrors() throws Exception {
+        assertEquals(404, get("/customers/nobody@email.com").statusCode());
+        assertEquals(404, get("/rooms/H-missing").statusCode());
+        assertEquals(404, get("/bookings").statusCode());
+        assertEquals(400, post("/customers", "{\"email\":\"http.bad@email\",\"firstName\":\"A\",\"lastName\":\"B\"}").statusCode());
+        assertEquals(400, post("/customers", "not json").statusCode());
+        assertEquals(400, get("/rooms?checkIn=07/01/2099&checkOut=2099-07-04").statusCode());
+
+        post("/customers", "{\"email\":\"http.err@email.com\",\"firstName\":\"A\",\"lastName\":\"B\"}");
+        post("/rooms", "{\"roomNumber\":\"H-200\",\"price\":90,\"roomType\":\"SINGLE\"}");
+        HttpResponse<String> invalid = post("/reservations",
+                "{\"email\":\"http.err@email.com\",\"roomNumber\":\"H-200\",\"checkIn\":\"2099-07-04\",\"checkOut\":\"2099-07-01\"}");
+        assertEquals(400, invalid.statusCode());
+        assertEquals("{\"error\":\"Check-in date must be before check-out date.\"}", invalid.body());
+    }
+
+    /**
+     * Tests that many concurrent bookings of one room for the same dates produce exactly one reservation.
+     *
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void testConcurrentBookings() throws Exception {
+        post("/rooms", "{\"roomNumber\":\"H-300\",\"price\":90,\"roomType\":\"SINGLE\"}");
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String email = "http.concurrent" + i + "@email.com";
+            post("/customers", "{\"email\":\"" + email + "\",\"firstName\":\"C\",\"lastName\":\"D\"}");
+            responses.add(client.sendAsync(request("/reservations", "{\"email\":\"" + email
+                    + "\",\"roomNumber\":\"H-300\",\"checkIn\":\"2099-08-01\",\"checkOut\":\"2099-08-03\"}"),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+
+        int booked = 0;
+        int conflicts = 0;
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            int status = response.get().statusCode();
+            booked += status == 201 ? 1 : 0;
+            conflicts += status == 409 ? 1 : 0;
+        }
+        assertEquals(1, booked);
+        assertEquals(199, conflicts);
+    }
+
+    /**
+     * Tests that listings can be fetched in pages that follow each other through the cursor.
+     *
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void testPagedListing() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            post("/rooms", "{\"roomNumber\":\"H-PAGE-" + i + "\",\"price\":90,\"roomType\":\"SINGLE\"}");
+        }
+
+        HttpResponse<String> first = get("/rooms?limit=1&cursor=H-PAGE-");
+        assertEquals("{\"items\":[{\"roomNumber\":\"H-PAGE-0\",\"price\":90.0,\"roomType\":\"SINGLE\",\"freeRoom\":false}],"
+                     + "\"nextCursor\":\"H-PAGE-0\"}", first.body());
+        assertTrue(get("/rooms?limit=1&cursor=H-PAGE-0").body().startsWith("{\"items\":[{\"roomNumber\":\"H-PAGE-1\""));
+        assertTrue(get("/rooms").body().contains("\"H-PAGE-2\""));
+        assertEquals(400, get("/rooms?limit=0").statusCode());
+        assertEquals(400, get("/rooms?limit=many").statusCode());
+    }
+
+    /**
+     * Tests that the reservation export streams the filtered rows in the requested format.
+     *
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void testExport() throws Exception {
+        post("/customers", "{\"email\":\"http.export@email.com\",\"firstName\":\"E\",\"lastName\":\"X\"}");
+        post("/rooms", "{\"roomNumber\":\"H-EXPORT\",\"price\":75,\"roomType\":\"SINGLE\"}");
+        post("/reservations", "{\"email\":\"http.export@email.com\",\"roomNumber\":\"H-EXPORT\",\"checkIn\":\"2099-05-01\",\"checkOut\":\"2099-05-03\"}");
+
+        HttpResponse<String> csv = get("/reservations/export?room=H-EXPORT");
+        assertEquals("text/csv; charset=utf-8", csv.headers().firstValue("Content-Type").orElse(""));
+        assertTrue(csv.body().endsWith("\nH-EXPORT,SINGLE,75.00,http.export@email.com,E,X,2099-05-01,2099-05-03,2\n"));
+        assertEquals("", get("/reservations/export?format=ndjson&room=H-EXPORT&from=2099-05-03&to=2099-05-04").body());
+        assertEquals(400, get("/reservations/export?format=xml").statusCode());
+    }
+
+    /**
+     * Tests the occupancy report and the nightly occupancy endpoints.
+     */
+    @Test
+    public void testOccupancyAnalytics() throws Exception {
+        post("/customers", "{\"email\":\"http.analytics@email.com\",\"firstName\":\"A\",\"lastName\":\"N\"}");
+        post("/rooms", "{\"roomNumber\":\"H-ANALYTICS\",\"price\":120,\"roomType\":\"DOUBLE\"}");
+        post("/reservations", "{\"email\":\"http.analytics@email.com\",\"roomNumber\":\"H-ANALYTICS\",\"checkIn\":\"2098-02-01\",\"checkOut\":\"2098-02-03\"}");
+
+        HttpResponse<String> report = get("/analytics/occupancy?from=2098-02-01&to=2098-02-04");
+        assertEquals(200, report.statusCode());
+        assertTrue(report.body().contains("\"DOUBLE\":{\"availableNights\":"));
+        assertTrue(report.body().contains("\"soldNights\":2,\"revenue\":240.0,"));
+        assertTrue(report.body().contains("\"adr\":120.0,"));
+        assertTrue(get("/analytics/occupancy/nightly?from=2098-02-03&to=2098-02-05&roomType=DOUBLE").body().equals("[0.0,0.0]"));
+        assertEquals(400, get("/analytics/occupancy?from=2098-02-04&to=2098-02-01").statusCode());
+    }
+}
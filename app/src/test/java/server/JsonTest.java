@@ -0,0 +1,55 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import utils.JsonParser;
+
+/**
+ * Test class for the {@link server.JsonWriter} and {@link utils.JsonParser} classes.
+ */
+public class JsonTest {
+
+    /**
+     * Tests that separators and escapes are written correctly for nested values.
+     *
+     * @throws IOException if the writer fails
+     */
+    @Test
+    public void testWriter() throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter json = new JsonWriter(out);
+        json.beginObject()
+            .name("text").value("say \"hi\"\n")
+            .name("list").beginArray().value(1).value(2.5).value(true).nullValue().beginObject().endObject().endArray()
+            .name("empty").beginArray().endArray()
+            .endObject();
+
+        assertEquals("{\"text\":\"say \\\"hi\\\"\\n\",\"list\":[1,2.5,true,null,{}],\"empty\":[]}", out.toString());
+    }
+
+    /**
+     * Tests parsing flat objects and rejecting malformed or nested ones.
+     */
+    @Test
+    public void testParser() {
+        Map<String, String> members = JsonParser.parseObject(" { \"a\" : \"x\\u0041\\\"\", \"b\": -1.5e2, \"c\": true, \"d\": null } ");
+
+        assertEquals("xA\"", members.get("a"));
+        assertEquals("-1.5e2", members.get("b"));
+        assertEquals("true", members.get("c"));
+        assertNull(members.get("d"));
+        assertEquals(0, JsonParser.parseObject("{}").size());
+        assertThrows(IllegalArgumentException.class, () -> JsonParser.parseObject("{\"a\": {\"b\": 1}}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonParser.parseObject("{\"a\": 1,}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonParser.parseObject("{\"a\": nope}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonParser.parseObject("{\"a\": 1} x"));
+    }
+}
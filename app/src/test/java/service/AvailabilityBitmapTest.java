@@ -0,0 +1,178 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Customer;
+import model.FreeRoom;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import utils.EpochDays;
+
+/**
+ * Test class for the {@link service.AvailabilityBitmap} class.
+ */
+public class AvailabilityBitmapTest {
+
+    private AvailabilityBitmap bitmap;
+    private IRoom single;
+    private IRoom suite;
+    private int today;
+
+    /**
+     * Sets up the test data before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        bitmap = new AvailabilityBitmap();
+        single = new Room("101", 100.0, RoomType.SINGLE, true);
+        suite = new Room("102", 250.0, RoomType.DOUBLE, true);
+        bitmap.addRoom(single);
+        bitmap.addRoom(suite);
+        today = EpochDays.today();
+    }
+
+    /**
+     * Tests that occupied nights exclude a room and back-to-back stays do not.
+     */
+    @Test
+    public void testFindFreeWithinOneWord() {
+        bitmap.occupy("101", today + 10, today + 15);
+
+        assertEquals(List.of(suite), bitmap.findFree(today + 12, today + 13));
+        assertEquals(List.of(suite), bitmap.findFree(today + 14, today + 20));
+        assertEquals(List.of(single, suite), bitmap.findFree(today + 15, today + 20));
+        assertEquals(List.of(single, suite), bitmap.findFree(today + 5, today + 10));
+    }
+
+    /**
+     * Tests searches and stays that span several words of the bitset.
+     */
+    @Test
+    public void testFindFreeAcrossWords() {
+        bitmap.occupy("102", today + 60, today + 70);
+
+        assertEquals(List.of(single), bitmap.findFree(today + 30, today + 200));
+        assertEquals(List.of(single), bitmap.findFree(today + 63, today + 64));
+        assertEquals(List.of(single), bitmap.findFree(today + 64, today + 65));
+        assertEquals(List.of(single, suite), bitmap.findFree(today + 70, today + 200));
+    }
+
+    /**
+     * Tests that only ranges starting today and ending within the horizon are answered.
+     */
+    @Test
+    public void testOutsideHorizon() {
+        assertNotNull(bitmap.findFree(today, today + 1));
+        assertNotNull(bitmap.findFree(today + 1, today + AvailabilityBitmap.HORIZON_DAYS));
+        assertNull(bitmap.findFree(today - 1, today + 1));
+        assertNull(bitmap.findFree(today + 1, today + AvailabilityBitmap.HORIZON_DAYS + 1));
+        assertNull(bitmap.findFree(today + 1, today + 1));
+    }
+
+    /**
+     * Tests that capacity grows as more rooms are registered.
+     */
+    @Test
+    public void testManyRooms() {
+        for (int i = 0; i < 100; i++) {
+            bitmap.addRoom(new Room("R" + i, 50.0, RoomType.SINGLE, true));
+            bitmap.occupy("R" + i, today + i, today + i + 1);
+        }
+
+        assertEquals(101, bitmap.findFree(today + 50, today + 51).size());
+    }
+
+    /**
+     * Tests that the free start days found in one sweep match a separate search for every start day,
+     * for stays shorter and longer than a word.
+     */
+    @Test
+    public void testFindFreeStartsMatchesFindFree() {
+        Random random = new Random(18);
+        for (int i = 0; i < 20; i++) {
+            bitmap.addRoom(new Room("S" + i, 50.0, RoomType.SINGLE, true));
+            for (int stay = 0; stay < 6; stay++) {
+                int checkIn = today + random.nextInt(300);
+                bitmap.occupy("S" + i, checkIn, checkIn + 1 + random.nextInt(20));
+            }
+        }
+
+        for (int nights : new int[] {1, 2, 5, 64, 100}) {
+            int from = today + 3;
+            int to = today + 400;
+            List<List<IRoom>> starts = bitmap.findFreeStarts(from, to, nights);
+            assertEquals(to - nights - from + 1, starts.size());
+            for (int start = from; start + nights <= to; start++) {
+                List<IRoom> expected = bitmap.findFree(start, start + nights);
+                assertEquals(expected.isEmpty() ? null : expected, starts.get(start - from));
+            }
+        }
+        assertNull(bitmap.findFreeStarts(today - 1, today + 10, 2));
+        assertNull(bitmap.findFreeStarts(today, today + 1, 2));
+    }
+
+    /**
+     * Tests that filtered searches only return rooms of the requested type, kind and price range, cheapest
+     * first, and that a replaced room moves to its new partition.
+     */
+    @Test
+    public void testFindFreeFiltered() {
+        IRoom cheapDouble = new Room("103", 120.0, RoomType.DOUBLE, true);
+        IRoom freeDouble = new FreeRoom("104", 0.0, RoomType.DOUBLE, true);
+        IRoom cheapSingle = new Room("105", 80.0, RoomType.SINGLE, true);
+        bitmap.addRooms(List.of(cheapDouble, freeDouble, cheapSingle));
+        bitmap.occupy("103", today + 5, today + 8);
+
+        RoomFilter doubles = RoomFilter.any().roomType(RoomType.DOUBLE);
+        assertEquals(List.of(freeDouble, cheapDouble, suite), bitmap.findFree(today + 1, today + 3, doubles));
+        assertEquals(List.of(freeDouble, suite), bitmap.findFree(today + 6, today + 7, doubles));
+        assertEquals(List.of(freeDouble, cheapDouble), bitmap.findFree(today + 1, today + 3, doubles.priceBetween(0, 150)));
+        assertEquals(List.of(cheapDouble, suite), bitmap.findFree(today + 1, today + 3, doubles.freeRoom(false)));
+        assertEquals(List.of(freeDouble, cheapSingle, single, cheapDouble, suite),
+                     bitmap.findFree(today + 1, today + 3, RoomFilter.any()));
+        assertEquals(List.of(cheapSingle, single), bitmap.findFree(today + 1, today + 3, RoomFilter.any().priceBetween(80, 100)));
+
+        IRoom repriced = new Room("105", 300.0, RoomType.DOUBLE, true);
+        bitmap.addRoom(repriced);
+        assertEquals(List.of(single), bitmap.findFree(today + 1, today + 3, RoomFilter.any().roomType(RoomType.SINGLE)));
+        assertEquals(List.of(suite, repriced), bitmap.findFree(today + 1, today + 3, doubles.priceBetween(200, 1000)));
+        assertNull(bitmap.findFree(today - 1, today + 3, doubles));
+    }
+
+    /**
+     * Tests that moving the horizon keeps the nights that stay inside it and marks the nights that enter it from
+     * the reservations before the new horizon is searched.
+     */
+    @Test
+    public void testRollMarksNightsEnteringTheHorizon() {
+        int baseDay = today - 130;
+        AvailabilityBitmap rolling = new AvailabilityBitmap(baseDay);
+        rolling.addRoom(single);
+        Customer customer = new Customer("Abubeker", "Abdullahi", "bitmap@email.com");
+        Reservation kept = Reservation.restore(single, customer, today + 10, today + 12);
+        Reservation entering = Reservation.restore(single, customer, baseDay + AvailabilityBitmap.HORIZON_DAYS - 2,
+                                                   baseDay + AvailabilityBitmap.HORIZON_DAYS + 20);
+        rolling.occupy("101", kept.getCheckInDay(), kept.getCheckOutDay());
+        rolling.occupy("101", entering.getCheckInDay(), entering.getCheckOutDay());
+
+        assertTrue(rolling.isRollDue());
+        assertTrue(rolling.roll(List.of(kept, entering)));
+        assertFalse(rolling.isRollDue());
+        assertFalse(rolling.roll(List.of()));
+        assertEquals(List.of(), rolling.findFree(today + 11, today + 12));
+        assertEquals(List.of(), rolling.findFree(entering.getCheckOutDay() - 1, entering.getCheckOutDay()));
+        assertEquals(List.of(single), rolling.findFree(entering.getCheckOutDay(), entering.getCheckOutDay() + 1));
+    }
+}
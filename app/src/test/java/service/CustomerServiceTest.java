@@ -0,0 +1,61 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import model.Customer;
+
+/**
+ * Test class for the {@link service.CustomerService} class.
+ */
+public class CustomerServiceTest {
+
+    /**
+     * Tests that a customer can be looked up by email regardless of case.
+     */
+    @Test
+    public void testGetCustomerIgnoresCase() {
+        CustomerService.addCustomer("lookup@email.com", "Abubeker", "Abdullahi");
+
+        Customer customer = CustomerService.getCustomer("LOOKUP@email.com");
+
+        assertEquals("lookup@email.com", customer.getEmail());
+        assertNull(CustomerService.getCustomer("missing@email.com"));
+        assertNull(CustomerService.getCustomer(null));
+    }
+
+    /**
+     * Tests that adding a customer with an existing email throws an {@link IllegalArgumentException}.
+     */
+    @Test
+    public void testDuplicateEmail() {
+        CustomerService.addCustomer("duplicate@email.com", "Abubeker", "Abdullahi");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            CustomerService.addCustomer("Duplicate@Email.com", "Other", "Person");
+        });
+        assertEquals("Abubeker", CustomerService.getCustomer("duplicate@email.com").getFirstName());
+    }
+
+    /**
+     * Tests that customers are paged in email order without repeats, continuing from the cursor.
+     */
+    @Test
+    public void testGetCustomersPages() {
+        for (int i = 0; i < 5; i++) {
+            CustomerService.addCustomer("page" + i + "@email.com", "Page", "Customer");
+        }
+
+        Page<Customer> first = CustomerService.getCustomers("page0@email.com", 2);
+        Page<Customer> second = CustomerService.getCustomers(first.getNextCursor(), 2);
+
+        assertEquals("page1@email.com", first.getItems().get(0).getEmail());
+        assertEquals("page2@email.com", first.getItems().get(1).getEmail());
+        assertEquals("page3@email.com", second.getItems().get(0).getEmail());
+        assertEquals("page4@email.com", second.getItems().get(1).getEmail());
+        assertEquals(CustomerService.getCustomerCount(), CustomerService.streamCustomers().count());
+    }
+}
@@ -0,0 +1,346 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import model.Customer;
+import model.IRoom;
+import model.Reservation;
+import model.Room;
+import model.Room.RoomType;
+import utils.EpochDays;
+
+/**
+ * Test class for the {@link service.ReservationService} class.
+ * The service keeps static state, so every test uses its own room numbers.
+ */
+public class ReservationServiceTest {
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
+
+    /**
+     * Tests that a room can be retrieved by its room number.
+     */
+    @Test
+    public void testGetARoom() {
+        IRoom room = new Room("R-LOOKUP", 120.0, RoomType.SINGLE, true);
+        ReservationService.addRoom(room);
+
+        assertSame(room, ReservationService.getARoom("R-LOOKUP"));
+        assertNull(ReservationService.getARoom("R-MISSING"));
+        assertNull(ReservationService.getARoom(null));
+    }
+
+    /**
+     * Tests that adding a room with an existing room number replaces the existing room.
+     */
+    @Test
+    public void testAddRoomOverridesExistingRoom() {
+        IRoom original = new Room("R-OVERRIDE", 120.0, RoomType.SINGLE, true);
+        IRoom replacement = new Room("R-OVERRIDE", 180.0, RoomType.DOUBLE, true);
+
+        assertNull(ReservationService.addRoom(original));
+        assertSame(original, ReservationService.addRoom(replacement));
+
+        assertEquals(180.0, ReservationService.getARoom("R-OVERRIDE").getRoomPrice());
+    }
+
+    /**
+     * Tests that a customer's reservations are returned and other customers' are not.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testGetCustomerReservation() throws ParseException {
+        IRoom room = new Room("R-CUSTOMER", 120.0, RoomType.SINGLE, true);
+        ReservationService.addRoom(room);
+        Customer customer = new Customer("Abubeker", "Abdullahi", "reservations@email.com");
+        Customer otherCustomer = new Customer("Other", "Person", "no-reservations@email.com");
+
+        Reservation reservation = ReservationService.reserveARoom(customer, room,
+                dateFormat.parse("07/01/2099"), dateFormat.parse("07/03/2099"));
+
+        assertEquals(List.of(reservation), ReservationService.getCustomerReservation(customer));
+        assertTrue(ReservationService.getCustomerReservation(otherCustomer).isEmpty());
+        assertTrue(ReservationService.getCustomerReservation(null).isEmpty());
+    }
+
+    /**
+     * Tests that booking a room leaves the shared room unchanged and makes it unavailable only for the booked nights.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testBookingDoesNotMutateRoom() throws ParseException {
+        IRoom room = new Room("R-DERIVED", 120.0, RoomType.SINGLE, true);
+        ReservationService.addRoom(room);
+        Customer customer = new Customer("Abubeker", "Abdullahi", "derived@email.com");
+        ReservationService.reserveARoom(customer, room, dateFormat.parse("06/10/2099"), dateFormat.parse("06/12/2099"));
+
+        assertFalse(room.isFree());
+        assertFalse(ReservationService.isRoomAvailable(room, dateFormat.parse("06/11/2099"), dateFormat.parse("06/13/2099")));
+        assertTrue(ReservationService.isRoomAvailable(room, dateFormat.parse("06/12/2099"), dateFormat.parse("06/14/2099")));
+        assertTrue(ReservationService.isRoomAvailable(room, dateFormat.parse("06/08/2099"), dateFormat.parse("06/10/2099")));
+    }
+
+    /**
+     * Tests that of many concurrent adds of one new room number exactly one succeeds and the first room is kept.
+     *
+     * @throws Exception if a task fails
+     */
+    @Test
+    public void testAddRoomIfAbsent() throws Exception {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            IRoom room = new Room("R-IF-ABSENT", 100.0 + i, RoomType.SINGLE, true);
+            tasks.add(() -> ReservationService.addRoomIfAbsent(room));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        int added = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                added += result.get() ? 1 : 0;
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, added);
+        IRoom kept = ReservationService.getARoom("R-IF-ABSENT");
+        assertFalse(ReservationService.addRoomIfAbsent(new Room("R-IF-ABSENT", 1.0, RoomType.DOUBLE, true)));
+        assertSame(kept, ReservationService.getARoom("R-IF-ABSENT"));
+    }
+
+    /**
+     * Tests that booking a room for dates overlapping an existing reservation throws an {@link IllegalArgumentException}.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testOverlappingReservationIsRejected() throws ParseException {
+        IRoom room = new Room("R-OVERLAP", 120.0, RoomType.SINGLE, true);
+        ReservationService.addRoom(room);
+        Customer customer = new Customer("Abubeker", "Abdullahi", "overlap@email.com");
+        ReservationService.reserveARoom(customer, room, dateFormat.parse("08/01/2099"), dateFormat.parse("08/05/2099"));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            ReservationService.reserveARoom(customer, room, dateFormat.parse("08/04/2099"), dateFormat.parse("08/06/2099"));
+        });
+        ReservationService.reserveARoom(customer, room, dateFormat.parse("08/05/2099"), dateFormat.parse("08/06/2099"));
+    }
+
+    /**
+     * Tests the booked, conflict and invalid outcomes of {@link service.ReservationService#tryReserveARoom}.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testTryReserveARoomResults() throws ParseException {
+        IRoom room = new Room("R-RESULT", 120.0, RoomType.SINGLE, true);
+        ReservationService.addRoom(room);
+        Customer customer = new Customer("Abubeker", "Abdullahi", "result@email.com");
+
+        BookingResult booked = ReservationService.tryReserveARoom(customer, room, dateFormat.parse("10/01/2099"), dateFormat.parse("10/03/2099"));
+        BookingResult conflict = ReservationService.tryReserveARoom(customer, room, dateFormat.parse("10/02/2099"), dateFormat.parse("10/04/2099"));
+        BookingResult invalid = ReservationService.tryReserveARoom(customer, room, dateFormat.parse("10/05/2099"), dateFormat.parse("10/04/2099"));
+
+        assertEquals(BookingResult.Status.BOOKED, booked.getStatus());
+        assertEquals(List.of(booked.getReservation()), List.copyOf(ReservationService.getCustomerReservation(customer)));
+        assertEquals(BookingResult.Status.CONFLICT, conflict.getStatus());
+        assertNull(conflict.getReservation());
+        assertEquals(BookingResult.Status.INVALID, invalid.getStatus());
+    }
+
+    /**
+     * Tests that concurrent bookings of the same room and dates succeed exactly once,
+     * while bookings of different rooms all succeed.
+     *
+     * @throws Exception if a booking task fails unexpectedly
+     */
+    @Test
+    public void testConcurrentBookings() throws Exception {
+        IRoom contested = new Room("R-CONTESTED", 120.0, RoomType.SINGLE, true);
+        ReservationService.addRoom(contested);
+        Customer customer = new Customer("Abubeker", "Abdullahi", "concurrent@email.com");
+        Date checkIn = dateFormat.parse("09/01/2099");
+        Date checkOut = dateFormat.parse("09/05/2099");
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            IRoom own = new Room("R-PARALLEL-" + i, 120.0, RoomType.SINGLE, true);
+            ReservationService.addRoom(own);
+            tasks.add(() -> book(customer, contested, checkIn, checkOut));
+            tasks.add(() -> book(customer, own, checkIn, checkOut));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        int booked = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    booked++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(33, booked);
+    }
+
+    private static boolean book(Customer customer, IRoom room, Date checkIn, Date checkOut) throws ParseException {
+        try {
+            ReservationService.reserveARoom(customer, room, checkIn, checkOut);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Tests that paging through rooms visits every room once in room number order, and that the
+     * reservation listing is ordered by room number and then check-in date.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testPagedListings() throws ParseException {
+        for (int i = 0; i < 25; i++) {
+            ReservationService.addRoom(new Room("R-PAGE-" + (char) ('a' + i), 100.0, RoomType.SINGLE, true));
+        }
+        Customer customer = new Customer("Page", "Reader", "pages@email.com");
+        IRoom room = ReservationService.getARoom("R-PAGE-c");
+        Reservation later = ReservationService.reserveARoom(customer, room, dateFormat.parse("09/10/2099"), dateFormat.parse("09/12/2099"));
+        Reservation earlier = ReservationService.reserveARoom(customer, room, dateFormat.parse("09/01/2099"), dateFormat.parse("09/03/2099"));
+
+        List<String> roomNumbers = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<IRoom> page = ReservationService.getRooms(cursor, 7);
+            assertTrue(page.getItems().size() <= 7);
+            page.getItems().forEach(listed -> roomNumbers.add(listed.getRoomNumber()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<String> sorted = new ArrayList<>(roomNumbers);
+        sorted.sort(null);
+        assertEquals(sorted, roomNumbers);
+        assertEquals(ReservationService.getRoomCount(), roomNumbers.size());
+        assertTrue(roomNumbers.containsAll(List.of("R-PAGE-a", "R-PAGE-y")));
+        assertEquals(ReservationService.streamRooms().map(IRoom::getRoomNumber).collect(Collectors.toList()), roomNumbers);
+
+        List<Reservation> pageReservations = ReservationService.streamReservations()
+                .filter(reservation -> reservation.getRoom() == room).collect(Collectors.toList());
+        assertEquals(List.of(earlier, later), pageReservations);
+        assertThrows(IllegalArgumentException.class, () -> ReservationService.getReservations(null, 0));
+    }
+
+    /**
+     * Tests that a batch restore stores non-overlapping stays, rejects stays that overlap the stored ones or each
+     * other, and reports the results in the order given.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testRestoreReservations() throws ParseException {
+        IRoom first = new Room("R-BATCH-1", 100.0, RoomType.SINGLE, true);
+        IRoom second = new Room("R-BATCH-2", 100.0, RoomType.SINGLE, true);
+        ReservationService.addRooms(List.of(first, second));
+        Customer customer = new Customer("Batch", "Loader", "batch@email.com");
+        ReservationService.reserveARoom(customer, first, dateFormat.parse("11/01/2099"), dateFormat.parse("11/03/2099"));
+
+        List<BookingResult> results = ReservationService.restoreReservations(List.of(
+                Reservation.restore(first, customer, dateFormat.parse("11/05/2099"), dateFormat.parse("11/07/2099")),
+                Reservation.restore(second, customer, dateFormat.parse("11/01/2099"), dateFormat.parse("11/04/2099")),
+                Reservation.restore(first, customer, dateFormat.parse("11/02/2099"), dateFormat.parse("11/04/2099")),
+                Reservation.restore(first, customer, dateFormat.parse("11/03/2099"), dateFormat.parse("11/05/2099")),
+                Reservation.restore(first, customer, dateFormat.parse("11/06/2099"), dateFormat.parse("11/08/2099"))));
+
+        assertEquals(List.of(BookingResult.Status.BOOKED, BookingResult.Status.BOOKED, BookingResult.Status.CONFLICT,
+                             BookingResult.Status.BOOKED, BookingResult.Status.CONFLICT),
+                     results.stream().map(BookingResult::getStatus).collect(Collectors.toList()));
+        assertEquals(3, ReservationService.streamReservations("R-BATCH-1").count());
+        assertEquals(4, ReservationService.getCustomerReservation(customer).size());
+        Collection<IRoom> free = ReservationService.findRooms(dateFormat.parse("11/04/2099"), dateFormat.parse("11/05/2099"));
+        assertTrue(free.contains(second) && !free.contains(first));
+        assertTrue(ReservationService.isRoomAvailable(first, dateFormat.parse("11/07/2099"), dateFormat.parse("11/08/2099")));
+    }
+
+    /**
+     * Tests that a flexible search ranks the stays closest to the requested dates first and skips start days
+     * on which the room is taken, both inside the availability horizon and beyond it.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testFindStaysAround() throws ParseException {
+        IRoom room = new Room("R-FLEX", 100.0, RoomType.SINGLE, true);
+        ReservationService.addRoom(room);
+        Customer customer = new Customer("Flexible", "Guest", "flex@email.com");
+        int today = EpochDays.today();
+        for (int base : new int[] {today + 20, EpochDays.of(dateFormat.parse("06/10/2099"))}) {
+            ReservationService.reserveARoom(customer, room, EpochDays.toDate(base), EpochDays.toDate(base + 3));
+
+            List<StayOption> options = ReservationService.findStaysAround(base + 1, base + 3, 3, 100).stream()
+                    .filter(option -> option.getRooms().contains(room)).collect(Collectors.toList());
+
+            assertEquals(3, options.size());
+            assertEquals(2, options.get(0).getShiftDays());
+            assertEquals(base + 3, options.get(0).getCheckInDay());
+            assertEquals(base + 5, options.get(0).getCheckOutDay());
+            assertEquals(3, Math.abs(options.get(1).getShiftDays()));
+            assertEquals(3, Math.abs(options.get(2).getShiftDays()));
+            assertEquals(List.of(base + 3, base + 4), ReservationService.findStays(base - 1, base + 6, 2, 100).stream()
+                    .filter(option -> option.getRooms().contains(room)).map(StayOption::getCheckInDay)
+                    .collect(Collectors.toList()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> ReservationService.findStaysAround(today + 5, today + 5, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> ReservationService.findStays(today, today + 5, 0, 1));
+    }
+
+    /**
+     * Tests that a filtered search beyond the availability horizon applies the type and price filters and
+     * returns the cheapest rooms first.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testFindRoomsWithFilter() throws ParseException {
+        IRoom cheap = new Room("R-FILTER-1", 90.0, RoomType.DOUBLE, true);
+        IRoom booked = new Room("R-FILTER-2", 95.0, RoomType.DOUBLE, true);
+        IRoom expensive = new Room("R-FILTER-3", 400.0, RoomType.DOUBLE, true);
+        IRoom single = new Room("R-FILTER-4", 60.0, RoomType.SINGLE, true);
+        ReservationService.addRooms(List.of(cheap, booked, expensive, single));
+        Customer customer = new Customer("Filter", "Guest", "filter@email.com");
+        ReservationService.reserveARoom(customer, booked, dateFormat.parse("05/01/2099"), dateFormat.parse("05/04/2099"));
+
+        List<IRoom> rooms = ReservationService.findRooms(dateFormat.parse("05/02/2099"), dateFormat.parse("05/03/2099"),
+                RoomFilter.any().roomType(RoomType.DOUBLE).priceBetween(80, 150));
+
+        assertTrue(rooms.contains(cheap));
+        assertTrue(!rooms.contains(booked) && !rooms.contains(expensive) && !rooms.contains(single));
+        List<Double> prices = rooms.stream().map(IRoom::getRoomPrice).collect(Collectors.toList());
+        List<Double> sortedPrices = new ArrayList<>(prices);
+        sortedPrices.sort(null);
+        assertEquals(sortedPrices, prices);
+        assertThrows(IllegalArgumentException.class, () -> RoomFilter.any().priceBetween(150, 80));
+    }
+}
@@ -0,0 +1,77 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import model.IRoom;
+import model.Room;
+import model.Room.RoomType;
+
+/**
+ * Test class for the {@link service.RoomCatalog} class.
+ */
+public class RoomCatalogTest {
+
+    /**
+     * Tests that adding rooms builds a new sorted catalog, with replacements and repeated numbers resolved in favour
+     * of the latest room, and leaves the old catalog unchanged.
+     */
+    @Test
+    public void testWithRooms() {
+        IRoom first = new Room("102", 100.0, RoomType.SINGLE, true);
+        IRoom second = new Room("101", 120.0, RoomType.DOUBLE, true);
+        RoomCatalog before = RoomCatalog.EMPTY.withRooms(List.of(first, second));
+
+        IRoom replacement = new Room("102", 90.0, RoomType.SINGLE, true);
+        IRoom repeated = new Room("100", 80.0, RoomType.SINGLE, true);
+        IRoom latest = new Room("100", 85.0, RoomType.SINGLE, true);
+        RoomCatalog after = before.withRooms(List.of(replacement, repeated, latest));
+
+        assertEquals(List.of("101", "102"), numbers(before));
+        assertSame(first, before.get("102"));
+        assertEquals(List.of("100", "101", "102"), numbers(after));
+        assertSame(replacement, after.get("102"));
+        assertSame(latest, after.get("100"));
+        assertSame(second, after.get("101"));
+        assertNull(after.get("103"));
+        assertThrows(UnsupportedOperationException.class, () -> after.getRooms().set(0, first));
+    }
+
+    /**
+     * Tests that every room of a large catalog can be found and that pages continue from their cursor.
+     */
+    @Test
+    public void testLookupAndPages() {
+        List<IRoom> rooms = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rooms.add(new Room(String.format("C-%04d", i), 100.0, RoomType.SINGLE, true));
+        }
+        RoomCatalog catalog = RoomCatalog.EMPTY.withRooms(rooms);
+
+        for (IRoom room : rooms) {
+            assertSame(room, catalog.get(room.getRoomNumber()));
+        }
+        Page<IRoom> first = catalog.page(null, 600);
+        Page<IRoom> second = catalog.page(first.getNextCursor(), 600);
+        Page<IRoom> afterGap = catalog.page("C-0499x", 1);
+
+        assertEquals("C-0599", first.getNextCursor());
+        assertEquals("C-0600", second.getItems().get(0).getRoomNumber());
+        assertEquals(400, second.getItems().size());
+        assertNull(second.getNextCursor());
+        assertEquals("C-0500", afterGap.getItems().get(0).getRoomNumber());
+        assertThrows(IllegalArgumentException.class, () -> catalog.page(null, 0));
+    }
+
+    private static List<String> numbers(RoomCatalog catalog) {
+        return catalog.stream().map(IRoom::getRoomNumber).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,126 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import utils.EpochDays;
+
+/**
+ * Test class for the {@link service.RoomOccupancy} class.
+ */
+public class RoomOccupancyTest {
+
+    private SimpleDateFormat dateFormat;
+    private RoomOccupancy occupancy;
+
+    /**
+     * Sets up the test data before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        dateFormat = new SimpleDateFormat("MM/dd/yyyy");
+        occupancy = new RoomOccupancy();
+    }
+
+    private int day(String date) throws ParseException {
+        return EpochDays.of(dateFormat.parse(date));
+    }
+
+    /**
+     * Tests that an empty room is free for any range.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testEmptyOccupancyIsFree() throws ParseException {
+        assertTrue(occupancy.isFree(day("06/15/2099"), day("06/20/2099")));
+    }
+
+    /**
+     * Tests that overlapping ranges are reported as taken and back-to-back ranges as free.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testOverlapDetection() throws ParseException {
+        occupancy.occupy(day("06/15/2099"), day("06/20/2099"));
+
+        assertFalse(occupancy.isFree(day("06/14/2099"), day("06/16/2099")));
+        assertFalse(occupancy.isFree(day("06/19/2099"), day("06/25/2099")));
+        assertFalse(occupancy.isFree(day("06/16/2099"), day("06/17/2099")));
+        assertFalse(occupancy.isFree(day("06/10/2099"), day("06/25/2099")));
+        assertTrue(occupancy.isFree(day("06/10/2099"), day("06/15/2099")));
+        assertTrue(occupancy.isFree(day("06/20/2099"), day("06/25/2099")));
+    }
+
+    /**
+     * Tests that intervals are merged so gaps between them stay bookable.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testMergedIntervals() throws ParseException {
+        occupancy.occupy(day("06/01/2099"), day("06/05/2099"));
+        occupancy.occupy(day("06/10/2099"), day("06/15/2099"));
+        occupancy.occupy(day("06/04/2099"), day("06/07/2099"));
+
+        assertFalse(occupancy.isFree(day("06/06/2099"), day("06/08/2099")));
+        assertTrue(occupancy.isFree(day("06/07/2099"), day("06/10/2099")));
+        assertFalse(occupancy.isFree(day("06/08/2099"), day("06/11/2099")));
+
+        occupancy.occupy(day("06/07/2099"), day("06/10/2099"));
+        assertFalse(occupancy.isFree(day("06/08/2099"), day("06/09/2099")));
+        assertTrue(occupancy.isFree(day("06/15/2099"), day("06/16/2099")));
+    }
+
+    /**
+     * Tests that an insert spanning several intervals merges them into one.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testInsertSpanningIntervals() throws ParseException {
+        occupancy.occupy(day("06/01/2099"), day("06/03/2099"));
+        occupancy.occupy(day("06/05/2099"), day("06/07/2099"));
+        occupancy.occupy(day("06/09/2099"), day("06/11/2099"));
+        occupancy.occupy(day("06/20/2099"), day("06/21/2099"));
+
+        assertTrue(occupancy.isFree(day("06/03/2099"), day("06/05/2099")));
+        occupancy.occupy(day("06/02/2099"), day("06/10/2099"));
+
+        assertFalse(occupancy.isFree(day("06/03/2099"), day("06/04/2099")));
+        assertFalse(occupancy.isFree(day("06/10/2099"), day("06/11/2099")));
+        assertTrue(occupancy.isFree(day("06/11/2099"), day("06/20/2099")));
+        assertFalse(occupancy.isFree(day("06/19/2099"), day("06/21/2099")));
+        assertTrue(occupancy.isFree(day("06/21/2099"), day("06/22/2099")));
+    }
+
+    /**
+     * Tests that a batch of stays is merged with the existing intervals in one step.
+     *
+     * @throws ParseException if there is an error parsing the date
+     */
+    @Test
+    public void testOccupyAll() throws ParseException {
+        occupancy.occupy(day("06/05/2099"), day("06/08/2099"));
+        occupancy.occupy(day("06/20/2099"), day("06/22/2099"));
+        int[] days = {day("06/01/2099"), day("06/03/2099"), day("06/08/2099"), day("06/10/2099"),
+                      day("06/12/2099"), day("06/14/2099"), 0, 0};
+
+        occupancy.occupyAll(days, 3);
+
+        assertFalse(occupancy.isFree(day("06/02/2099"), day("06/03/2099")));
+        assertTrue(occupancy.isFree(day("06/03/2099"), day("06/05/2099")));
+        assertFalse(occupancy.isFree(day("06/09/2099"), day("06/10/2099")));
+        assertTrue(occupancy.isFree(day("06/10/2099"), day("06/12/2099")));
+        assertFalse(occupancy.isFree(day("06/13/2099"), day("06/15/2099")));
+        assertTrue(occupancy.isFree(day("06/14/2099"), day("06/20/2099")));
+        assertFalse(occupancy.isFree(day("06/21/2099"), day("06/23/2099")));
+    }
+}
@@ -0,0 +1,85 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import model.Customer;
+import model.IRoom;
+import model.Room;
+import model.Room.RoomType;
+import utils.BatchValidator.CustomerCandidate;
+import utils.BatchValidator.ReservationCandidate;
+import utils.BatchValidator.RoomCandidate;
+
+/**
+ * Test class for the {@link utils.BatchValidator} class.
+ */
+public class BatchValidatorTest {
+
+    /**
+     * Tests that a batch large enough to be split reports every violation of every invalid record, in order.
+     */
+    @Test
+    public void testValidateCustomersInParallel() {
+        List<CustomerCandidate> customers = new ArrayList<>();
+        for (int i = 0; i < 10 * BatchValidator.SEQUENTIAL_THRESHOLD; i++) {
+            customers.add(i % 7 == 0 ? new CustomerCandidate("", "Abdullahi", "batch" + i + "@email")
+                                     : new CustomerCandidate("Abubeker", "Abdullahi", "batch" + i + "@email.com"));
+        }
+
+        BatchValidation validation = BatchValidator.validateCustomers(customers);
+
+        assertEquals(customers.size(), validation.getRecords());
+        assertEquals((customers.size() + 6) / 7, validation.getInvalidRecords());
+        for (int i = 0; i < validation.getInvalidRecords(); i++) {
+            assertEquals(7 * i, validation.getViolations().get(i).getIndex());
+        }
+        assertEquals(List.of(ValidationResult.MISSING_FIRST_NAME, ValidationResult.INVALID_EMAIL), validation.getErrors(7));
+        assertTrue(validation.getErrors(8).isEmpty());
+    }
+
+    /**
+     * Tests that rooms are checked against every rule rather than the first one broken.
+     */
+    @Test
+    public void testValidateRooms() {
+        BatchValidation validation = BatchValidator.validateRooms(List.of(
+                new RoomCandidate("101", 100.0, RoomType.SINGLE, true),
+                new RoomCandidate(" ", null, null, null)));
+
+        assertEquals(List.of(ValidationResult.MISSING_ROOM_NUMBER, ValidationResult.MISSING_ROOM_PRICE,
+                             ValidationResult.MISSING_ROOM_TYPE, ValidationResult.MISSING_IS_FREE),
+                     validation.getErrors(1));
+        assertEquals(1, validation.getInvalidRecords());
+        assertTrue(BatchValidator.validateRooms(List.of()).isValid());
+    }
+
+    /**
+     * Tests that past stays are only accepted when restoring history, and that date order is checked either way.
+     */
+    @Test
+    public void testValidateReservations() {
+        IRoom room = new Room("B-101", 100.0, RoomType.SINGLE, true);
+        Customer customer = new Customer("Abubeker", "Abdullahi", "batch.stay@email.com");
+        int today = EpochDays.today();
+        List<ReservationCandidate> reservations = List.of(
+                new ReservationCandidate(room, customer, EpochDays.toDate(today - 3), EpochDays.toDate(today - 1)),
+                new ReservationCandidate(null, customer, EpochDays.toDate(today + 2), EpochDays.toDate(today + 2)),
+                new ReservationCandidate(room, null, null, EpochDays.toDate(today + 1)));
+
+        BatchValidation bookings = BatchValidator.validateReservations(reservations, false);
+        BatchValidation history = BatchValidator.validateReservations(reservations, true);
+
+        assertEquals(List.of(ValidationResult.CHECK_IN_IN_PAST), bookings.getErrors(0));
+        assertTrue(history.getErrors(0).isEmpty());
+        assertEquals(List.of(ValidationResult.MISSING_ROOM, ValidationResult.SAME_DAY_STAY), history.getErrors(1));
+        assertEquals(List.of(ValidationResult.MISSING_CUSTOMER, ValidationResult.MISSING_CHECK_IN), history.getErrors(2));
+        assertEquals(3, IntStream.range(0, 3).map(i -> bookings.getErrors(i).isEmpty() ? 0 : 1).sum());
+    }
+}
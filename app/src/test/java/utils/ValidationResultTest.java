@@ -0,0 +1,68 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the non-throwing checks of {@link utils.ValidationUtils} and their {@link utils.ValidationResult}s.
+ */
+public class ValidationResultTest {
+
+    /**
+     * Tests that customer checks report the first problem as a shared result with a plain message.
+     */
+    @Test
+    public void testCheckCustomer() {
+        assertSame(ValidationResult.VALID, ValidationUtils.checkCustomer("Abubeker", "Abdullahi", "check@email.com"));
+        assertSame(ValidationResult.MISSING_LAST_NAME, ValidationUtils.checkCustomer("Abubeker", " ", "invalid"));
+        assertSame(ValidationResult.INVALID_EMAIL, ValidationUtils.checkCustomer("Abubeker", "Abdullahi", "invalid"));
+        assertSame(ValidationResult.INVALID_EMAIL, ValidationUtils.checkEmail(null));
+        assertEquals("Last name must not be empty or null.", ValidationResult.MISSING_LAST_NAME.getMessage());
+    }
+
+    /**
+     * Tests that stay dates are checked without throwing, and that orThrow raises the coloured console message.
+     */
+    @Test
+    public void testCheckStayDates() {
+        int today = EpochDays.today();
+
+        assertTrue(ValidationUtils.checkStayDates(today - 10, today - 8).isValid());
+        assertSame(ValidationResult.SAME_DAY_STAY, ValidationUtils.checkStayDates(today, today));
+        assertSame(ValidationResult.CHECK_IN_AFTER_CHECK_OUT, ValidationUtils.checkStayDates(today + 1, today));
+        assertSame(ValidationResult.CHECK_IN_IN_PAST, ValidationUtils.checkBookingDates(today - 1, today + 1));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                                                   () -> ValidationResult.SAME_DAY_STAY.orThrow());
+        assertEquals("\u001B[31mCheck-in date cannot be the same as check-out date\u001B[0m", ex.getMessage());
+        ValidationResult.VALID.orThrow();
+    }
+
+    /**
+     * Tests that dates are read strictly in both formats, rejecting impossible dates and trailing text.
+     */
+    @Test
+    public void testParseDay() throws ParseException {
+        int christmas = (int) LocalDate.of(2030, 12, 25).toEpochDay();
+
+        assertEquals(christmas, ValidationUtils.parseDay("12/25/2030"));
+        assertEquals(christmas - 24, ValidationUtils.parseDay("12/1/2030"));
+        assertEquals(christmas, ValidationUtils.parseIsoDay("2030-12-25"));
+        assertEquals((int) LocalDate.of(2028, 2, 29).toEpochDay(), ValidationUtils.parseDay("02/29/2028"));
+        assertEquals(ValidationUtils.INVALID_DAY, ValidationUtils.parseDay("02/29/2030"));
+        assertEquals(ValidationUtils.INVALID_DAY, ValidationUtils.parseDay("13/01/2030"));
+        assertEquals(ValidationUtils.INVALID_DAY, ValidationUtils.parseDay("2030-12-25"));
+        assertEquals(ValidationUtils.INVALID_DAY, ValidationUtils.parseDay("12/25/2030x"));
+        assertEquals(ValidationUtils.INVALID_DAY, ValidationUtils.parseIsoDay("2030-12-25T00:00"));
+        assertEquals(ValidationUtils.INVALID_DAY, ValidationUtils.parseIsoDay(null));
+        assertEquals(christmas, EpochDays.of(ValidationUtils.dateFormatChecker("12/25/2030")));
+        assertThrows(ParseException.class, () -> ValidationUtils.dateFormatChecker("12/32/2030"));
+    }
+}
@@ -0,0 +1,78 @@
+package workload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import api.AdminResource;
+import api.HotelResource;
+import model.IRoom;
+
+/**
+ * Test class for the {@link workload.WorkloadGenerator} class.
+ */
+public class WorkloadGeneratorTest {
+
+    /**
+     * Tests that the same seed produces the same rooms and trace, and another seed does not.
+     */
+    @Test
+    public void testDeterministicForSeed() {
+        WorkloadGenerator first = new WorkloadGenerator("GEN-A", 7, 50, 100, 0, 20000);
+        WorkloadGenerator second = new WorkloadGenerator("GEN-A", 7, 50, 100, 0, 20000);
+        WorkloadGenerator other = new WorkloadGenerator("GEN-A", 8, 50, 100, 0, 20000);
+
+        assertEquals(first.rooms().toString(), second.rooms().toString());
+        assertEquals(first.trace(500), second.trace(500));
+        assertNotEquals(first.trace(500), other.trace(500));
+    }
+
+    /**
+     * Tests that seeding registers every room and customer and books reservations through the resources.
+     */
+    @Test
+    public void testSeed() {
+        WorkloadGenerator generator = new WorkloadGenerator("GEN-B", 11, 20, 30, 200);
+
+        int booked = generator.seed();
+
+        assertTrue(booked > 150 && booked <= 200);
+        assertNotNull(AdminResource.getRoom(generator.roomNumber(19)));
+        assertNotNull(HotelResource.getCustomer(generator.email(29)));
+        int reservations = 0;
+        for (int i = 0; i < 30; i++) {
+            reservations += HotelResource.getCustomerReservations(generator.email(i)).size();
+        }
+        assertEquals(booked, reservations);
+    }
+
+    /**
+     * Tests that traces mix the operations and only reference generated rooms with valid stays.
+     */
+    @Test
+    public void testTraceMix() {
+        WorkloadGenerator generator = new WorkloadGenerator("GEN-C", 3, 10, 10, 0);
+        List<IRoom> rooms = generator.rooms();
+        int[] counts = new int[TraceRecord.Operation.values().length];
+
+        for (TraceRecord record : generator.trace(2000)) {
+            counts[record.getOperation().ordinal()]++;
+            if (record.getOperation() == TraceRecord.Operation.BOOK) {
+                assertTrue(record.getRoomNumber().startsWith("GEN-C-"));
+            }
+            if (record.getOperation() != TraceRecord.Operation.LOOKUP) {
+                assertTrue(record.getLeadDays() >= 1 && record.getLeadDays() <= WorkloadGenerator.HORIZON_DAYS);
+                assertTrue(record.getNights() >= 1 && record.getNights() <= 7);
+            }
+        }
+
+        assertEquals(10, rooms.size());
+        assertTrue(counts[TraceRecord.Operation.SEARCH.ordinal()] > counts[TraceRecord.Operation.LOOKUP.ordinal()]);
+        assertTrue(counts[TraceRecord.Operation.LOOKUP.ordinal()] > counts[TraceRecord.Operation.BOOK.ordinal()]);
+    }
+}
@@ -0,0 +1,79 @@
+package workload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link workload.WorkloadReplayer} and {@link workload.TraceFile} classes.
+ */
+public class WorkloadReplayerTest {
+
+    /**
+     * Tests that a replay runs every request and counts conflicts and errors.
+     *
+     * @throws InterruptedException if the replay is interrupted
+     */
+    @Test
+    public void testReplay() throws InterruptedException {
+        WorkloadGenerator generator = new WorkloadGenerator("REPLAY-A", 5, 5, 5, 0);
+        generator.seed();
+        List<TraceRecord> trace = List.of(
+                new TraceRecord(TraceRecord.Operation.BOOK, generator.email(0), generator.roomNumber(0), 10, 2),
+                new TraceRecord(TraceRecord.Operation.BOOK, generator.email(1), generator.roomNumber(0), 11, 2),
+                new TraceRecord(TraceRecord.Operation.BOOK, generator.email(1), "REPLAY-A-missing", 10, 2),
+                new TraceRecord(TraceRecord.Operation.SEARCH, null, null, 10, 3),
+                new TraceRecord(TraceRecord.Operation.LOOKUP, generator.email(0), null, 0, 0));
+
+        ReplayReport report = WorkloadReplayer.replay(trace, 1000, 1);
+
+        assertEquals(5, report.getOperations());
+        assertEquals(3, report.getOperations(TraceRecord.Operation.BOOK));
+        assertEquals(1, report.getConflicts());
+        assertEquals(1, report.getErrors());
+        assertTrue(report.getPercentile(50) <= report.getPercentile(100));
+        assertTrue(report.getElapsedNanos() >= 4_000_000);
+    }
+
+    /**
+     * Tests that an unthrottled replay over several threads runs every request.
+     *
+     * @throws InterruptedException if the replay is interrupted
+     */
+    @Test
+    public void testUnthrottledReplay() throws InterruptedException {
+        WorkloadGenerator generator = new WorkloadGenerator("REPLAY-B", 9, 20, 50, 100);
+        generator.seed();
+
+        ReplayReport report = WorkloadReplayer.replay(generator.trace(1000), 0, 4);
+
+        assertEquals(1000, report.getOperations());
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getThroughput() > 0);
+    }
+
+    /**
+     * Tests that a trace survives a round trip through a file and that malformed lines are reported.
+     *
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    public void testTraceFileRoundTrip() throws IOException {
+        Path file = Files.createTempFile("trace", ".csv");
+        List<TraceRecord> trace = new WorkloadGenerator("REPLAY-C", 1, 10, 10, 0).trace(100);
+
+        TraceFile.write(file, trace);
+        assertEquals(trace, TraceFile.read(file));
+
+        Files.writeString(file, "SEARCH,,,3\n");
+        assertThrows(IllegalArgumentException.class, () -> TraceFile.read(file));
+        Files.delete(file);
+    }
+}